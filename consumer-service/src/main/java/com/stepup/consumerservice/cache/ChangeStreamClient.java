@@ -0,0 +1,250 @@
+package com.stepup.consumerservice.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stepup.consumerservice.dto.CategoryDto;
+import com.stepup.consumerservice.dto.ChangeDto;
+import com.stepup.consumerservice.dto.ProductDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Component class subscribing to the change stream of the supplier service, a stream of server-sent events
+ * reporting every committed product and category change, and invalidating the local caches accordingly.
+ * <p>
+ * The stream is read on a dedicated thread. When it breaks, the caches stop being used and the client
+ * reconnects with increasing delays, resuming after the last change received ({@code Last-Event-ID}), so
+ * no change is missed. Once the supplier reports the stream as live again, the caches are used again.
+ *
+ * @see SupplierEntityCache
+ * @see org.springframework.context.SmartLifecycle
+ */
+@Slf4j
+@Component
+public class ChangeStreamClient implements SmartLifecycle {
+
+    private final RestTemplate restTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final SupplierEntityCache<ProductDto> productCache;
+
+    private final SupplierEntityCache<CategoryDto> categoryCache;
+
+    private final String streamUrl;
+
+    private final Duration reconnectDelay;
+
+    private final Duration maxReconnectDelay;
+
+    private volatile boolean running;
+
+    private volatile Thread thread;
+
+    private volatile ClientHttpResponse response;
+
+    // Only used by the thread reading the stream
+    private Long lastSeq;
+
+    private boolean live;
+
+    /**
+     * Constructs a new ChangeStreamClient.
+     *
+     * @param restTemplate           the RestTemplate used to open the stream, waiting for data longer than
+     *                               the interval between heartbeats
+     * @param objectMapper           the mapper used to read the changes
+     * @param productCache           the cache of products
+     * @param categoryCache          the cache of categories
+     * @param supplierServiceBaseUrl the base URL of the supplier service
+     * @param reconnectDelay         the delay before the first reconnection attempt
+     * @param maxReconnectDelay      the maximum delay between reconnection attempts
+     */
+    public ChangeStreamClient(@Qualifier("changeStreamRestTemplate") RestTemplate restTemplate,
+                              ObjectMapper objectMapper,
+                              SupplierEntityCache<ProductDto> productCache,
+                              SupplierEntityCache<CategoryDto> categoryCache,
+                              @Value("${supplier.service.base.url}") String supplierServiceBaseUrl,
+                              @Value("${supplier.change-stream.reconnect-delay:1s}") Duration reconnectDelay,
+                              @Value("${supplier.change-stream.max-reconnect-delay:30s}")
+                              Duration maxReconnectDelay) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.productCache = productCache;
+        this.categoryCache = categoryCache;
+        this.streamUrl = supplierServiceBaseUrl + "/changes/stream";
+        this.reconnectDelay = reconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    /**
+     * Starts reading the stream.
+     */
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "supplier-change-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops reading the stream and closes it.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        closeResponse();
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Whether the stream is being read.
+     *
+     * @return {@code true} if started and not stopped
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Reads the stream until stopped, reconnecting whenever it breaks.
+     */
+    private void run() {
+        Duration delay = reconnectDelay;
+        while (running) {
+            try {
+                restTemplate.execute(streamUrl, HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                            if (lastSeq != null) {
+                                request.getHeaders().set("Last-Event-ID", String.valueOf(lastSeq));
+                            }
+                        },
+                        streamResponse -> {
+                            response = streamResponse;
+                            readEvents(streamResponse);
+                            return null;
+                        });
+            } catch (Exception e) {
+                if (running) {
+                    log.warn("Change stream of the supplier service disconnected: " + e.getMessage());
+                }
+            } finally {
+                closeResponse();
+            }
+
+            // Reconnect quickly after a stream that was live ends, but back off while connections fail
+            if (live) {
+                setLive(false);
+                delay = reconnectDelay;
+            }
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Duration doubled = delay.multipliedBy(2);
+            delay = doubled.compareTo(maxReconnectDelay) < 0 ? doubled : maxReconnectDelay;
+        }
+    }
+
+    /**
+     * Utility method to read the events of the stream until it ends.
+     *
+     * @param streamResponse the response carrying the stream
+     * @throws IOException if the stream cannot be read
+     */
+    private void readEvents(ClientHttpResponse streamResponse) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(streamResponse.getBody(), StandardCharsets.UTF_8));
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                dispatch(event, data.toString());
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).strip();
+            } else if (line.startsWith("data:")) {
+                if (!data.isEmpty()) {
+                    data.append('\n');
+                }
+                data.append(line.substring("data:".length()).strip());
+            }
+            // Comments (heartbeats) and event IDs, which are the sequence numbers of the changes, are skipped
+        }
+    }
+
+    /**
+     * Utility method to apply an event of the stream.
+     *
+     * @param event the name of the event
+     * @param data  the data of the event
+     * @throws IOException if the data of a change cannot be read
+     */
+    private void dispatch(String event, String data) throws IOException {
+        if ("change".equals(event)) {
+            ChangeDto change = objectMapper.readValue(data, ChangeDto.class);
+            if ("PRODUCT".equals(change.getEntityType())) {
+                productCache.invalidate(change.getEntityId());
+            } else if ("CATEGORY".equals(change.getEntityType())) {
+                categoryCache.invalidate(change.getEntityId());
+            }
+            lastSeq = change.getSeq();
+        } else if ("reset".equals(event)) {
+            log.warn("Change log of the supplier service was reset, clearing the local caches");
+            productCache.invalidateAll();
+            categoryCache.invalidateAll();
+            lastSeq = Long.valueOf(data);
+        } else if ("live".equals(event)) {
+            if (lastSeq == null) {
+                lastSeq = Long.valueOf(data);
+            }
+            log.info("Change stream of the supplier service is live at change " + lastSeq);
+            setLive(true);
+        }
+    }
+
+    /**
+     * Utility method to mark in the caches whether the stream is live.
+     *
+     * @param live {@code true} if the stream is live
+     */
+    private void setLive(boolean live) {
+        this.live = live;
+        productCache.setLive(live);
+        categoryCache.setLive(live);
+    }
+
+    /**
+     * Utility method to close the current stream, if any, which also ends a blocked read.
+     */
+    private void closeResponse() {
+        ClientHttpResponse current = response;
+        response = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.stepup.consumerservice.cache;
+
+import com.stepup.consumerservice.dto.CategoryDto;
+import com.stepup.consumerservice.dto.ProductDto;
+import com.stepup.consumerservice.service.RequestCoalescer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration class providing the local caches of products and categories read from the supplier service.
+ * The caches are bounded by the estimated memory of their entries: a fixed overhead for the entry and the DTO,
+ * plus the length of its texts. Categories change rarely and are few, so they are kept much longer than products.
+ *
+ * @see SupplierEntityCache
+ * @see ChangeStreamClient
+ */
+@Configuration
+public class SupplierCacheConfig {
+
+    /**
+     * The estimated size in bytes of a cache entry and a DTO without its texts.
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /**
+     * Creates the cache of products.
+     *
+     * @param timeToLive       the time after which a loaded product expires
+     * @param maximumWeight    the maximum estimated memory of the cached products
+     * @param requestCoalescer the coalescer of the loads of the same product
+     * @return the cache of products
+     */
+    @Bean
+    public SupplierEntityCache<ProductDto> productCache(
+            @Value("${consumer.cache.products.time-to-live:10m}") Duration timeToLive,
+            @Value("${consumer.cache.products.maximum-weight:32MB}") DataSize maximumWeight,
+            RequestCoalescer requestCoalescer) {
+        return new SupplierEntityCache<>("products", timeToLive, maximumWeight.toBytes(),
+                (id, product) -> weigh(product.getName(), product.getDescription()), requestCoalescer);
+    }
+
+    /**
+     * Creates the cache of categories.
+     *
+     * @param timeToLive       the time after which a loaded category expires
+     * @param maximumWeight    the maximum estimated memory of the cached categories
+     * @param requestCoalescer the coalescer of the loads of the same category
+     * @return the cache of categories
+     */
+    @Bean
+    public SupplierEntityCache<CategoryDto> categoryCache(
+            @Value("${consumer.cache.categories.time-to-live:1h}") Duration timeToLive,
+            @Value("${consumer.cache.categories.maximum-weight:4MB}") DataSize maximumWeight,
+            RequestCoalescer requestCoalescer) {
+        return new SupplierEntityCache<>("categories", timeToLive, maximumWeight.toBytes(),
+                (id, category) -> weigh(category.getName()), requestCoalescer);
+    }
+
+    /**
+     * Utility method to estimate the memory of a cached DTO with the given texts.
+     *
+     * @param texts the texts of the DTO, which may be {@code null}
+     * @return the estimated size in bytes
+     */
+    private static int weigh(String... texts) {
+        int weight = ENTRY_OVERHEAD;
+        for (String text : texts) {
+            if (text != null) {
+                weight += text.length();
+            }
+        }
+        return weight;
+    }
+}
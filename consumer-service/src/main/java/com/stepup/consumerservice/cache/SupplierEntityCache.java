@@ -0,0 +1,283 @@
+package com.stepup.consumerservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.stepup.consumerservice.config.LastWriteInterceptor;
+import com.stepup.consumerservice.config.ReactiveLastWriteFilter;
+import com.stepup.consumerservice.service.RequestCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Local cache of entities read from the supplier service, by ID.
+ * <p>
+ * Entries are kept until the supplier reports a change of the entity on its change stream, see
+ * {@link ChangeStreamClient}. The cache is only used while the stream is live: while it is disconnected
+ * changes may go unnoticed, so reads go to the supplier, and entries are kept for when the stream resumes and
+ * reports the changes missed in between. Entries also expire a while after they were loaded, which bounds how
+ * long a change missed by the stream stays unnoticed, and the least valuable entries (W-TinyLFU) are evicted
+ * once the estimated weight of all entries exceeds the maximum.
+ * <p>
+ * Misses are loaded through the {@link RequestCoalescer}, so a burst of misses for the same entity, e.g. after it
+ * was invalidated, sends one request to the supplier, while hits never reach the coalescer.
+ * <p>
+ * End users carrying a last-write token bypass the cache, since an entry may have been loaded from a replica of the
+ * supplier that had not yet replayed their write; their reads go to the supplier, which answers them from data
+ * including the write, see {@link LastWriteInterceptor}.
+ * <p>
+ * Hits, misses, loads with their time and evictions are exported as cache metrics under the name of the cache
+ * ({@code cache.gets}, {@code cache.load}, {@code cache.load.duration}, {@code cache.evictions}). Reads made
+ * while the stream is not live count as misses. Loads are only recorded once per coalesced request, so they
+ * count the requests sent to the supplier.
+ *
+ * @param <V> the type of the cached entities
+ * @see ChangeStreamClient
+ * @see SupplierCacheConfig
+ * @see RequestCoalescer
+ * @see io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics
+ */
+public class SupplierEntityCache<V> implements MeterBinder {
+
+    private final String name;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+
+    private final Cache<Long, V> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile boolean live;
+
+    /**
+     * Constructs a new SupplierEntityCache with the specified name, expiry, bound and RequestCoalescer.
+     *
+     * @param name             the name of the cache in the metrics
+     * @param timeToLive       the time after which a loaded entity expires
+     * @param maximumWeight    the maximum total weight of the cached entities
+     * @param weigher          the estimated weight of an entity
+     * @param requestCoalescer the coalescer of the loads of the same entity
+     */
+    public SupplierEntityCache(String name, Duration timeToLive, long maximumWeight, Weigher<Long, V> weigher,
+                               RequestCoalescer requestCoalescer) {
+        this.name = name;
+        this.requestCoalescer = requestCoalescer;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumWeight(maximumWeight)
+                .weigher(weigher)
+                .recordStats(() -> stats)
+                .build();
+    }
+
+    /**
+     * Binds the statistics of the cache to the registry. Micrometer only exports the loads of loading caches,
+     * so the loads recorded by this cache are exported here, under the same names.
+     *
+     * @param registry the registry of the metrics
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        FunctionCounter.builder("cache.load", cache, c -> c.stats().loadSuccessCount())
+                .description("The number of times entities were loaded from the supplier service")
+                .tags("cache", name, "result", "success")
+                .register(registry);
+        FunctionCounter.builder("cache.load", cache, c -> c.stats().loadFailureCount())
+                .description("The number of times loading entities from the supplier service failed or found none")
+                .tags("cache", name, "result", "failure")
+                .register(registry);
+        TimeGauge.builder("cache.load.duration", cache, TimeUnit.NANOSECONDS, c -> c.stats().totalLoadTime())
+                .description("The time spent loading entities from the supplier service")
+                .tags("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached entity with the ID, or loads it from the supplier and caches it.
+     * Misses for the same entity share one load through the coalescer, and only that load is recorded.
+     * A loaded entity is not kept if an invalidation ran since its load started, since it may have been read
+     * before the invalidating change; this also holds for the callers that joined the load late. The entity of an
+     * end user carrying a last-write token is always loaded, and not kept.
+     *
+     * @param id     the ID of the entity
+     * @param uri    the URI of the request, keying the coalesced loads
+     * @param loader the request loading the entity on a miss
+     * @return the entity
+     */
+    public V get(Long id, String uri, Supplier<V> loader) {
+        boolean cacheable = live && id != null && LastWriteInterceptor.currentLastWrite() == null;
+        if (cacheable) {
+            V cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            stats.recordMisses(1);
+        }
+
+        Loaded<V> loaded = requestCoalescer.execute(uri, () -> {
+            long generation = invalidations.get();
+            return new Loaded<>(load(loader), generation);
+        });
+        if (cacheable) {
+            keep(id, loaded);
+        }
+        return loaded.value();
+    }
+
+    /**
+     * Returns the cached entity with the ID, or loads it from the supplier and caches it, without blocking.
+     * As with {@link #get(Long, String, Supplier)}, misses share one load, a loaded entity is not kept if an
+     * invalidation ran since its load started, and end users carrying a last-write token bypass the cache.
+     *
+     * @param id     the ID of the entity
+     * @param uri    the URI of the request, keying the coalesced loads
+     * @param loader the request loading the entity on a miss
+     * @return the entity
+     */
+    public Mono<V> get(Long id, String uri, Mono<V> loader) {
+        return Mono.deferContextual(context -> {
+            boolean cacheable = live && id != null && ReactiveLastWriteFilter.currentLastWrite(context) == null;
+            if (cacheable) {
+                V cached = cache.getIfPresent(id);
+                if (cached != null) {
+                    return Mono.just(cached);
+                }
+            } else {
+                stats.recordMisses(1);
+            }
+
+            return requestCoalescer.execute(uri, Mono.defer(() -> {
+                        long generation = invalidations.get();
+                        return load(loader)
+                                .map(result -> new Loaded<>(result, generation))
+                                .defaultIfEmpty(new Loaded<>(null, generation));
+                    }))
+                    .doOnNext(loaded -> {
+                        if (cacheable) {
+                            keep(id, loaded);
+                        }
+                    })
+                    .mapNotNull(Loaded::value);
+        });
+    }
+
+    /**
+     * Utility method to cache a loaded entity, unless an invalidation ran since its load started or the change
+     * stream is no longer live.
+     *
+     * @param id     the ID of the entity
+     * @param loaded the loaded entity
+     */
+    private void keep(Long id, Loaded<V> loaded) {
+        if (loaded.value() == null || invalidations.get() != loaded.generation()) {
+            return;
+        }
+        cache.put(id, loaded.value());
+        if (invalidations.get() != loaded.generation() || !live) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Utility method to load an entity, recording the time of the load.
+     *
+     * @param loader the request loading the entity
+     * @return the entity, or {@code null} if the supplier returned none
+     */
+    private V load(Supplier<V> loader) {
+        long start = System.nanoTime();
+        boolean loaded = false;
+        try {
+            V result = loader.get();
+            loaded = result != null;
+            return result;
+        } finally {
+            recordLoad(loaded, start);
+        }
+    }
+
+    /**
+     * Utility method to load an entity without blocking, recording the time of the load.
+     *
+     * @param loader the request loading the entity
+     * @return the entity, or empty if the supplier returned none
+     */
+    private Mono<V> load(Mono<V> loader) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return loader
+                    .doOnSuccess(result -> recordLoad(result != null, start))
+                    .doOnError(e -> recordLoad(false, start));
+        });
+    }
+
+    /**
+     * Utility method to record a load; as in Caffeine, a load returning nothing counts as a failure.
+     *
+     * @param loaded {@code true} if an entity was loaded
+     * @param start  the value of {@link System#nanoTime()} when the load started
+     */
+    private void recordLoad(boolean loaded, long start) {
+        long loadTime = System.nanoTime() - start;
+        if (loaded) {
+            stats.recordLoadSuccess(loadTime);
+        } else {
+            stats.recordLoadFailure(loadTime);
+        }
+    }
+
+    /**
+     * Drops the entity with the ID.
+     *
+     * @param id the ID of the entity
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drops all entities.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Marks whether the change stream is live, i.e. whether changes of the supplier are being reported.
+     *
+     * @param live {@code true} if the change stream is live
+     */
+    public void setLive(boolean live) {
+        if (!live) {
+            invalidations.incrementAndGet();
+        }
+        this.live = live;
+    }
+
+    /**
+     * An entity loaded by a coalesced request, with the count of invalidations when its load started.
+     *
+     * @param value      the entity, or {@code null} if the supplier returned none
+     * @param generation the count of invalidations when the load started
+     * @param <V>        the type of the entity
+     */
+    private record Loaded<V>(V value, long generation) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.stepup.consumerservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * RestTemplate interceptor revalidating GET requests to the supplier service with entity tags (ETags).
+ * <p>
+ * The last body received for each URL is kept together with its tag. Repeating the request sends the tag
+ * in {@code If-None-Match}; if the supplier answers 304 Not Modified, the kept body is returned as if it had
+ * been sent again, so the supplier neither serializes nor transfers it. Only responses carrying a tag are kept,
+ * which excludes streamed responses. Memory is bounded by the total size of the kept bodies.
+ *
+ * @see RestTemplateConfig
+ * @see org.springframework.http.client.ClientHttpRequestInterceptor
+ */
+public class ConditionalGetInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Cache<URI, CachedResponse> cache;
+
+    private final long maximumBodySize;
+
+    /**
+     * Constructs a new ConditionalGetInterceptor with the specified bounds.
+     *
+     * @param maximumSize     the maximum total size of the kept bodies, in bytes
+     * @param maximumBodySize the maximum size of a single kept body, in bytes
+     */
+    public ConditionalGetInterceptor(long maximumSize, long maximumBodySize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((URI uri, CachedResponse response) -> response.body.length)
+                .build();
+        this.maximumBodySize = maximumBodySize;
+    }
+
+    /**
+     * Sends the request, revalidating the kept response of a GET request.
+     *
+     * @param request   the request
+     * @param body      the body of the request
+     * @param execution the execution sending the request
+     * @return the response, or the kept response if it was not modified
+     * @throws IOException if the request cannot be sent or the response cannot be read
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        URI uri = request.getURI();
+        CachedResponse cached = cache.getIfPresent(uri);
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.eTag);
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            response.close();
+            return cached.toResponse();
+        }
+
+        String eTag = response.getHeaders().getETag();
+        long contentLength = response.getHeaders().getContentLength();
+        if (eTag == null || !response.getStatusCode().is2xxSuccessful() || contentLength > maximumBodySize) {
+            return response;
+        }
+
+        CachedResponse fresh;
+        try (response) {
+            fresh = new CachedResponse(eTag, response.getStatusCode(), response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+        if (fresh.body.length <= maximumBodySize) {
+            cache.put(uri, fresh);
+        }
+        return fresh.toResponse();
+    }
+
+    /**
+     * A response kept for revalidation.
+     *
+     * @param eTag    the entity tag of the response
+     * @param status  the status of the response
+     * @param headers the headers of the response
+     * @param body    the body of the response
+     */
+    private record CachedResponse(String eTag, HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+        CachedResponse {
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(headers);
+            headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+
+        /**
+         * Creates a response replaying the kept one.
+         *
+         * @return the response
+         */
+        ClientHttpResponse toResponse() {
+            return new ClientHttpResponse() {
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return status;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
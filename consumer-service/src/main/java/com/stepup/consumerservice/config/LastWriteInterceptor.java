@@ -0,0 +1,123 @@
+package com.stepup.consumerservice.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * RestTemplate interceptor carrying the last-write token of the end user between the end user and the supplier
+ * service, so the supplier routes the reads of an end user to data including their own writes.
+ * <p>
+ * The supplier reports the time of the last write of its client in the {@value #LAST_WRITE_HEADER} header and
+ * the {@value #LAST_WRITE_COOKIE} cookie, and routes the reads of a client sending it back accordingly. Since all
+ * end users share the HTTP client of the consumer, which keeps no cookies, the token received from the end user
+ * in either of them is forwarded with every request sent on their behalf, and the token of a write reported by
+ * the supplier is relayed to the end user in the same header and cookie, and forwarded with the later requests
+ * of the same request of the end user.
+ *
+ * @see RestTemplateConfig
+ * @see ReactiveLastWriteFilter
+ * @see org.springframework.http.client.ClientHttpRequestInterceptor
+ */
+public class LastWriteInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * The header carrying the time of the last write of the end user.
+     */
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    /**
+     * The cookie carrying the time of the last write of the end user.
+     */
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    /**
+     * The request attribute holding the token of a write made during the request.
+     */
+    private static final String LAST_WRITE_ATTRIBUTE = LastWriteInterceptor.class.getName() + ".lastWrite";
+
+    /**
+     * Returns the last-write token of the end user of the current request.
+     *
+     * @return the token of the last write made during the request, otherwise the token sent by the end user,
+     * or {@code null} if there is none or no current request
+     */
+    public static String currentLastWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        Object written = attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (written != null) {
+            return (String) written;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String value = request.getHeader(LAST_WRITE_HEADER);
+        if (value == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                    value = cookie.getValue();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Sends the request with the last-write token of the end user, relaying the token of a write to the end user.
+     *
+     * @param request   the request
+     * @param body      the body of the request
+     * @param execution the execution sending the request
+     * @return the response
+     * @throws IOException if the request cannot be sent
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String lastWrite = currentLastWrite();
+        if (lastWrite != null) {
+            request.getHeaders().set(LAST_WRITE_HEADER, lastWrite);
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        String written = response.getHeaders().getFirst(LAST_WRITE_HEADER);
+        if (written != null
+            && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            attributes.setAttribute(LAST_WRITE_ATTRIBUTE, written, RequestAttributes.SCOPE_REQUEST);
+            relay(attributes.getResponse(), written, response.getHeaders().get(HttpHeaders.SET_COOKIE));
+        }
+        return response;
+    }
+
+    /**
+     * Utility method to relay the token of a write to the end user, unless their response is already committed.
+     *
+     * @param response  the response to the end user, or {@code null} if unknown
+     * @param lastWrite the token of the write
+     * @param cookies   the cookies set by the supplier, or {@code null} if none
+     */
+    private static void relay(HttpServletResponse response, String lastWrite, List<String> cookies) {
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        response.setHeader(LAST_WRITE_HEADER, lastWrite);
+        if (cookies != null) {
+            for (String cookie : cookies) {
+                if (cookie.startsWith(LAST_WRITE_COOKIE + "=")) {
+                    response.addHeader(HttpHeaders.SET_COOKIE, cookie);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.stepup.consumerservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Connection pool of the HTTP client publishing its metrics once bound to a meter registry:
+ * <ul>
+ *     <li>{@code httpcomponents.httpclient.pool.total.max}, {@code .total.connections} (tagged
+ *     {@code state=leased|available}), {@code .total.pending} and {@code .route.max.default}, the utilization of
+ *     the pool;</li>
+ *     <li>{@code httpcomponents.httpclient.pool.acquire}, the time requests waited for a connection, tagged
+ *     {@code outcome=success|timeout|error}.</li>
+ * </ul>
+ * All of them are tagged with the name of the pool ({@code httpclient}).
+ *
+ * @see SupplierHttpClientConfig
+ * @see io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager implements MeterBinder {
+
+    private final String name;
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Constructs a new MeteredConnectionManager.
+     *
+     * @param name the name of the pool, tagging its metrics
+     */
+    public MeteredConnectionManager(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Registers the metrics of the pool.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(this, name).bindTo(registry);
+        this.registry = registry;
+    }
+
+    /**
+     * Requests a connection from the pool, timing the wait for it.
+     *
+     * @param id             the identifier of the exchange
+     * @param route          the route of the connection
+     * @param requestTimeout the maximum time to wait for a connection
+     * @param state          the expected state of the connection
+     * @return the request for the connection
+     */
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                String outcome = "error";
+                try {
+                    ConnectionEndpoint endpoint = leaseRequest.get(timeout);
+                    outcome = "success";
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    outcome = "timeout";
+                    throw e;
+                } finally {
+                    record(outcome, System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+
+    /**
+     * Utility method to record the wait for a connection, once the metrics are bound.
+     *
+     * @param outcome the outcome of the wait
+     * @param nanos   the duration of the wait, in nanoseconds
+     */
+    private void record(String outcome, long nanos) {
+        MeterRegistry current = registry;
+        if (current != null) {
+            Timer.builder("httpcomponents.httpclient.pool.acquire")
+                    .description("Time waited for a connection from the pool")
+                    .tags("httpclient", name, "outcome", outcome)
+                    .register(current)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.stepup.consumerservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.List;
+
+import static com.stepup.consumerservice.config.LastWriteInterceptor.LAST_WRITE_COOKIE;
+import static com.stepup.consumerservice.config.LastWriteInterceptor.LAST_WRITE_HEADER;
+
+/**
+ * Filter carrying the last-write token of the end user between the end user and the supplier service in the
+ * reactive mode, the counterpart of {@link LastWriteInterceptor}.
+ * <p>
+ * As a {@link org.springframework.web.server.WebFilter}, it puts the exchange of the end user in the Reactor
+ * context of the request. As an {@link org.springframework.web.reactive.function.client.ExchangeFilterFunction}
+ * of the WebClient of the supplier, it forwards the token of the end user found in that context with every request,
+ * and relays the token of a write reported by the supplier to the end user. Requests sent outside of the context
+ * of an end user, e.g. by a coalesced request subscribed apart, must be given the context of the caller.
+ *
+ * @see LastWriteInterceptor
+ * @see SupplierWebClientConfig
+ * @see org.springframework.web.server.WebFilter
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveLastWriteFilter implements WebFilter, ExchangeFilterFunction {
+
+    /**
+     * The exchange attribute holding the token of a write made during the request.
+     */
+    private static final String LAST_WRITE_ATTRIBUTE = ReactiveLastWriteFilter.class.getName() + ".lastWrite";
+
+    /**
+     * Returns the last-write token of the end user of the request in the context.
+     *
+     * @param context the Reactor context of the request
+     * @return the token of the last write made during the request, otherwise the token sent by the end user,
+     * or {@code null} if there is none or no request in the context
+     */
+    public static String currentLastWrite(ContextView context) {
+        ServerWebExchange exchange = context.getOrDefault(ServerWebExchange.class, null);
+        if (exchange == null) {
+            return null;
+        }
+        String written = exchange.getAttribute(LAST_WRITE_ATTRIBUTE);
+        if (written != null) {
+            return written;
+        }
+        String value = exchange.getRequest().getHeaders().getFirst(LAST_WRITE_HEADER);
+        if (value == null) {
+            HttpCookie cookie = exchange.getRequest().getCookies().getFirst(LAST_WRITE_COOKIE);
+            value = cookie != null ? cookie.getValue() : null;
+        }
+        return value;
+    }
+
+    /**
+     * Puts the exchange of the end user in the context of the request.
+     *
+     * @param exchange the exchange of the end user
+     * @param chain    the rest of the chain
+     * @return the completion of the request
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange).contextWrite(context -> context.put(ServerWebExchange.class, exchange));
+    }
+
+    /**
+     * Sends the request with the last-write token of the end user, relaying the token of a write to the end user.
+     *
+     * @param request the request
+     * @param next    the exchange sending the request
+     * @return the response
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            ServerWebExchange exchange = context.getOrDefault(ServerWebExchange.class, null);
+            if (exchange == null) {
+                return next.exchange(request);
+            }
+            String lastWrite = currentLastWrite(context);
+            ClientRequest forwarded = lastWrite == null ? request
+                    : ClientRequest.from(request).headers(headers -> headers.set(LAST_WRITE_HEADER, lastWrite)).build();
+            return next.exchange(forwarded).doOnNext(response -> {
+                String written = response.headers().asHttpHeaders().getFirst(LAST_WRITE_HEADER);
+                if (written != null) {
+                    exchange.getAttributes().put(LAST_WRITE_ATTRIBUTE, written);
+                    relay(exchange.getResponse(), written, response.cookies().get(LAST_WRITE_COOKIE));
+                }
+            });
+        });
+    }
+
+    /**
+     * Utility method to relay the token of a write to the end user, unless their response is already committed.
+     *
+     * @param response  the response to the end user
+     * @param lastWrite the token of the write
+     * @param cookies   the last-write cookies set by the supplier, or {@code null} if none
+     */
+    private static void relay(ServerHttpResponse response, String lastWrite, List<ResponseCookie> cookies) {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.getHeaders().set(LAST_WRITE_HEADER, lastWrite);
+        if (cookies != null) {
+            cookies.forEach(response::addCookie);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.stepup.consumerservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class serving the reactive mode ({@code spring.main.web-application-type=reactive}) on Netty.
+ * Tomcat stays on the classpath for the servlet mode, and Spring Boot would otherwise prefer it for the reactive
+ * mode too; on Netty, requests waiting for the supplier service hold no thread. The {@code server.*} properties
+ * apply to Netty as they apply to Tomcat.
+ *
+ * @see SupplierWebClientConfig
+ * @see org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    /**
+     * Creates the factory of the Netty server.
+     *
+     * @return the factory of the Netty server
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -1,10 +1,24 @@
 package com.stepup.consumerservice.config;
 
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Configuration class for setting up and providing instances of the RestTemplate and MappingJackson2HttpMessageConverter
  * beans in a Spring application. These configurations are essential for handling HTTP requests and responses,
@@ -12,25 +26,76 @@ import org.springframework.web.client.RestTemplate;
  *
  * @see org.springframework.context.annotation.Bean
  * @see org.springframework.web.client.RestTemplate
+ * @see SupplierHttpClientConfig
+ * @see ConditionalGetInterceptor
+ * @see LastWriteInterceptor
+ * @see SmileConfig
  * @see org.springframework.http.converter.json.MappingJackson2HttpMessageConverter
  */
 @Configuration
 public class RestTemplateConfig {
 
     /**
-     * Configures and returns an instance of the {@link org.springframework.web.client.RestTemplate} class.
-     * This method adds a {@link org.springframework.http.converter.json.MappingJackson2HttpMessageConverter} to
-     * the RestTemplate's message converters list.
+     * Configures and returns an instance of the {@link org.springframework.web.client.RestTemplate} class,
+     * sending its requests with the pooled HTTP client of the supplier service. This method puts the Smile converter ahead of the
+     * {@link org.springframework.http.converter.json.MappingJackson2HttpMessageConverter} in the RestTemplate's
+     * message converters list, so requests to the supplier service are written and their responses asked for in
+     * Smile, JSON remaining accepted. It also adds a {@link LastWriteInterceptor} forwarding the last-write token of
+     * the end user, and a {@link ConditionalGetInterceptor} revalidating repeated GET requests with the entity tags
+     * of their last responses.
      *
+     * @param httpClient               the HTTP client of the supplier service
+     * @param smileConverter           the Smile converter
+     * @param httpCacheMaximumSize     the maximum total size of the responses kept for revalidation
+     * @param httpCacheMaximumBodySize the maximum size of a single response kept for revalidation
      * @return Configured instance of {@link org.springframework.web.client.RestTemplate}.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.getMessageConverters().add(mappingJackson2HttpMessageConverter());
+    @Primary
+    public RestTemplate restTemplate(CloseableHttpClient httpClient,
+                                     MappingJackson2SmileHttpMessageConverter smileConverter,
+                                     @Value("${supplier.http-cache.maximum-size:16MB}") DataSize httpCacheMaximumSize,
+                                     @Value("${supplier.http-cache.maximum-body-size:1MB}")
+                                     DataSize httpCacheMaximumBodySize) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+        converters.removeIf(converter -> converter instanceof MappingJackson2HttpMessageConverter
+                                         || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(smileConverter);
+        converters.add(mappingJackson2HttpMessageConverter());
+        restTemplate.getInterceptors().add(new LastWriteInterceptor());
+        restTemplate.getInterceptors().add(new ConditionalGetInterceptor(
+                httpCacheMaximumSize.toBytes(), httpCacheMaximumBodySize.toBytes()));
         return restTemplate;
     }
 
+    /**
+     * Configures and returns the {@link org.springframework.web.client.RestTemplate} reading the change stream of
+     * the supplier service. It shares the pooled HTTP client, but waits for data longer than the read timeout of
+     * other requests, since the stream stays silent between its heartbeats; a stream silent for longer is broken.
+     *
+     * @param httpClient        the HTTP client of the supplier service
+     * @param streamReadTimeout the maximum time to wait for data from the stream
+     * @return Configured instance of {@link org.springframework.web.client.RestTemplate}.
+     */
+    @Bean
+    public RestTemplate changeStreamRestTemplate(CloseableHttpClient httpClient,
+                                                 @Value("${supplier.change-stream.read-timeout:60s}")
+                                                 Duration streamReadTimeout) {
+        RequestConfig defaultConfig = httpClient instanceof Configurable configurable
+                ? configurable.getConfig() : RequestConfig.DEFAULT;
+        RequestConfig requestConfig = RequestConfig.copy(defaultConfig)
+                .setResponseTimeout(Timeout.of(streamReadTimeout))
+                .build();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            return context;
+        });
+        return new RestTemplate(requestFactory);
+    }
+
     /**
      * Creates and returns an instance of {@link org.springframework.http.converter.json.MappingJackson2HttpMessageConverter}.
      * This converter is responsible for converting JSON data to and from Java objects.
@@ -0,0 +1,111 @@
+package com.stepup.consumerservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class providing the converter of Smile, the binary form of JSON. The RestTemplate prefers it
+ * for the requests to and the responses from the supplier service, see {@link RestTemplateConfig}; this service
+ * also serves Smile to clients asking for it with {@code Accept: application/x-jackson-smile}. Other clients
+ * still get JSON, which stays the first converter in the negotiation order.
+ * <p>
+ * The same entity tag is sent with either representation, so every response declares {@code Vary: Accept}
+ * for caches not to serve one representation in place of the other.
+ * <p>
+ * In the reactive mode, the WebFlux codecs of this service and of its WebClient read and write Smile with the
+ * same ObjectMapper as the converter.
+ *
+ * @see RestTemplateConfig
+ * @see SupplierWebClientConfig
+ * @see org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter
+ * @see org.springframework.boot.autoconfigure.http.HttpMessageConverters
+ */
+@Configuration
+public class SmileConfig implements WebMvcConfigurer {
+
+    /**
+     * The media type of Smile.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * The media type of Smile.
+     */
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    /**
+     * Creates the Smile converter, configured like the JSON one. Spring Boot puts it in place of its default
+     * Smile converter, after the JSON converter.
+     *
+     * @param builder the builder of the JSON ObjectMapper, holding the {@code spring.jackson.*} settings
+     * @return the Smile converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Adds {@code Vary: Accept} to every response.
+     *
+     * @param registry the registry of interceptors
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Configures the WebFlux codecs of Smile with the ObjectMapper of the Smile converter.
+     *
+     * @param smileConverter the Smile converter
+     * @return the customizer of the codecs
+     */
+    @Bean
+    public CodecCustomizer smileCodecCustomizer(MappingJackson2SmileHttpMessageConverter smileConverter) {
+        ObjectMapper objectMapper = smileConverter.getObjectMapper();
+        MimeType[] mimeTypes = smileConverter.getSupportedMediaTypes().toArray(MimeType[]::new);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(objectMapper, mimeTypes));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(objectMapper, mimeTypes));
+        };
+    }
+
+    /**
+     * Adds {@code Vary: Accept} to every response in the reactive mode.
+     *
+     * @return the filter adding the header
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFilter varyAcceptFilter() {
+        return (exchange, chain) -> {
+            exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            return chain.filter(exchange);
+        };
+    }
+}
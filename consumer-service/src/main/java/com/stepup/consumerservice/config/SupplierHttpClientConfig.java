@@ -0,0 +1,99 @@
+package com.stepup.consumerservice.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class providing the HTTP client sending the requests to the supplier service, an Apache
+ * HttpClient keeping its connections alive in a bounded pool.
+ * <p>
+ * Connections are reused for at most the keep-alive duration, or less if the supplier announces a shorter one,
+ * so the client closes them before the supplier does. Idle connections are evicted in the background, and
+ * connections idle for a while are checked before being reused. Every request is bounded by the connect, read
+ * and pool-acquire timeouts, so a slow or unreachable supplier fails requests instead of holding their threads.
+ * <p>
+ * The client also asks for compressed responses and decompresses them. It keeps no cookies, since it is shared by
+ * all end users: the cookies the supplier sets for its client, such as the last-write token, belong to the end
+ * user of the request and are relayed to them, see {@link LastWriteInterceptor}.
+ *
+ * @see RestTemplateConfig
+ * @see MeteredConnectionManager
+ * @see org.apache.hc.client5.http.impl.classic.HttpClientBuilder
+ */
+@Configuration
+public class SupplierHttpClientConfig {
+
+    /**
+     * Creates the connection pool, publishing its utilization and wait time as metrics.
+     *
+     * @param maxConnections          the maximum number of connections
+     * @param maxConnectionsPerRoute  the maximum number of connections to a single host
+     * @param connectTimeout          the maximum time to establish a connection
+     * @param readTimeout             the maximum time to wait for data from the supplier
+     * @param validateAfterInactivity the time after which an idle connection is checked before being reused
+     * @return the connection pool
+     */
+    @Bean
+    public MeteredConnectionManager supplierConnectionManager(
+            @Value("${supplier.http-client.max-connections:100}") int maxConnections,
+            @Value("${supplier.http-client.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${supplier.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${supplier.http-client.read-timeout:10s}") Duration readTimeout,
+            @Value("${supplier.http-client.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager("supplier");
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                .build());
+        return connectionManager;
+    }
+
+    /**
+     * Creates the HTTP client.
+     *
+     * @param connectionManager  the connection pool
+     * @param readTimeout        the maximum time to wait for data from the supplier
+     * @param poolAcquireTimeout the maximum time to wait for a connection from the pool
+     * @param keepAlive          the maximum time a connection is kept alive between requests
+     * @param idleTimeout        the time after which idle connections are evicted from the pool
+     * @return the HTTP client
+     */
+    @Bean
+    public CloseableHttpClient supplierHttpClient(
+            MeteredConnectionManager connectionManager,
+            @Value("${supplier.http-client.read-timeout:10s}") Duration readTimeout,
+            @Value("${supplier.http-client.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${supplier.http-client.keep-alive:30s}") Duration keepAlive,
+            @Value("${supplier.http-client.idle-timeout:30s}") Duration idleTimeout) {
+        TimeValue maxKeepAlive = TimeValue.of(keepAlive);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue announced = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(announced) && announced.compareTo(maxKeepAlive) < 0
+                            ? announced : maxKeepAlive;
+                })
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .evictExpiredConnections()
+                .disableCookieManagement()
+                .build();
+    }
+}
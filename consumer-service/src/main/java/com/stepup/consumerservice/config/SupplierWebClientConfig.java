@@ -0,0 +1,93 @@
+package com.stepup.consumerservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuration class providing the non-blocking HTTP client of the supplier service used in the reactive mode
+ * ({@code spring.main.web-application-type=reactive}), a {@link org.springframework.web.reactive.function.client.WebClient}
+ * on Reactor Netty, configured from the same {@code supplier.http-client.*} properties as the pooled client of the
+ * servlet mode.
+ * <p>
+ * Waiting requests hold no thread, so the number of requests in flight to the supplier is bounded by the
+ * connections of the pool only. Requests are sent and their responses asked for in Smile, JSON remaining accepted,
+ * and responses are asked for compressed. The last-write token of the end user is forwarded with every request, see
+ * {@link ReactiveLastWriteFilter}.
+ * <p>
+ * The pool publishes its utilization and wait time as {@code reactor.netty.connection.provider.*} metrics.
+ *
+ * @see SupplierHttpClientConfig
+ * @see SmileConfig
+ * @see ReactiveLastWriteFilter
+ * @see reactor.netty.resources.ConnectionProvider
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class SupplierWebClientConfig {
+
+    /**
+     * Creates the connection pool.
+     *
+     * @param maxConnections     the maximum number of connections to the supplier
+     * @param poolAcquireTimeout the maximum time to wait for a connection from the pool
+     * @param keepAlive          the maximum time a connection is kept alive between requests
+     * @param idleTimeout        the interval at which idle connections are evicted from the pool
+     * @return the connection pool
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider supplierConnectionProvider(
+            @Value("${supplier.http-client.max-connections-per-route:50}") int maxConnections,
+            @Value("${supplier.http-client.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${supplier.http-client.keep-alive:30s}") Duration keepAlive,
+            @Value("${supplier.http-client.idle-timeout:30s}") Duration idleTimeout) {
+        return ConnectionProvider.builder("supplier")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(keepAlive)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Creates the WebClient of the supplier service.
+     *
+     * @param builder                the WebClient builder, holding the codecs of the application
+     * @param connectionProvider     the connection pool
+     * @param lastWriteFilter        the filter forwarding the last-write token of the end user
+     * @param supplierServiceBaseUrl the base URL of the supplier service
+     * @param connectTimeout         the maximum time to establish a connection
+     * @param readTimeout            the maximum time to wait for the response of the supplier
+     * @return the WebClient
+     */
+    @Bean
+    public WebClient supplierWebClient(WebClient.Builder builder,
+                                       ConnectionProvider connectionProvider,
+                                       ReactiveLastWriteFilter lastWriteFilter,
+                                       @Value("${supplier.service.base.url}") String supplierServiceBaseUrl,
+                                       @Value("${supplier.http-client.connect-timeout:2s}") Duration connectTimeout,
+                                       @Value("${supplier.http-client.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+        return builder
+                .baseUrl(supplierServiceBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(lastWriteFilter)
+                .defaultHeader(HttpHeaders.ACCEPT, SmileConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+}
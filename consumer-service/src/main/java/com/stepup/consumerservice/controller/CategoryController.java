@@ -3,6 +3,7 @@ package com.stepup.consumerservice.controller;
 import com.stepup.consumerservice.dto.CategoryDto;
 import com.stepup.consumerservice.service.CategoryService;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,7 +22,10 @@ import java.util.List;
  * Controller class responsible for handling HTTP requests related to categories.
  * This controller is annotated with {@link org.springframework.web.bind.annotation.RestController},
  * indicating that it combines @Controller and @ResponseBody, meaning that its methods return
- * domain objects instead of a view.
+ * domain objects instead of a view. It serves the servlet mode, the default; the reactive mode is served by
+ * {@link ReactiveCategoryController}.
+ * Reads carry an entity tag computed from the versions of the categories, so a client revalidating an
+ * unchanged result gets 304 Not Modified instead of the body.
  *
  * @see org.springframework.web.bind.annotation.RestController
  * @see org.springframework.web.bind.annotation.RequestMapping
@@ -36,8 +40,11 @@ import java.util.List;
  * @see org.springframework.validation.annotation.Validated
  * @see CategoryDto
  * @see CategoryService
+ * @see ReactiveCategoryController
+ * @see ETags
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/categories")
 public class CategoryController {
 
@@ -63,7 +70,9 @@ public class CategoryController {
     public ResponseEntity<List<CategoryDto>> getAllCategories(@RequestParam(defaultValue = "0") int page,
                                                               @RequestParam(defaultValue = "10") int size) {
         List<CategoryDto> categories = categoryService.getAllCategories(page, size);
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(categories, CategoryDto::getId, CategoryDto::getVersion))
+                .body(categories);
     }
 
     /**
@@ -75,7 +84,12 @@ public class CategoryController {
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
         CategoryDto category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+        if (category == null) {
+            return ResponseEntity.ok(null);
+        }
+        return ResponseEntity.ok()
+                .eTag(ETags.of(category.getId(), category.getVersion()))
+                .body(category);
     }
 
     /**
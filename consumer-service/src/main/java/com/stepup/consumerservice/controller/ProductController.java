@@ -1,13 +1,21 @@
 package com.stepup.consumerservice.controller;
 
+import com.stepup.consumerservice.dto.BulkResultDto;
+import com.stepup.consumerservice.dto.ProductBulkUpdateDto;
+import com.stepup.consumerservice.dto.ProductCursorPageDto;
 import com.stepup.consumerservice.dto.ProductDto;
+import com.stepup.consumerservice.dto.ProductFilterDto;
+import com.stepup.consumerservice.dto.ProductQueryDto;
 import com.stepup.consumerservice.exception.ProductServiceException;
 import com.stepup.consumerservice.service.ProductService;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -15,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,7 +31,10 @@ import java.util.List;
  * Controller class responsible for handling HTTP requests related to products.
  * This controller is annotated with {@link org.springframework.web.bind.annotation.RestController},
  * indicating that it combines @Controller and @ResponseBody, meaning that its methods return
- * domain objects instead of a view.
+ * domain objects instead of a view. It serves the servlet mode, the default; the reactive mode is served by
+ * {@link ReactiveProductController}.
+ * Reads carry an entity tag computed from the versions of the products, so a client revalidating an
+ * unchanged result gets 304 Not Modified instead of the body.
  *
  * @see org.springframework.web.bind.annotation.RestController
  * @see org.springframework.web.bind.annotation.RequestMapping
@@ -36,8 +48,11 @@ import java.util.List;
  * @see org.springframework.web.bind.annotation.RequestBody
  * @see ProductDto
  * @see ProductService
+ * @see ReactiveProductController
+ * @see ETags
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/products")
 public class ProductController {
 
@@ -64,7 +79,40 @@ public class ProductController {
                                             @RequestParam(defaultValue = "10") int size) {
         try {
             List<ProductDto> products = productService.getAllProducts(page, size);
-            return ResponseEntity.ok(products);
+            return ResponseEntity.ok().eTag(eTag(products)).body(products);
+        } catch (ProductServiceException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Streams all products as newline-delimited JSON, passed through from the supplier service.
+     *
+     * @return ResponseEntity streaming one JSON product per line.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = productService::streamAllProducts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieves products with keyset (cursor) pagination.
+     *
+     * @param after The cursor returned with the previous page (absent for the first page).
+     * @param limit The page size (default: 10).
+     * @param sort  The order of the listing, id or price (default: id).
+     * @return ResponseEntity containing the page of ProductDto objects and the next cursor.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getProductsAfter(@RequestParam(required = false) String after,
+                                              @RequestParam(defaultValue = "10") int limit,
+                                              @RequestParam(defaultValue = "id") String sort) {
+        try {
+            ProductCursorPageDto products = productService.getProductsAfter(after, limit, sort);
+            return ResponseEntity.ok().eTag(eTag(products.getItems())).body(products);
         } catch (ProductServiceException ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
         }
@@ -79,7 +127,10 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getProductById(@PathVariable Long id) {
         ProductDto product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        if (product == null) {
+            return ResponseEntity.ok(null);
+        }
+        return ResponseEntity.ok().eTag(ETags.of(product.getId(), product.getVersion())).body(product);
     }
 
     /**
@@ -94,6 +145,18 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
 
+    /**
+     * Creates many products at once.
+     *
+     * @param products The ProductDto objects representing the new products.
+     * @return ResponseEntity containing the created ProductDto objects.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createProducts(@Valid @RequestBody List<@Valid ProductDto> products) {
+        List<ProductDto> createdProducts = productService.createProducts(products);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdProducts);
+    }
+
     /**
      * Updates an existing product.
      *
@@ -120,6 +183,30 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Updates all products matching a filter at once.
+     *
+     * @param bulkUpdate The ProductBulkUpdateDto object holding the filter and the changes to apply.
+     * @return ResponseEntity containing the number of updated products.
+     */
+    @PostMapping("/bulk/update")
+    public ResponseEntity<?> updateProducts(@RequestBody ProductBulkUpdateDto bulkUpdate) {
+        BulkResultDto result = productService.updateProducts(bulkUpdate);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Deletes all products matching a filter at once.
+     *
+     * @param filter The ProductFilterDto object selecting the products to delete.
+     * @return ResponseEntity containing the number of deleted products.
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<?> deleteProducts(@RequestBody ProductFilterDto filter) {
+        BulkResultDto result = productService.deleteProducts(filter);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Retrieves products filtered by price range.
      *
@@ -135,7 +222,7 @@ public class ProductController {
                                                                     @RequestParam(defaultValue = "0") int page,
                                                                     @RequestParam(defaultValue = "10") int size) {
             List<ProductDto> filteredProducts = productService.getProductsAndFilterByPriceRange(min, max, page, size);
-            return ResponseEntity.ok(filteredProducts);
+            return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
     }
 
     /**
@@ -151,7 +238,7 @@ public class ProductController {
                                                                          @RequestParam(defaultValue = "0") int page,
                                                                          @RequestParam(defaultValue = "10") int size) {
         List<ProductDto> filteredProducts = productService.filterProductsByPriceGreater(min, page, size);
-        return ResponseEntity.ok(filteredProducts);
+        return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
     }
 
     /**
@@ -167,7 +254,7 @@ public class ProductController {
                                                                       @RequestParam(defaultValue = "0") int page,
                                                                       @RequestParam(defaultValue = "10") int size) {
         List<ProductDto> filteredProducts = productService.filterProductsByPriceLess(max, page, size);
-        return ResponseEntity.ok(filteredProducts);
+        return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
     }
 
     /**
@@ -183,7 +270,7 @@ public class ProductController {
                                                                     @RequestParam(defaultValue = "0") int page,
                                                                     @RequestParam(defaultValue = "10") int size) {
         List<ProductDto> foundProducts = productService.getProductsByCategory(id, page, size);
-        return ResponseEntity.ok(foundProducts);
+        return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
     }
 
     /**
@@ -199,7 +286,7 @@ public class ProductController {
                                                               @RequestParam(defaultValue = "0") int page,
                                                               @RequestParam(defaultValue = "10") int size) {
         List<ProductDto> foundProducts = productService.searchProductsByName(keyword, page, size);
-        return ResponseEntity.ok(foundProducts);
+        return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
     }
 
     /**
@@ -215,7 +302,7 @@ public class ProductController {
                                                                               @RequestParam(defaultValue = "0") int page,
                                                                               @RequestParam(defaultValue = "10") int size) {
         List<ProductDto> foundProducts = productService.searchProductsByNameNotContaining(keyword, page, size);
-        return ResponseEntity.ok(foundProducts);
+        return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
     }
 
     /**
@@ -231,6 +318,44 @@ public class ProductController {
                                                                      @RequestParam(defaultValue = "0") int page,
                                                                      @RequestParam(defaultValue = "10") int size) {
         List<ProductDto> foundProducts = productService.searchProductsByDescription(keyword, page, size);
+        return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
+    }
+
+    /**
+     * Retrieves products matching a combined filter of IDs, categories, price range and keywords.
+     *
+     * @param filter The restrictions the products must match, bound from the query parameters.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<List<ProductDto>> filterProducts(@ModelAttribute ProductFilterDto filter,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        List<ProductDto> filteredProducts = productService.filterProducts(filter, page, size);
+        return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
+    }
+
+    /**
+     * Retrieves products matching a query of filter, order and page in a single request.
+     *
+     * @param query The filter, order and page of the products to return.
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<List<ProductDto>> queryProducts(@RequestBody ProductQueryDto query) {
+        List<ProductDto> foundProducts = productService.queryProducts(query);
         return ResponseEntity.ok(foundProducts);
     }
+
+    /**
+     * Utility method to compute the entity tag of a list of products.
+     *
+     * @param products the products
+     * @return the tag, which changes whenever a product is added, removed or changed
+     */
+    private static String eTag(List<ProductDto> products) {
+        return ETags.of(products, ProductDto::getId, ProductDto::getVersion);
+    }
 }
@@ -0,0 +1,118 @@
+package com.stepup.consumerservice.controller;
+
+import com.stepup.consumerservice.dto.CategoryDto;
+import com.stepup.consumerservice.service.ReactiveCategoryService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Controller class responsible for handling HTTP requests related to categories in the reactive mode
+ * ({@code spring.main.web-application-type=reactive}), where requests are served by WebFlux on Netty.
+ * It exposes the same endpoints as {@link CategoryController}, but no thread waits for the supplier service.
+ * Reads carry the same entity tags, so a client revalidating an unchanged result gets 304 Not Modified.
+ *
+ * @see org.springframework.web.bind.annotation.RestController
+ * @see CategoryController
+ * @see CategoryDto
+ * @see ReactiveCategoryService
+ * @see ETags
+ */
+@RestController
+@RequestMapping("/categories")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCategoryController {
+
+    private final ReactiveCategoryService categoryService;
+
+    /**
+     * Constructor for the ReactiveCategoryController class.
+     *
+     * @param categoryService The service responsible for handling category-related business logic.
+     */
+    public ReactiveCategoryController(ReactiveCategoryService categoryService) {
+        this.categoryService = categoryService;
+    }
+
+    /**
+     * Retrieves all categories with pagination.
+     *
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of CategoryDto objects.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<CategoryDto>>> getAllCategories(@RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "10") int size) {
+        return categoryService.getAllCategories(page, size)
+                .map(categories -> ResponseEntity.ok()
+                        .eTag(ETags.of(categories, CategoryDto::getId, CategoryDto::getVersion))
+                        .body(categories));
+    }
+
+    /**
+     * Retrieves a category by its ID.
+     *
+     * @param id The ID of the category to retrieve.
+     * @return ResponseEntity containing the CategoryDto object.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CategoryDto>> getCategoryById(@PathVariable Long id) {
+        return categoryService.getCategoryById(id)
+                .map(category -> ResponseEntity.ok()
+                        .eTag(ETags.of(category.getId(), category.getVersion()))
+                        .body(category))
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Creates a new category.
+     *
+     * @param categoryDto The CategoryDto object representing the new category.
+     * @return ResponseEntity containing the created CategoryDto object.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<CategoryDto>> createCategory(@Valid @RequestBody CategoryDto categoryDto) {
+        return categoryService.createCategory(categoryDto)
+                .map(createdCategory -> ResponseEntity.status(HttpStatus.CREATED).body(createdCategory));
+    }
+
+    /**
+     * Updates an existing category.
+     *
+     * @param id The ID of the category to update.
+     * @param categoryDto The CategoryDto object representing the updated category.
+     * @return ResponseEntity containing the updated CategoryDto object.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<CategoryDto>> updateCategory(@PathVariable Long id,
+                                                            @Valid @RequestBody CategoryDto categoryDto) {
+        return categoryService.updateCategory(id, categoryDto)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Deletes a category by its ID.
+     *
+     * @param id The ID of the category to delete.
+     * @return ResponseEntity with no content.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteCategory(@PathVariable Long id) {
+        return categoryService.deleteCategory(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
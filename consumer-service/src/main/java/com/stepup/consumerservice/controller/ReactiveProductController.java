@@ -0,0 +1,358 @@
+package com.stepup.consumerservice.controller;
+
+import com.stepup.consumerservice.dto.BulkResultDto;
+import com.stepup.consumerservice.dto.ProductBulkUpdateDto;
+import com.stepup.consumerservice.dto.ProductCursorPageDto;
+import com.stepup.consumerservice.dto.ProductDto;
+import com.stepup.consumerservice.dto.ProductFilterDto;
+import com.stepup.consumerservice.dto.ProductQueryDto;
+import com.stepup.consumerservice.exception.ProductServiceException;
+import com.stepup.consumerservice.service.ReactiveProductService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Controller class responsible for handling HTTP requests related to products in the reactive mode
+ * ({@code spring.main.web-application-type=reactive}), where requests are served by WebFlux on Netty.
+ * It exposes the same endpoints as {@link ProductController}, but no thread waits for the supplier service:
+ * each method returns at once a {@link reactor.core.publisher.Mono} completing with the response.
+ * Reads carry the same entity tags, so a client revalidating an unchanged result gets 304 Not Modified.
+ *
+ * @see org.springframework.web.bind.annotation.RestController
+ * @see ProductController
+ * @see ProductDto
+ * @see ReactiveProductService
+ * @see ETags
+ */
+@RestController
+@RequestMapping("/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductController {
+
+    private final ReactiveProductService productService;
+
+    /**
+     * Constructor for the ReactiveProductController class.
+     *
+     * @param productService The service responsible for handling product-related business logic.
+     */
+    public ReactiveProductController(ReactiveProductService productService) {
+        this.productService = productService;
+    }
+
+    /**
+     * Retrieves all products with pagination.
+     *
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllProducts(@RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "10") int size) {
+        return orServerError(productService.getAllProducts(page, size)
+                .map(products -> ResponseEntity.ok().eTag(eTag(products)).body(products)));
+    }
+
+    /**
+     * Streams all products as newline-delimited JSON, passed through from the supplier service.
+     *
+     * @return ResponseEntity streaming one JSON product per line.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> streamAllProducts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(productService.streamAllProducts());
+    }
+
+    /**
+     * Retrieves products with keyset (cursor) pagination.
+     *
+     * @param after The cursor returned with the previous page (absent for the first page).
+     * @param limit The page size (default: 10).
+     * @param sort  The order of the listing, id or price (default: id).
+     * @return ResponseEntity containing the page of ProductDto objects and the next cursor.
+     */
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<?>> getProductsAfter(@RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "10") int limit,
+                                                    @RequestParam(defaultValue = "id") String sort) {
+        return orServerError(productService.getProductsAfter(after, limit, sort)
+                .map(products -> ResponseEntity.ok().eTag(eTag(products.getItems())).body(products)));
+    }
+
+    /**
+     * Retrieves a product by its ID.
+     *
+     * @param id The ID of the product to retrieve.
+     * @return ResponseEntity containing the ProductDto object.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductDto>> getProductById(@PathVariable Long id) {
+        return productService.getProductById(id)
+                .map(product -> ResponseEntity.ok().eTag(ETags.of(product.getId(), product.getVersion())).body(product))
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    /**
+     * Creates a new product.
+     *
+     * @param product The ProductDto object representing the new product.
+     * @return ResponseEntity containing the created ProductDto object.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ProductDto>> createProduct(@Valid @RequestBody ProductDto product) {
+        return productService.createProduct(product)
+                .map(createdProduct -> ResponseEntity.status(HttpStatus.CREATED).body(createdProduct));
+    }
+
+    /**
+     * Creates many products at once.
+     *
+     * @param products The ProductDto objects representing the new products.
+     * @return ResponseEntity containing the created ProductDto objects.
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<ProductDto>>> createProducts(@Valid @RequestBody List<@Valid ProductDto> products) {
+        return productService.createProducts(products)
+                .collectList()
+                .map(createdProducts -> ResponseEntity.status(HttpStatus.CREATED).body(createdProducts));
+    }
+
+    /**
+     * Updates an existing product.
+     *
+     * @param id The ID of the product to update.
+     * @param product The ProductDto object representing the updated product.
+     * @return ResponseEntity containing the updated ProductDto object.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<ProductDto>> updateProduct(@PathVariable Long id,
+                                                          @Valid @RequestBody ProductDto product) {
+        return productService.updateProduct(id, product)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Deletes a product by its ID.
+     *
+     * @param id The ID of the product to delete.
+     * @return ResponseEntity with no content.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteProduct(@PathVariable Long id) {
+        return productService.deleteProduct(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Updates all products matching a filter at once.
+     *
+     * @param bulkUpdate The ProductBulkUpdateDto object holding the filter and the changes to apply.
+     * @return ResponseEntity containing the number of updated products.
+     */
+    @PostMapping("/bulk/update")
+    public Mono<ResponseEntity<BulkResultDto>> updateProducts(@RequestBody ProductBulkUpdateDto bulkUpdate) {
+        return productService.updateProducts(bulkUpdate)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Deletes all products matching a filter at once.
+     *
+     * @param filter The ProductFilterDto object selecting the products to delete.
+     * @return ResponseEntity containing the number of deleted products.
+     */
+    @PostMapping("/bulk/delete")
+    public Mono<ResponseEntity<BulkResultDto>> deleteProducts(@RequestBody ProductFilterDto filter) {
+        return productService.deleteProducts(filter)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves products filtered by price range.
+     *
+     * @param min  The minimum price.
+     * @param max  The maximum price.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/price/range/")
+    public Mono<ResponseEntity<List<ProductDto>>> filterProductsByPriceRange(@RequestParam double min,
+                                                                             @RequestParam double max,
+                                                                             @RequestParam(defaultValue = "0") int page,
+                                                                             @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.getProductsAndFilterByPriceRange(min, max, page, size));
+    }
+
+    /**
+     * Retrieves products filtered by price greater than input.
+     *
+     * @param min  The minimum price.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/price/greater/")
+    public Mono<ResponseEntity<List<ProductDto>>> filterProductsByPriceGreater(@RequestParam double min,
+                                                                               @RequestParam(defaultValue = "0") int page,
+                                                                               @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.filterProductsByPriceGreater(min, page, size));
+    }
+
+    /**
+     * Retrieves products filtered by price less than input.
+     *
+     * @param max  The maximum price.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/price/less/")
+    public Mono<ResponseEntity<List<ProductDto>>> filterProductsByPriceLess(@RequestParam double max,
+                                                                            @RequestParam(defaultValue = "0") int page,
+                                                                            @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.filterProductsByPriceLess(max, page, size));
+    }
+
+    /**
+     * Retrieves products filtered by category ID.
+     *
+     * @param id   The ID of the category to filter by.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/search/category/{id}")
+    public Mono<ResponseEntity<List<ProductDto>>> searchProductsByCategoryId(@PathVariable Long id,
+                                                                             @RequestParam(defaultValue = "0") int page,
+                                                                             @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.getProductsByCategory(id, page, size));
+    }
+
+    /**
+     * Retrieves products filtered by name.
+     *
+     * @param keyword The keyword to search with.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/search/name/")
+    public Mono<ResponseEntity<List<ProductDto>>> searchProductsByName(@RequestParam String keyword,
+                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                       @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.searchProductsByName(keyword, page, size));
+    }
+
+    /**
+     * Retrieves products filtered by name with not containing word.
+     *
+     * @param keyword The keyword to search with.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/search/name/not-containing/")
+    public Mono<ResponseEntity<List<ProductDto>>> searchProductsByNameNotContaining(@RequestParam String keyword,
+                                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                                    @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.searchProductsByNameNotContaining(keyword, page, size));
+    }
+
+    /**
+     * Retrieves products filtered by description.
+     *
+     * @param keyword The keyword to search with.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/search/description/")
+    public Mono<ResponseEntity<List<ProductDto>>> searchProductsByDescription(@RequestParam String keyword,
+                                                                              @RequestParam(defaultValue = "0") int page,
+                                                                              @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.searchProductsByDescription(keyword, page, size));
+    }
+
+    /**
+     * Retrieves products matching a combined filter of IDs, categories, price range and keywords.
+     *
+     * @param filter The restrictions the products must match, bound from the query parameters.
+     * @param page The page number (default: 0).
+     * @param size The page size (default: 10).
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @GetMapping("/filter")
+    public Mono<ResponseEntity<List<ProductDto>>> filterProducts(@ModelAttribute ProductFilterDto filter,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        return tagged(productService.filterProducts(filter, page, size));
+    }
+
+    /**
+     * Retrieves products matching a query of filter, order and page in a single request.
+     *
+     * @param query The filter, order and page of the products to return.
+     * @return ResponseEntity containing a list of ProductDto objects.
+     */
+    @PostMapping("/query")
+    public Mono<ResponseEntity<List<ProductDto>>> queryProducts(@RequestBody ProductQueryDto query) {
+        return productService.queryProducts(query)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Utility method to answer with a list of products and its entity tag.
+     *
+     * @param products the products
+     * @return the response
+     */
+    private static Mono<ResponseEntity<List<ProductDto>>> tagged(Mono<List<ProductDto>> products) {
+        return products.map(items -> ResponseEntity.ok().eTag(eTag(items)).body(items));
+    }
+
+    /**
+     * Utility method to answer a failure of the supplier service with 500 Internal Server Error and its message.
+     *
+     * @param response the response
+     * @param <T>      the type of the response body
+     * @return the response, or the error response
+     */
+    private static <T> Mono<ResponseEntity<?>> orServerError(Mono<ResponseEntity<T>> response) {
+        return response
+                .<ResponseEntity<?>>map(entity -> entity)
+                .onErrorResume(ProductServiceException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage())));
+    }
+
+    /**
+     * Utility method to compute the entity tag of a list of products.
+     *
+     * @param products the products
+     * @return the tag, which changes whenever a product is added, removed or changed
+     */
+    private static String eTag(List<ProductDto> products) {
+        return ETags.of(products, ProductDto::getId, ProductDto::getVersion);
+    }
+}
@@ -33,4 +33,10 @@ public class CategoryDto {
      */
     @NotBlank(message = "Name is mandatory")
     private String name;
+
+    /**
+     * The version of the category. Sent back with an update, it must still be current for the update to apply;
+     * left {@code null}, the update applies to whatever version is current.
+     */
+    private Long version;
 }
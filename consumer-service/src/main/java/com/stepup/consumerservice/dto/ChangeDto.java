@@ -0,0 +1,55 @@
+package com.stepup.consumerservice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) class representing a change of a product or category in the supplier service,
+ * as received from its change stream.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeDto {
+
+    /**
+     * The sequence number of the change.
+     */
+    private Long seq;
+
+    /**
+     * The type of the changed entity, {@code PRODUCT} or {@code CATEGORY}.
+     */
+    private String entityType;
+
+    /**
+     * The ID of the changed entity.
+     */
+    private Long entityId;
+
+    /**
+     * Whether the entity was deleted.
+     */
+    private boolean deleted;
+
+    /**
+     * The state of the entity after the change, including its new version, or {@code null} if it was deleted.
+     */
+    private JsonNode payload;
+
+    /**
+     * The time of the change.
+     */
+    private Instant changedAt;
+}
@@ -0,0 +1,42 @@
+package com.stepup.consumerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) class representing a change applied to every product matching a filter.
+ * Either {@code price} or {@code priceMultiplier} may be set, optionally together with {@code categoryId}.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBulkUpdateDto {
+
+    /**
+     * The filter selecting the products to update.
+     */
+    private ProductFilterDto filter;
+
+    /**
+     * The new price of the products.
+     */
+    private Double price;
+
+    /**
+     * The factor the current price of the products is multiplied by.
+     */
+    private Double priceMultiplier;
+
+    /**
+     * The ID of the category the products are moved to.
+     */
+    private Long categoryId;
+}
@@ -53,4 +53,10 @@ public class ProductDto {
      */
     @NotNull(message = "Category is mandatory")
     private Long categoryId;
+
+    /**
+     * The version of the product. Sent back with an update, it must still be current for the update to apply;
+     * left {@code null}, the update applies to whatever version is current.
+     */
+    private Long version;
 }
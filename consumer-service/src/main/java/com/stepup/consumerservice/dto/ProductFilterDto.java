@@ -0,0 +1,69 @@
+package com.stepup.consumerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing a filter that selects a set of products.
+ * All criteria that are set must match; criteria left {@code null} or empty are ignored.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterDto {
+
+    /**
+     * The IDs of the products to select.
+     */
+    private List<Long> ids;
+
+    /**
+     * The IDs of the categories the products belong to.
+     */
+    private List<Long> categoryIds;
+
+    /**
+     * The minimum price of the products (inclusive, unless {@code minPriceExclusive} is set).
+     */
+    private Double minPrice;
+
+    /**
+     * The maximum price of the products (inclusive, unless {@code maxPriceExclusive} is set).
+     */
+    private Double maxPrice;
+
+    /**
+     * Whether products priced exactly {@code minPrice} are excluded.
+     */
+    private boolean minPriceExclusive;
+
+    /**
+     * Whether products priced exactly {@code maxPrice} are excluded.
+     */
+    private boolean maxPriceExclusive;
+
+    /**
+     * A keyword the names of the products must contain (case-insensitive).
+     */
+    private String nameContains;
+
+    /**
+     * A keyword the names of the products must not contain (case-insensitive).
+     */
+    private String nameNotContains;
+
+    /**
+     * A keyword the descriptions of the products must contain (case-insensitive).
+     */
+    private String descriptionContains;
+}
@@ -0,0 +1,47 @@
+package com.stepup.consumerservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing a product query: a filter together with the order
+ * and the page of the matching products to return.
+ *
+ * @see ProductFilterDto
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductQueryDto {
+
+    /**
+     * The filter the products must match, or {@code null} to match all products.
+     */
+    private ProductFilterDto filter;
+
+    /**
+     * The order of the products, as properties optionally followed by a direction, e.g. {@code "price,desc"}.
+     * Sortable properties are {@code id}, {@code name}, {@code description}, {@code price} and
+     * {@code categoryId}; ties are broken by ID. Products are ordered by ID if empty.
+     */
+    private List<String> sort;
+
+    /**
+     * The page number.
+     */
+    private int page;
+
+    /**
+     * The page size.
+     */
+    private int size = 10;
+}
@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 /**
  * Global exception handler for handling exceptions that occur during HTTP request processing.
@@ -20,6 +22,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * @see org.springframework.http.ResponseEntity
  * @see org.springframework.http.HttpStatus
  * @see org.springframework.http.converter.HttpMessageNotReadableException
+ * @see org.springframework.web.client.HttpClientErrorException
+ * @see org.springframework.web.reactive.function.client.WebClientResponseException
  */
 @Slf4j
 @RestControllerAdvice
@@ -41,4 +45,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("An error occurred while processing the request.");
     }
+
+    /**
+     * Handles the {@link org.springframework.web.client.HttpClientErrorException.Conflict} returned by the
+     * supplier service when an update carries an outdated version, by passing the conflict on to the client,
+     * which should read the current state and retry.
+     *
+     * @param ex The HttpClientErrorException.Conflict that occurred.
+     * @return ResponseEntity with status 409 containing the message of the supplier service.
+     */
+    @ExceptionHandler(HttpClientErrorException.Conflict.class)
+    public ResponseEntity<String> handleConflict(HttpClientErrorException.Conflict ex) {
+        log.error("Conflicting update in the supplier service: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ex.getResponseBodyAsString());
+    }
+
+    /**
+     * Handles the {@link org.springframework.web.reactive.function.client.WebClientResponseException.Conflict}
+     * returned by the supplier service in the reactive mode, like {@link #handleConflict(HttpClientErrorException.Conflict)}.
+     *
+     * @param ex The WebClientResponseException.Conflict that occurred.
+     * @return ResponseEntity with status 409 containing the message of the supplier service.
+     */
+    @ExceptionHandler(WebClientResponseException.Conflict.class)
+    public ResponseEntity<String> handleReactiveConflict(WebClientResponseException.Conflict ex) {
+        log.error("Conflicting update in the supplier service: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ex.getResponseBodyAsString());
+    }
 }
@@ -1,8 +1,10 @@
 package com.stepup.consumerservice.service;
 
+import com.stepup.consumerservice.cache.SupplierEntityCache;
 import com.stepup.consumerservice.dto.CategoryDto;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -24,27 +26,39 @@ import java.util.List;
  * @see org.springframework.core.ParameterizedTypeReference
  * @see org.springframework.web.util.UriComponentsBuilder
  * @see CategoryDto
+ * @see SupplierEntityCache
+ * @see RequestCoalescer
  */
 @Service
 public class CategoryService {
 
     private final RestTemplate restTemplate;
+    private final SupplierEntityCache<CategoryDto> categoryCache;
+    private final RequestCoalescer requestCoalescer;
     private final String supplierServiceBaseUrl;
 
     /**
-     * Constructs a new CategoryService with the specified RestTemplate and supplier service base URL.
+     * Constructs a new CategoryService with the specified RestTemplate, category cache, request coalescer and
+     * supplier service base URL.
      *
      * @param restTemplate the RestTemplate instance used to perform HTTP requests
+     * @param categoryCache the local cache of categories by ID
+     * @param requestCoalescer the coalescer of identical requests in flight
      * @param supplierServiceBaseUrl the base URL of the supplier service
      */
     public CategoryService(RestTemplate restTemplate,
+                           SupplierEntityCache<CategoryDto> categoryCache,
+                           RequestCoalescer requestCoalescer,
                            @Value("${supplier.service.base.url}") String supplierServiceBaseUrl) {
         this.restTemplate = restTemplate;
+        this.categoryCache = categoryCache;
+        this.requestCoalescer = requestCoalescer;
         this.supplierServiceBaseUrl = supplierServiceBaseUrl;
     }
 
     /**
      * Retrieves all categories from the supplier service with pagination.
+     * Identical requests in flight at the same time share one request to the supplier service.
      *
      * @param page the page number
      * @param size the page size
@@ -56,23 +70,27 @@ public class CategoryService {
                 .queryParam("page", page)
                 .queryParam("size", size);
 
-        ResponseEntity<List<CategoryDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<CategoryDto>>() {});
+        String uri = builder.toUriString();
+        ResponseEntity<List<CategoryDto>> responseEntity = requestCoalescer.execute(uri, () -> restTemplate
+                .exchange(uri,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<List<CategoryDto>>() {}));
 
         return responseEntity.getBody();
     }
 
     /**
-     * Retrieves a category by its ID from the supplier service.
+     * Retrieves a category by its ID, from the local cache or else from the supplier service.
+     * Misses in flight at the same time share one request, so a category missing from the cache is requested
+     * once however many requests ask for it.
      *
      * @param id the ID of the category to retrieve
      * @return the CategoryDto object representing the category
      */
     public CategoryDto getCategoryById(Long id) {
-        return restTemplate.getForObject(supplierServiceBaseUrl
-                                         + "/categories/" + id, CategoryDto.class);
+        String uri = supplierServiceBaseUrl + "/categories/" + id;
+        return categoryCache.get(id, uri, () -> restTemplate.getForObject(uri, CategoryDto.class));
     }
 
     /**
@@ -87,25 +105,37 @@ public class CategoryService {
     }
 
     /**
-     * Updates an existing category in the supplier service.
+     * Updates an existing category in the supplier service, and drops it from the local cache.
      *
      * @param id  the ID of the category to update
      * @param categoryDto the CategoryDto object representing the updated category
-     * @return the updated CategoryDto object
+     * @return the updated CategoryDto object, with its new version
+     * @throws org.springframework.web.client.HttpClientErrorException.Conflict if the category was changed
+     *         since the given version
      */
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
-        restTemplate.put(supplierServiceBaseUrl
-                         + "/categories/" + id, categoryDto);
-        return categoryDto;
+        try {
+            return restTemplate.exchange(supplierServiceBaseUrl + "/categories/" + id,
+                            HttpMethod.PUT,
+                            new HttpEntity<>(categoryDto),
+                            CategoryDto.class)
+                    .getBody();
+        } finally {
+            categoryCache.invalidate(id);
+        }
     }
 
     /**
-     * Deletes a category by its ID from the supplier service.
+     * Deletes a category by its ID from the supplier service, and drops it from the local cache.
      *
      * @param id the ID of the category to delete
      */
     public void deleteCategory(Long id) {
-        restTemplate.delete(supplierServiceBaseUrl
-                            + "/categories/" + id);
+        try {
+            restTemplate.delete(supplierServiceBaseUrl
+                                + "/categories/" + id);
+        } finally {
+            categoryCache.invalidate(id);
+        }
     }
 }
@@ -1,21 +1,34 @@
 package com.stepup.consumerservice.service;
 
+import com.stepup.consumerservice.cache.SupplierEntityCache;
+import com.stepup.consumerservice.dto.BulkResultDto;
+import com.stepup.consumerservice.dto.ProductBulkUpdateDto;
+import com.stepup.consumerservice.dto.ProductCursorPageDto;
 import com.stepup.consumerservice.dto.ProductDto;
+import com.stepup.consumerservice.dto.ProductFilterDto;
+import com.stepup.consumerservice.dto.ProductQueryDto;
 import com.stepup.consumerservice.exception.ProductServiceException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.OutputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service class responsible for performing operations related to products via RESTful HTTP requests.
@@ -32,23 +45,34 @@ import java.util.List;
  * @see org.springframework.web.util.UriComponentsBuilder
  * @see ProductServiceException
  * @see ProductDto
+ * @see SupplierEntityCache
+ * @see RequestCoalescer
  */
 @Slf4j
 @Service
 public class ProductService {
 
     private final RestTemplate restTemplate;
+    private final SupplierEntityCache<ProductDto> productCache;
+    private final RequestCoalescer requestCoalescer;
     private final String supplierServiceBaseUrl;
 
     /**
-     * Constructs a new ProductService with the specified RestTemplate and supplier service base URL.
+     * Constructs a new ProductService with the specified RestTemplate, product cache, request coalescer and
+     * supplier service base URL.
      *
      * @param restTemplate the RestTemplate instance used to perform HTTP requests
+     * @param productCache the local cache of products by ID
+     * @param requestCoalescer the coalescer of identical requests in flight
      * @param supplierServiceBaseUrl the base URL of the supplier service
      */
     public ProductService(RestTemplate restTemplate,
+                          SupplierEntityCache<ProductDto> productCache,
+                          RequestCoalescer requestCoalescer,
                           @Value("${supplier.service.base.url}") String supplierServiceBaseUrl) {
         this.restTemplate = restTemplate;
+        this.productCache = productCache;
+        this.requestCoalescer = requestCoalescer;
         this.supplierServiceBaseUrl = supplierServiceBaseUrl;
     }
 
@@ -66,6 +90,27 @@ public class ProductService {
                                + "/products", product, ProductDto.class);
     }
 
+    /**
+     * Creates many products at once in the supplier service with a single request.
+     *
+     * @param products the ProductDto objects representing the new products
+     * @return the created ProductDto objects
+     * @throws ProductServiceException if an error occurs while creating the products
+     */
+    public List<ProductDto> createProducts(List<ProductDto> products) {
+        ResponseEntity<List<ProductDto>> responseEntity = restTemplate
+                .exchange(supplierServiceBaseUrl + "/products/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(products),
+                new ParameterizedTypeReference<List<ProductDto>>() {});
+
+        if (responseEntity.getStatusCode().is2xxSuccessful()) {
+            return responseEntity.getBody();
+        } else {
+            throw new ProductServiceException("Failed to create products in the supplier service");
+        }
+    }
+
     /**
      * Retrieves all products from the supplier service with pagination.
      *
@@ -75,59 +120,150 @@ public class ProductService {
      * @throws ProductServiceException if an error occurs while retrieving products
      */
     public List<ProductDto> getAllProducts(@Min(0) int page, @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products")
-                .queryParam("page", page)
-                .queryParam("size", size);
+        URI uri = productsUri("/products", Map.of("page", page, "size", size));
 
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate
-                .exchange(builder.toUriString(),
+        return getProducts(uri, "Failed to retrieve products from the supplier service");
+    }
+
+    /**
+     * Streams all products from the supplier service as newline-delimited JSON into the given
+     * output stream. Bytes are copied through as they arrive, so the product list is never
+     * buffered in memory.
+     *
+     * @param outputStream the stream the newline-delimited JSON is written to
+     */
+    public void streamAllProducts(OutputStream outputStream) {
+        restTemplate.execute(supplierServiceBaseUrl + "/products/stream",
                 HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                response -> StreamUtils.copy(response.getBody(), outputStream));
+    }
+
+    /**
+     * Retrieves products from the supplier service with keyset (cursor) pagination.
+     * The cursor is opaque and passed through to the supplier service unchanged.
+     * Identical requests in flight at the same time share one request to the supplier service.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of products to return (must be greater than or equal to 1)
+     * @param sort  the order of the listing, {@code id} or {@code price}
+     * @return the page of products together with the cursor of the next page
+     * @throws ProductServiceException if an error occurs while retrieving products
+     */
+    public ProductCursorPageDto getProductsAfter(String after, @Min(1) int limit, String sort) {
+        UriComponentsBuilder builder = UriComponentsBuilder
+                .fromUriString(supplierServiceBaseUrl + "/products/cursor")
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParam("limit", limit)
+                .queryParam("sort", sort);
+
+        String uri = builder.toUriString();
+        ResponseEntity<ProductCursorPageDto> responseEntity = requestCoalescer.execute(uri, () -> restTemplate
+                .getForEntity(uri, ProductCursorPageDto.class));
 
         if (responseEntity.getStatusCode().is2xxSuccessful()) {
             return responseEntity.getBody();
         } else {
-            throw new ProductServiceException("Failed to retrieve products from the supplier service");
+            throw new ProductServiceException("Failed to retrieve products by cursor from the supplier service");
         }
     }
 
     /**
-     * Retrieves a product by its ID from the supplier service.
+     * Retrieves a product by its ID, from the local cache or else from the supplier service.
+     * Misses in flight at the same time share one request, so a product missing from the cache is requested
+     * once however many requests ask for it.
      *
      * @param id the ID of the product to retrieve
      * @return the ProductDto object representing the product
      */
     public ProductDto getProductById(Long id) {
-        return restTemplate
-                .getForObject(supplierServiceBaseUrl
-                              + "/products/" + id, ProductDto.class);
+        String uri = supplierServiceBaseUrl + "/products/" + id;
+        return productCache.get(id, uri, () -> restTemplate.getForObject(uri, ProductDto.class));
     }
 
     /**
-     * Updates an existing product in the supplier service.
+     * Updates an existing product in the supplier service, and drops it from the local cache.
      *
      * @param id      the ID of the product to update
      * @param product the ProductDto object representing the updated product
-     * @return the updated ProductDto object
+     * @return the updated ProductDto object, with its new version
+     * @throws org.springframework.web.client.HttpClientErrorException.Conflict if the product was changed
+     *         since the given version
      */
     public ProductDto updateProduct(Long id, ProductDto product) {
-        restTemplate
-                .put(supplierServiceBaseUrl
-                     + "/products/" + id, product);
-        return product;
+        try {
+            return restTemplate
+                    .exchange(supplierServiceBaseUrl + "/products/" + id,
+                            HttpMethod.PUT,
+                            new HttpEntity<>(product),
+                            ProductDto.class)
+                    .getBody();
+        } finally {
+            productCache.invalidate(id);
+        }
     }
 
     /**
-     * Deletes a product by its ID from the supplier service.
+     * Deletes a product by its ID from the supplier service, and drops it from the local cache.
      *
      * @param id the ID of the product to delete
      */
     public void deleteProduct(Long id) {
-        restTemplate
-                .delete(supplierServiceBaseUrl
-                        + "/products/" + id);
+        try {
+            restTemplate
+                    .delete(supplierServiceBaseUrl
+                            + "/products/" + id);
+        } finally {
+            productCache.invalidate(id);
+        }
+    }
+
+    /**
+     * Updates all products matching a filter in the supplier service, and drops all products from the local cache.
+     *
+     * @param bulkUpdate the ProductBulkUpdateDto object holding the filter and the changes to apply
+     * @return the number of updated products
+     * @throws ProductServiceException if an error occurs while updating the products
+     */
+    public BulkResultDto updateProducts(ProductBulkUpdateDto bulkUpdate) {
+        ResponseEntity<BulkResultDto> responseEntity;
+        try {
+            responseEntity = restTemplate
+                    .postForEntity(supplierServiceBaseUrl + "/products/bulk/update",
+                            bulkUpdate, BulkResultDto.class);
+        } finally {
+            productCache.invalidateAll();
+        }
+
+        if (responseEntity.getStatusCode().is2xxSuccessful()) {
+            return responseEntity.getBody();
+        } else {
+            throw new ProductServiceException("Failed to update products in the supplier service");
+        }
+    }
+
+    /**
+     * Deletes all products matching a filter from the supplier service, and drops all products from the local cache.
+     *
+     * @param filter the ProductFilterDto object selecting the products to delete
+     * @return the number of deleted products
+     * @throws ProductServiceException if an error occurs while deleting the products
+     */
+    public BulkResultDto deleteProducts(ProductFilterDto filter) {
+        ResponseEntity<BulkResultDto> responseEntity;
+        try {
+            responseEntity = restTemplate
+                    .postForEntity(supplierServiceBaseUrl + "/products/bulk/delete",
+                            filter, BulkResultDto.class);
+        } finally {
+            productCache.invalidateAll();
+        }
+
+        if (responseEntity.getStatusCode().is2xxSuccessful()) {
+            return responseEntity.getBody();
+        } else {
+            throw new ProductServiceException("Failed to delete products in the supplier service");
+        }
     }
 
     /**
@@ -144,29 +280,9 @@ public class ProductService {
                                                              double max,
                                                              @Min(0) int page,
                                                              @Min(1) int size) {
-        try {
-            UriComponentsBuilder builder = UriComponentsBuilder
-                    .fromUriString(supplierServiceBaseUrl + "/products/price/range/")
-                    .queryParam("min", min)
-                    .queryParam("max", max)
-                    .queryParam("page", page)
-                    .queryParam("size", size);
-
-            ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(
-                    builder.toUriString(),
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<ProductDto>>() {});
-
-            if (responseEntity.getStatusCode().is2xxSuccessful()) {
-                return responseEntity.getBody();
-            } else {
-                throw new ProductServiceException("Failed to get products by price range from the supplier service");
-            }
-        } catch (RestClientException ex) {
-            log.error(ex.getMessage());
-            throw new ProductServiceException("Failed to communicate with the supplier service");
-        }
+        URI uri = productsUri("/products/price/range/", Map.of("min", min, "max", max, "page", page, "size", size));
+
+        return getProducts(uri, "Failed to get products by price range from the supplier service");
     }
 
     /**
@@ -181,22 +297,9 @@ public class ProductService {
     public List<ProductDto> filterProductsByPriceGreater(double min,
                                                             @Min(0) int page,
                                                             @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products/price/greater/")
-                .queryParam("min", min)
-                .queryParam("page", page)
-                .queryParam("size", size);
-
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
+        URI uri = productsUri("/products/price/greater/", Map.of("min", min, "page", page, "size", size));
 
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            return responseEntity.getBody();
-        } else {
-            throw new ProductServiceException("Failed to retrieve products by price greater the supplier service");
-        }
+        return getProducts(uri, "Failed to retrieve products by price greater the supplier service");
     }
 
     /**
@@ -211,22 +314,9 @@ public class ProductService {
     public List<ProductDto> filterProductsByPriceLess(double max,
                                                          @Min(0) int page,
                                                          @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products/price/less/")
-                .queryParam("max", max)
-                .queryParam("page", page)
-                .queryParam("size", size);
+        URI uri = productsUri("/products/price/less/", Map.of("max", max, "page", page, "size", size));
 
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
-
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            return responseEntity.getBody();
-        } else {
-            throw new ProductServiceException("Failed to retrieve products by price less the supplier service");
-        }
+        return getProducts(uri, "Failed to retrieve products by price less the supplier service");
     }
 
     /**
@@ -241,21 +331,9 @@ public class ProductService {
     public List<ProductDto> getProductsByCategory(Long categoryId,
                                                @Min(0) int page,
                                                @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products/search/category/" + categoryId)
-                .queryParam("page", page)
-                .queryParam("size", size);
-
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
+        URI uri = productsUri("/products/search/category/" + categoryId, Map.of("page", page, "size", size));
 
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            return responseEntity.getBody();
-        } else {
-            throw new ProductServiceException("Failed to retrieve products by category from the supplier service");
-        }
+        return getProducts(uri, "Failed to retrieve products by category from the supplier service");
     }
 
     /**
@@ -270,22 +348,9 @@ public class ProductService {
     public List<ProductDto> searchProductsByName(String keyword,
                                               @Min(0) int page,
                                               @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products/search/name/")
-                .queryParam("keyword", keyword)
-                .queryParam("page", page)
-                .queryParam("size", size);
-
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
+        URI uri = productsUri("/products/search/name/", Map.of("keyword", keyword, "page", page, "size", size));
 
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            return responseEntity.getBody();
-        } else {
-            throw new ProductServiceException("Failed to search products by name from the supplier service");
-        }
+        return getProducts(uri, "Failed to search products by name from the supplier service");
     }
 
     /**
@@ -300,22 +365,10 @@ public class ProductService {
     public List<ProductDto> searchProductsByNameNotContaining(String keyword,
                                                            @Min(0) int page,
                                                            @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products/search/name/not-containing/")
-                .queryParam("keyword", keyword)
-                .queryParam("page", page)
-                .queryParam("size", size);
-
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
+        URI uri = productsUri("/products/search/name/not-containing/",
+                Map.of("keyword", keyword, "page", page, "size", size));
 
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            return responseEntity.getBody();
-        } else {
-            throw new ProductServiceException("Failed to search products by name not containing from the supplier service");
-        }
+        return getProducts(uri, "Failed to search products by name not containing from the supplier service");
     }
 
     /**
@@ -330,21 +383,97 @@ public class ProductService {
     public List<ProductDto> searchProductsByDescription(String keyword,
                                                      @Min(0) int page,
                                                      @Min(1) int size) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(supplierServiceBaseUrl + "/products/search/description/")
-                .queryParam("keyword", keyword)
-                .queryParam("page", page)
-                .queryParam("size", size);
+        URI uri = productsUri("/products/search/description/", Map.of("keyword", keyword, "page", page, "size", size));
 
-        ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<ProductDto>>() {});
+        return getProducts(uri, "Failed to search products by description from the supplier service");
+    }
 
-        if (responseEntity.getStatusCode().is2xxSuccessful()) {
-            return responseEntity.getBody();
-        } else {
-            throw new ProductServiceException("Failed to search products by description from the supplier service");
-        }
+    /**
+     * Retrieves products from the supplier service matching a combined filter with pagination.
+     *
+     * @param filter the ProductFilterDto object with the restrictions the products must match
+     * @param page the page number (must be greater than or equal to 0)
+     * @param size the page size (must be greater than or equal to 1)
+     * @return a list of ProductDto objects representing the filtered products
+     * @throws ProductServiceException if an error occurs while filtering products
+     */
+    public List<ProductDto> filterProducts(ProductFilterDto filter,
+                                           @Min(0) int page,
+                                           @Min(1) int size) {
+        return queryProducts(new ProductQueryDto(filter, null, page, size));
+    }
+
+    /**
+     * Retrieves one page of products matching a query from the supplier service in a single request.
+     * Identical queries in flight at the same time share one request.
+     *
+     * @param query the ProductQueryDto object with the filter, order and page of the products to return
+     * @return a list of ProductDto objects representing the matching products
+     * @throws ProductServiceException if an error occurs while querying products
+     */
+    public List<ProductDto> queryProducts(ProductQueryDto query) {
+        String uri = supplierServiceBaseUrl + "/products/query";
+        return requestCoalescer.execute(uri, query, () -> {
+            try {
+                ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(
+                        uri,
+                        HttpMethod.POST,
+                        new HttpEntity<>(query),
+                        new ParameterizedTypeReference<List<ProductDto>>() {});
+
+                if (responseEntity.getStatusCode().is2xxSuccessful()) {
+                    return responseEntity.getBody();
+                } else {
+                    throw new ProductServiceException("Failed to query products from the supplier service");
+                }
+            } catch (RestClientException ex) {
+                log.error(ex.getMessage());
+                throw new ProductServiceException("Failed to communicate with the supplier service");
+            }
+        });
+    }
+
+    /**
+     * Utility method to build the URI of a GET endpoint of the supplier service with the given query parameters.
+     * The values are expanded as URI variables, so they are encoded whatever characters they contain.
+     *
+     * @param path   the path of the endpoint
+     * @param params the query parameters by name
+     * @return the encoded URI
+     */
+    private URI productsUri(String path, Map<String, ?> params) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(supplierServiceBaseUrl + path);
+        params.keySet().forEach(name -> builder.queryParam(name, "{" + name + "}"));
+        return builder.encode().buildAndExpand(params).toUri();
+    }
+
+    /**
+     * Utility method to retrieve one page of products from a GET endpoint of the supplier service.
+     * Unlike queries, GET requests are revalidated with their entity tags. Identical requests in flight at the
+     * same time share one request.
+     *
+     * @param uri     the encoded URI of the request
+     * @param message the message of the exception thrown if the supplier service answers with an error
+     * @return a list of ProductDto objects representing the products
+     * @throws ProductServiceException if the supplier service cannot be reached or fails
+     */
+    private List<ProductDto> getProducts(URI uri, String message) {
+        return requestCoalescer.execute(uri.toString(), () -> {
+            try {
+                ResponseEntity<List<ProductDto>> responseEntity = restTemplate.exchange(uri,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<List<ProductDto>>() {});
+
+                if (responseEntity.getStatusCode().is2xxSuccessful()) {
+                    return responseEntity.getBody();
+                } else {
+                    throw new ProductServiceException(message);
+                }
+            } catch (RestClientException ex) {
+                log.error(ex.getMessage());
+                throw new ProductServiceException("Failed to communicate with the supplier service");
+            }
+        });
     }
 }
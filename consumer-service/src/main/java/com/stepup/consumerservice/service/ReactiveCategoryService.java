@@ -0,0 +1,132 @@
+package com.stepup.consumerservice.service;
+
+import com.stepup.consumerservice.cache.SupplierEntityCache;
+import com.stepup.consumerservice.config.SmileConfig;
+import com.stepup.consumerservice.dto.CategoryDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service class responsible for performing operations related to categories via RESTful HTTP requests, without
+ * blocking. It is the counterpart of {@link CategoryService} in the reactive mode
+ * ({@code spring.main.web-application-type=reactive}).
+ *
+ * @see org.springframework.stereotype.Service
+ * @see org.springframework.web.reactive.function.client.WebClient
+ * @see CategoryService
+ * @see CategoryDto
+ * @see SupplierEntityCache
+ * @see RequestCoalescer
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCategoryService {
+
+    private final WebClient webClient;
+    private final SupplierEntityCache<CategoryDto> categoryCache;
+    private final RequestCoalescer requestCoalescer;
+
+    /**
+     * Constructs a new ReactiveCategoryService with the specified WebClient, category cache and request coalescer.
+     *
+     * @param webClient        the WebClient of the supplier service
+     * @param categoryCache    the local cache of categories by ID
+     * @param requestCoalescer the coalescer of identical requests in flight
+     */
+    public ReactiveCategoryService(WebClient webClient, SupplierEntityCache<CategoryDto> categoryCache,
+                                   RequestCoalescer requestCoalescer) {
+        this.webClient = webClient;
+        this.categoryCache = categoryCache;
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Retrieves all categories from the supplier service with pagination.
+     * Identical requests in flight at the same time share one request to the supplier service.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @return a list of CategoryDto objects representing the categories
+     */
+    public Mono<List<CategoryDto>> getAllCategories(int page, int size) {
+        String uri = UriComponentsBuilder.fromPath("/categories")
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .toUriString();
+        return requestCoalescer.execute(uri, webClient.get()
+                .uri(builder -> builder.path("/categories")
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .build())
+                .retrieve()
+                .bodyToFlux(CategoryDto.class)
+                .collectList());
+    }
+
+    /**
+     * Retrieves a category by its ID, from the local cache or else from the supplier service.
+     * Misses in flight at the same time share one request.
+     *
+     * @param id the ID of the category to retrieve
+     * @return the CategoryDto object representing the category, or empty if the supplier returned none
+     */
+    public Mono<CategoryDto> getCategoryById(Long id) {
+        return categoryCache.get(id, "/categories/" + id, webClient.get()
+                .uri("/categories/{id}", id)
+                .retrieve()
+                .bodyToMono(CategoryDto.class));
+    }
+
+    /**
+     * Creates a new category in the supplier service.
+     *
+     * @param categoryDto the CategoryDto object representing the new category
+     * @return the created CategoryDto object
+     */
+    public Mono<CategoryDto> createCategory(CategoryDto categoryDto) {
+        return webClient.post()
+                .uri("/categories")
+                .contentType(SmileConfig.APPLICATION_SMILE)
+                .bodyValue(categoryDto)
+                .retrieve()
+                .bodyToMono(CategoryDto.class);
+    }
+
+    /**
+     * Updates an existing category in the supplier service, and drops it from the local cache.
+     *
+     * @param id          the ID of the category to update
+     * @param categoryDto the CategoryDto object representing the updated category
+     * @return the updated CategoryDto object, with its new version, or an error
+     *         {@link org.springframework.web.reactive.function.client.WebClientResponseException.Conflict} if the
+     *         category was changed since the given version
+     */
+    public Mono<CategoryDto> updateCategory(Long id, CategoryDto categoryDto) {
+        return webClient.put()
+                .uri("/categories/{id}", id)
+                .contentType(SmileConfig.APPLICATION_SMILE)
+                .bodyValue(categoryDto)
+                .retrieve()
+                .bodyToMono(CategoryDto.class)
+                .doFinally(signal -> categoryCache.invalidate(id));
+    }
+
+    /**
+     * Deletes a category by its ID from the supplier service, and drops it from the local cache.
+     *
+     * @param id the ID of the category to delete
+     * @return completes once the category is deleted
+     */
+    public Mono<Void> deleteCategory(Long id) {
+        return webClient.delete()
+                .uri("/categories/{id}", id)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .doFinally(signal -> categoryCache.invalidate(id));
+    }
+}
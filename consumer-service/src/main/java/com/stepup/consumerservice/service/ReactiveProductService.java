@@ -0,0 +1,413 @@
+package com.stepup.consumerservice.service;
+
+import com.stepup.consumerservice.cache.SupplierEntityCache;
+import com.stepup.consumerservice.config.SmileConfig;
+import com.stepup.consumerservice.dto.BulkResultDto;
+import com.stepup.consumerservice.dto.ProductBulkUpdateDto;
+import com.stepup.consumerservice.dto.ProductCursorPageDto;
+import com.stepup.consumerservice.dto.ProductDto;
+import com.stepup.consumerservice.dto.ProductFilterDto;
+import com.stepup.consumerservice.dto.ProductQueryDto;
+import com.stepup.consumerservice.exception.ProductServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Service class responsible for performing operations related to products via RESTful HTTP requests, without
+ * blocking: every method returns at once a {@link reactor.core.publisher.Mono} or {@link reactor.core.publisher.Flux}
+ * completing when the supplier service answers. It is the counterpart of {@link ProductService} in the reactive
+ * mode ({@code spring.main.web-application-type=reactive}).
+ *
+ * @see org.springframework.stereotype.Service
+ * @see org.springframework.web.reactive.function.client.WebClient
+ * @see ProductService
+ * @see ProductServiceException
+ * @see ProductDto
+ * @see SupplierEntityCache
+ * @see RequestCoalescer
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductService {
+
+    /**
+     * The factory building the URIs of GET requests without the base URL of the WebClient, to key them in the
+     * coalescer.
+     */
+    private static final UriBuilderFactory URI_KEYS = new DefaultUriBuilderFactory();
+
+    private final WebClient webClient;
+    private final SupplierEntityCache<ProductDto> productCache;
+    private final RequestCoalescer requestCoalescer;
+
+    /**
+     * Constructs a new ReactiveProductService with the specified WebClient, product cache and request coalescer.
+     *
+     * @param webClient        the WebClient of the supplier service
+     * @param productCache     the local cache of products by ID
+     * @param requestCoalescer the coalescer of identical requests in flight
+     */
+    public ReactiveProductService(WebClient webClient, SupplierEntityCache<ProductDto> productCache,
+                                  RequestCoalescer requestCoalescer) {
+        this.webClient = webClient;
+        this.productCache = productCache;
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Creates a new product in the supplier service.
+     *
+     * @param product the ProductDto object representing the new product
+     * @return the created ProductDto object
+     */
+    public Mono<ProductDto> createProduct(ProductDto product) {
+        return post("/products", product)
+                .bodyToMono(ProductDto.class);
+    }
+
+    /**
+     * Creates many products at once in the supplier service with a single request.
+     *
+     * @param products the ProductDto objects representing the new products
+     * @return the created ProductDto objects
+     */
+    public Flux<ProductDto> createProducts(List<ProductDto> products) {
+        return post("/products/batch", products)
+                .bodyToFlux(ProductDto.class);
+    }
+
+    /**
+     * Retrieves all products from the supplier service with pagination.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @return a list of ProductDto objects representing the products
+     */
+    public Mono<List<ProductDto>> getAllProducts(int page, int size) {
+        return getProducts(productsUri("/products", Map.of("page", page, "size", size)),
+                "Failed to retrieve products from the supplier service");
+    }
+
+    /**
+     * Streams all products from the supplier service as newline-delimited JSON. Buffers are passed through as
+     * they arrive, so the product list is never held in memory.
+     *
+     * @return the newline-delimited JSON
+     */
+    public Flux<DataBuffer> streamAllProducts() {
+        return webClient.get()
+                .uri("/products/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+    }
+
+    /**
+     * Retrieves products from the supplier service with keyset (cursor) pagination.
+     * The cursor is opaque and passed through to the supplier service unchanged.
+     * Identical requests in flight at the same time share one request to the supplier service.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of products to return
+     * @param sort  the order of the listing, {@code id} or {@code price}
+     * @return the page of products together with the cursor of the next page
+     */
+    public Mono<ProductCursorPageDto> getProductsAfter(String after, int limit, String sort) {
+        String uri = UriComponentsBuilder.fromPath("/products/cursor")
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParam("limit", limit)
+                .queryParam("sort", sort)
+                .toUriString();
+        return requestCoalescer.execute(uri, webClient.get()
+                        .uri(builder -> {
+                            builder.path("/products/cursor");
+                            if (after != null) {
+                                builder.queryParam("after", after);
+                            }
+                            return builder.queryParam("limit", limit)
+                                    .queryParam("sort", sort)
+                                    .build();
+                        })
+                        .retrieve()
+                        .bodyToMono(ProductCursorPageDto.class))
+                .onErrorMap(WebClientException.class, ex -> failure(ex,
+                        "Failed to retrieve products by cursor from the supplier service"));
+    }
+
+    /**
+     * Retrieves a product by its ID, from the local cache or else from the supplier service.
+     * Misses in flight at the same time share one request.
+     *
+     * @param id the ID of the product to retrieve
+     * @return the ProductDto object representing the product, or empty if the supplier returned none
+     */
+    public Mono<ProductDto> getProductById(Long id) {
+        return productCache.get(id, "/products/" + id, webClient.get()
+                .uri("/products/{id}", id)
+                .retrieve()
+                .bodyToMono(ProductDto.class));
+    }
+
+    /**
+     * Updates an existing product in the supplier service, and drops it from the local cache.
+     *
+     * @param id      the ID of the product to update
+     * @param product the ProductDto object representing the updated product
+     * @return the updated ProductDto object, with its new version, or an error
+     *         {@link org.springframework.web.reactive.function.client.WebClientResponseException.Conflict} if the
+     *         product was changed since the given version
+     */
+    public Mono<ProductDto> updateProduct(Long id, ProductDto product) {
+        return webClient.put()
+                .uri("/products/{id}", id)
+                .contentType(SmileConfig.APPLICATION_SMILE)
+                .bodyValue(product)
+                .retrieve()
+                .bodyToMono(ProductDto.class)
+                .doFinally(signal -> productCache.invalidate(id));
+    }
+
+    /**
+     * Deletes a product by its ID from the supplier service, and drops it from the local cache.
+     *
+     * @param id the ID of the product to delete
+     * @return completes once the product is deleted
+     */
+    public Mono<Void> deleteProduct(Long id) {
+        return webClient.delete()
+                .uri("/products/{id}", id)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .doFinally(signal -> productCache.invalidate(id));
+    }
+
+    /**
+     * Updates all products matching a filter in the supplier service, and drops all products from the local cache.
+     *
+     * @param bulkUpdate the ProductBulkUpdateDto object holding the filter and the changes to apply
+     * @return the number of updated products
+     */
+    public Mono<BulkResultDto> updateProducts(ProductBulkUpdateDto bulkUpdate) {
+        return post("/products/bulk/update", bulkUpdate)
+                .bodyToMono(BulkResultDto.class)
+                .doFinally(signal -> productCache.invalidateAll())
+                .onErrorMap(WebClientException.class, ex -> failure(ex,
+                        "Failed to update products in the supplier service"));
+    }
+
+    /**
+     * Deletes all products matching a filter from the supplier service, and drops all products from the local cache.
+     *
+     * @param filter the ProductFilterDto object selecting the products to delete
+     * @return the number of deleted products
+     */
+    public Mono<BulkResultDto> deleteProducts(ProductFilterDto filter) {
+        return post("/products/bulk/delete", filter)
+                .bodyToMono(BulkResultDto.class)
+                .doFinally(signal -> productCache.invalidateAll())
+                .onErrorMap(WebClientException.class, ex -> failure(ex,
+                        "Failed to delete products in the supplier service"));
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered by a price range with pagination.
+     *
+     * @param min  the minimum price
+     * @param max  the maximum price
+     * @param page the page number
+     * @param size the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> getProductsAndFilterByPriceRange(double min, double max, int page, int size) {
+        return getProducts(productsUri("/products/price/range/",
+                        Map.of("min", min, "max", max, "page", page, "size", size)),
+                "Failed to get products by price range from the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered by a price greater than input with pagination.
+     *
+     * @param min  the minimum price
+     * @param page the page number
+     * @param size the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> filterProductsByPriceGreater(double min, int page, int size) {
+        return getProducts(productsUri("/products/price/greater/", Map.of("min", min, "page", page, "size", size)),
+                "Failed to retrieve products by price greater the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered by a price less than input with pagination.
+     *
+     * @param max  the maximum price
+     * @param page the page number
+     * @param size the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> filterProductsByPriceLess(double max, int page, int size) {
+        return getProducts(productsUri("/products/price/less/", Map.of("max", max, "page", page, "size", size)),
+                "Failed to retrieve products by price less the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered by a category id with pagination.
+     *
+     * @param categoryId the category id
+     * @param page       the page number
+     * @param size       the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> getProductsByCategory(Long categoryId, int page, int size) {
+        return getProducts(productsUri("/products/search/category/" + categoryId, Map.of("page", page, "size", size)),
+                "Failed to retrieve products by category from the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered by a name with pagination.
+     *
+     * @param keyword the search keyword
+     * @param page    the page number
+     * @param size    the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> searchProductsByName(String keyword, int page, int size) {
+        return getProducts(productsUri("/products/search/name/",
+                        Map.of("keyword", keyword, "page", page, "size", size)),
+                "Failed to search products by name from the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered with a name not containing keyword with pagination.
+     *
+     * @param keyword the search keyword
+     * @param page    the page number
+     * @param size    the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> searchProductsByNameNotContaining(String keyword, int page, int size) {
+        return getProducts(productsUri("/products/search/name/not-containing/",
+                        Map.of("keyword", keyword, "page", page, "size", size)),
+                "Failed to search products by name not containing from the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service filtered by description with pagination.
+     *
+     * @param keyword the search keyword
+     * @param page    the page number
+     * @param size    the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> searchProductsByDescription(String keyword, int page, int size) {
+        return getProducts(productsUri("/products/search/description/",
+                        Map.of("keyword", keyword, "page", page, "size", size)),
+                "Failed to search products by description from the supplier service");
+    }
+
+    /**
+     * Retrieves products from the supplier service matching a combined filter with pagination.
+     *
+     * @param filter the ProductFilterDto object with the restrictions the products must match
+     * @param page   the page number
+     * @param size   the page size
+     * @return a list of ProductDto objects representing the filtered products
+     */
+    public Mono<List<ProductDto>> filterProducts(ProductFilterDto filter, int page, int size) {
+        return queryProducts(new ProductQueryDto(filter, null, page, size));
+    }
+
+    /**
+     * Retrieves one page of products matching a query from the supplier service in a single request.
+     * Identical queries in flight at the same time share one request.
+     *
+     * @param query the ProductQueryDto object with the filter, order and page of the products to return
+     * @return a list of ProductDto objects representing the matching products, or an error
+     *         {@link ProductServiceException} if the supplier service cannot be reached or fails
+     */
+    public Mono<List<ProductDto>> queryProducts(ProductQueryDto query) {
+        return requestCoalescer.execute("/products/query", query, post("/products/query", query)
+                .bodyToFlux(ProductDto.class)
+                .collectList()
+                .onErrorMap(WebClientException.class, ex -> failure(ex,
+                        "Failed to communicate with the supplier service")));
+    }
+
+    /**
+     * Utility method to build the URI of a GET endpoint of the supplier service with the given query parameters.
+     * The values are expanded as URI variables, so they are encoded whatever characters they contain.
+     *
+     * @param path   the path of the endpoint
+     * @param params the query parameters by name
+     * @return the function building the URI
+     */
+    private static Function<UriBuilder, URI> productsUri(String path, Map<String, ?> params) {
+        return builder -> {
+            builder.path(path);
+            params.keySet().forEach(name -> builder.queryParam(name, "{" + name + "}"));
+            return builder.build(params);
+        };
+    }
+
+    /**
+     * Utility method to retrieve one page of products from a GET endpoint of the supplier service.
+     * Identical requests in flight at the same time share one request.
+     *
+     * @param uri     the function building the URI of the request
+     * @param message the message of the exception if the supplier service cannot be reached or fails
+     * @return a list of ProductDto objects representing the products, or an error {@link ProductServiceException}
+     */
+    private Mono<List<ProductDto>> getProducts(Function<UriBuilder, URI> uri, String message) {
+        return requestCoalescer.execute(uri.apply(URI_KEYS.builder()).toString(), webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToFlux(ProductDto.class)
+                .collectList()
+                .onErrorMap(WebClientException.class, ex -> failure(ex, message)));
+    }
+
+    /**
+     * Utility method to post a body in Smile to the supplier service.
+     *
+     * @param path the path of the request
+     * @param body the body of the request
+     * @return the response, to be read
+     */
+    private WebClient.ResponseSpec post(String path, Object body) {
+        return webClient.post()
+                .uri(path)
+                .contentType(SmileConfig.APPLICATION_SMILE)
+                .bodyValue(body)
+                .retrieve();
+    }
+
+    /**
+     * Utility method to log a failed request and wrap it in a {@link ProductServiceException}.
+     *
+     * @param ex      the failure
+     * @param message the message of the exception
+     * @return the exception
+     */
+    private static ProductServiceException failure(WebClientException ex, String message) {
+        log.error(ex.getMessage());
+        return new ProductServiceException(message);
+    }
+}
@@ -0,0 +1,269 @@
+package com.stepup.consumerservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stepup.consumerservice.config.LastWriteInterceptor;
+import com.stepup.consumerservice.config.ReactiveLastWriteFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Component class coalescing identical requests to the supplier service that are in flight at the same time
+ * (single flight): the first request is sent, and the identical requests arriving before it completes wait
+ * for it and receive its result, or its exception, instead of being sent again. This flattens the bursts of
+ * identical requests reaching the supplier when a popular entry expires or is invalidated, or when a search is
+ * popular. Requests served from the local caches never get here, so the counts below are those of the requests
+ * that would otherwise reach the supplier.
+ * <p>
+ * GET requests are keyed on their method and normalized URI: dot segments are removed, the scheme and host are
+ * lowercased and the query parameters are sorted, so {@code ?size=10&page=0} and {@code ?page=0&size=10} share a
+ * request. Queries sent with a body, such as {@code POST /products/query}, are also keyed on a SHA-256 hash of
+ * the body serialized to JSON. Requests of an end user carrying a last-write token are only coalesced with requests
+ * carrying the same token, since the supplier may answer them from fresher data. All identical requests are expected
+ * to return the same type. Waiting requests share the result instance, which therefore must not be modified.
+ * <p>
+ * The requests are counted by whether they led a request or joined one
+ * ({@code supplier.coalescing.requests}, tagged {@code result=led} or {@code result=joined}), together with
+ * the collapse ratio, the share of requests that joined one ({@code supplier.coalescing.collapse.ratio}), and the
+ * number of requests in flight ({@code supplier.coalescing.in.flight}).
+ *
+ * @see ProductService
+ * @see CategoryService
+ * @see com.stepup.consumerservice.cache.SupplierEntityCache
+ * @see io.micrometer.core.instrument.binder.MeterBinder
+ */
+@Component
+public class RequestCoalescer implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder led = new LongAdder();
+
+    private final LongAdder joined = new LongAdder();
+
+    /**
+     * Constructs a new RequestCoalescer with the specified ObjectMapper.
+     *
+     * @param objectMapper the mapper serializing the bodies of queries into their keys
+     */
+    public RequestCoalescer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Sends the GET request, or waits for the identical request in flight and returns its result.
+     *
+     * @param uri     the URI of the request
+     * @param request the request
+     * @param <T>     the type of the result
+     * @return the result of the request, which may be shared with other callers
+     */
+    public <T> T execute(String uri, Supplier<T> request) {
+        return join(key(uri, null, LastWriteInterceptor.currentLastWrite()), request);
+    }
+
+    /**
+     * Sends the query with a body, or waits for the identical query in flight and returns its result.
+     *
+     * @param uri     the URI of the query
+     * @param body    the body of the query
+     * @param request the query
+     * @param <T>     the type of the result
+     * @return the result of the query, which may be shared with other callers
+     */
+    public <T> T execute(String uri, Object body, Supplier<T> request) {
+        return join(key(uri, body, LastWriteInterceptor.currentLastWrite()), request);
+    }
+
+    /**
+     * Sends the GET request without blocking, or joins the identical request in flight and returns its result.
+     * The request runs to completion even if its callers cancel, so that no caller waiting for it is cancelled,
+     * in the context of the caller that sent it.
+     *
+     * @param uri     the URI of the request
+     * @param request the request
+     * @param <T>     the type of the result
+     * @return the result of the request, which may be shared with other callers
+     */
+    public <T> Mono<T> execute(String uri, Mono<T> request) {
+        return Mono.deferContextual(context ->
+                join(key(uri, null, ReactiveLastWriteFilter.currentLastWrite(context)), request, context));
+    }
+
+    /**
+     * Sends the query with a body without blocking, or joins the identical query in flight and returns its result.
+     * The query runs to completion even if its callers cancel, so that no caller waiting for it is cancelled,
+     * in the context of the caller that sent it.
+     *
+     * @param uri     the URI of the query
+     * @param body    the body of the query
+     * @param request the query
+     * @param <T>     the type of the result
+     * @return the result of the query, which may be shared with other callers
+     */
+    public <T> Mono<T> execute(String uri, Object body, Mono<T> request) {
+        return Mono.deferContextual(context ->
+                join(key(uri, body, ReactiveLastWriteFilter.currentLastWrite(context)), request, context));
+    }
+
+    /**
+     * Utility method to send a request, or wait for the request in flight with the same key.
+     *
+     * @param key     the key of the request
+     * @param request the request
+     * @param <T>     the type of the result
+     * @return the result of the request
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T join(String key, Supplier<T> request) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            joined.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        led.increment();
+        try {
+            T result = request.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Utility method to send a request without blocking, or join the request in flight with the same key.
+     *
+     * @param key     the key of the request
+     * @param request the request
+     * @param context the context of the caller, in which the request is sent
+     * @param <T>     the type of the result
+     * @return the result of the request
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> join(String key, Mono<T> request, ContextView context) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            joined.increment();
+            return Mono.fromFuture(existing, true).map(result -> (T) result);
+        }
+
+        led.increment();
+        flight.whenComplete((result, e) -> inFlight.remove(key, flight));
+        request.contextWrite(context)
+                .subscribe(flight::complete, flight::completeExceptionally, () -> flight.complete(null));
+        return Mono.fromFuture(flight, true).map(result -> (T) result);
+    }
+
+    /**
+     * Binds the counts of the requests to the registry.
+     *
+     * @param registry the registry of the metrics
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("supplier.coalescing.requests", led, LongAdder::sum)
+                .description("Requests to the supplier service that were sent")
+                .tag("result", "led")
+                .register(registry);
+        FunctionCounter.builder("supplier.coalescing.requests", joined, LongAdder::sum)
+                .description("Requests to the supplier service that joined an identical request in flight")
+                .tag("result", "joined")
+                .register(registry);
+        Gauge.builder("supplier.coalescing.collapse.ratio", this, RequestCoalescer::collapseRatio)
+                .description("Share of the requests to the supplier service that joined an identical request")
+                .register(registry);
+        Gauge.builder("supplier.coalescing.in.flight", inFlight, Map::size)
+                .description("Distinct requests to the supplier service in flight")
+                .register(registry);
+    }
+
+    /**
+     * Utility method to compute the share of the requests that joined an identical request.
+     *
+     * @return the collapse ratio, between 0 and 1
+     */
+    private double collapseRatio() {
+        long joinedRequests = joined.sum();
+        long requests = joinedRequests + led.sum();
+        return requests > 0 ? (double) joinedRequests / requests : 0;
+    }
+
+    /**
+     * Utility method to compute the key of a request from its URI, body and last-write token.
+     *
+     * @param uri       the URI of the request
+     * @param body      the body of a query, or {@code null} for a GET request
+     * @param lastWrite the last-write token of the end user, or {@code null} if none
+     * @return the key of the request
+     */
+    private String key(String uri, Object body, String lastWrite) {
+        String suffix = lastWrite != null ? " " + LastWriteInterceptor.LAST_WRITE_HEADER + ": " + lastWrite : "";
+        if (body == null) {
+            return "GET " + normalize(uri) + suffix;
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(body));
+            return "POST " + normalize(uri) + " " + HexFormat.of().formatHex(hash) + suffix;
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Cannot compute the key of the query: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Utility method to normalize a URI into the key of its requests.
+     *
+     * @param uri the URI
+     * @return the normalized URI
+     */
+    private static String normalize(String uri) {
+        UriComponents components = UriComponentsBuilder.fromUriString(uri).build().normalize();
+        UriComponentsBuilder builder = UriComponentsBuilder.newInstance().uriComponents(components)
+                .replaceQueryParams(new LinkedMultiValueMap<>(new TreeMap<>(components.getQueryParams())));
+        if (components.getScheme() != null) {
+            builder.scheme(components.getScheme().toLowerCase(Locale.ROOT));
+        }
+        if (components.getHost() != null) {
+            builder.host(components.getHost().toLowerCase(Locale.ROOT));
+        }
+        return builder.build().toUriString();
+    }
+}
@@ -0,0 +1,219 @@
+package com.stepup.consumerservice;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load benchmark of the consumer service in front of a slow supplier service, comparing the servlet, virtual thread
+ * and reactive modes on the same hardware.
+ * <p>
+ * A stub supplier answers {@code GET /products/{id}} after a fixed delay, without holding a thread. The consumer
+ * service is started against it in the given mode, with connection pools large enough not to be the limit, and
+ * {@code GET /products/{id}} is sent to it by a given number of concurrent clients for a while. For each
+ * concurrency the throughput, the latency percentiles, the errors, the peak number of live threads and the number of
+ * times a virtual thread pinned its carrier thread for more than 20ms are printed, followed by the frames that pinned.
+ * In the servlet mode every request in flight holds a Tomcat thread, so throughput stops growing at about
+ * {@code server.tomcat.threads.max} (200) divided by the supplier delay; in the virtual mode
+ * ({@code spring.threads.virtual.enabled=true}, which needs Java 21) every request runs on its own virtual thread,
+ * and in the reactive mode no thread waits, so throughput keeps growing with the concurrency.
+ * <p>
+ * Run after {@code mvn -Pdev test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:<dependencies> com.stepup.consumerservice.SlowSupplierLoadBenchmark reactive 200,1000,4000 100ms 10s}.
+ * Every client holds about four file descriptors (its connection to the consumer at both ends and the connection of
+ * the consumer to the supplier at both ends), so 10000 clients need a {@code ulimit -n} above 40000.
+ */
+public final class SlowSupplierLoadBenchmark {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+
+    private static final String PRODUCT = """
+            {"id":1,"name":"Product","description":"Product of the slow supplier","price":9.99,"categoryId":1,"version":0}""";
+
+    private SlowSupplierLoadBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the mode ({@code servlet}, {@code virtual} or {@code reactive}, default {@code reactive}), the
+     *             concurrencies (default {@code 200,1000,4000}), the delay of the supplier (default {@code 100ms}) and the duration
+     *             of each run (default {@code 10s})
+     */
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "reactive";
+        String[] concurrencies = (args.length > 1 ? args[1] : "200,1000,4000").split(",");
+        Duration delay = DurationStyle.detectAndParse(args.length > 2 ? args[2] : "100ms");
+        Duration duration = DurationStyle.detectAndParse(args.length > 3 ? args[3] : "10s");
+        boolean virtual = mode.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual mode needs Java 21, not " + Runtime.version());
+        }
+
+        Map<String, LongAdder> pinnedFrames = new ConcurrentHashMap<>();
+        LongAdder pinned = new LongAdder();
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED).withThreshold(Duration.ofMillis(20)).withStackTrace();
+        recording.onEvent(PINNED, event -> {
+            pinned.increment();
+            pinnedFrames.computeIfAbsent(pinningFrame(event.getStackTrace().getFrames()), frame -> new LongAdder())
+                    .increment();
+        });
+        recording.startAsync();
+
+        DisposableServer supplier = startSupplier(delay);
+        ConfigurableApplicationContext consumer = new SpringApplicationBuilder(ConsumerServiceApplication.class)
+                .run("--spring.main.web-application-type=" + (virtual ? "servlet" : mode),
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.port=0",
+                        "--server.tomcat.max-connections=20000",
+                        "--supplier.service.base.url=http://localhost:" + supplier.port() + "/",
+                        "--supplier.http-client.max-connections=20000",
+                        "--supplier.http-client.max-connections-per-route=20000",
+                        "--supplier.http-client.pool-acquire-timeout=60s",
+                        "--supplier.http-client.read-timeout=60s",
+                        "--supplier.change-stream.max-reconnect-delay=1h",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN");
+        String url = "http://localhost:" + consumer.getEnvironment().getProperty("local.server.port") + "/products/1";
+
+        List<String> results = new ArrayList<>();
+        try {
+            for (String concurrency : concurrencies) {
+                int clients = Integer.parseInt(concurrency.strip());
+                run(url, clients, Duration.ofSeconds(3));
+                long pinnedBefore = pinned.sum();
+                Result result = run(url, clients, duration);
+                results.add(result.format(mode, clients, delay, pinned.sum() - pinnedBefore));
+            }
+        } finally {
+            consumer.close();
+            supplier.disposeNow();
+            recording.close();
+        }
+        System.out.printf("%n%-8s %8s %8s %10s %9s %9s %9s %8s %8s %8s%n",
+                "mode", "delay", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "threads", "pinned");
+        results.forEach(System.out::println);
+        pinnedFrames.forEach((frame, count) -> System.out.printf("pinned %d times at %s%n", count.sum(), frame));
+    }
+
+    /**
+     * Utility method to find the frame of the application or library that pinned a virtual thread, skipping the
+     * frames of the JDK.
+     *
+     * @param frames the stack trace of the pinned virtual thread, innermost frame first
+     * @return the innermost frame outside the JDK, or the innermost frame if there is none
+     */
+    private static String pinningFrame(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> !frame.getMethod().getType().getName().matches("(java|javax|jdk|sun)\\..*"))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .orElse("unknown");
+    }
+
+    /**
+     * Utility method to start the stub supplier, answering every product request after the delay.
+     *
+     * @param delay the delay of every answer
+     * @return the server
+     */
+    private static DisposableServer startSupplier(Duration delay) {
+        return HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/products/{id}", (request, response) -> response
+                        .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .sendString(Mono.just(PRODUCT).delayElement(delay))))
+                .bindNow();
+    }
+
+    /**
+     * Utility method to send requests from concurrent clients for a while.
+     *
+     * @param url      the URL of the requests
+     * @param clients  the number of concurrent clients
+     * @param duration the duration of the run
+     * @return the result of the run
+     */
+    private static Result run(String url, int clients, Duration duration) {
+        ConnectionProvider connections = ConnectionProvider.builder("load")
+                .maxConnections(clients)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connections).responseTimeout(Duration.ofSeconds(60));
+        ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        AtomicLong errors = new AtomicLong();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        Flux.range(0, clients)
+                .flatMap(i -> Mono.defer(() -> {
+                            long sent = System.nanoTime();
+                            return client.get().uri(url)
+                                    .responseSingle((response, body) -> body.asString()
+                                            .defaultIfEmpty("")
+                                            .map(ignored -> response.status().code()))
+                                    .doOnNext(status -> {
+                                        if (status == 200) {
+                                            latencies.recordValue((System.nanoTime() - sent) / 1_000);
+                                        } else {
+                                            errors.incrementAndGet();
+                                        }
+                                    })
+                                    .onErrorResume(e -> {
+                                        errors.incrementAndGet();
+                                        return Mono.empty();
+                                    });
+                        })
+                        .repeat(() -> System.nanoTime() < end), clients)
+                .blockLast();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        connections.disposeLater().block();
+        return new Result(latencies.getTotalCount() / seconds, latencies.getValueAtPercentile(50) / 1e3,
+                latencies.getValueAtPercentile(99) / 1e3, latencies.getMaxValue() / 1e3, errors.get(),
+                threads.getPeakThreadCount());
+    }
+
+    /**
+     * The result of a run.
+     *
+     * @param throughput the successful requests per second
+     * @param p50        the median latency, in milliseconds
+     * @param p99        the 99th percentile of the latency, in milliseconds
+     * @param max        the maximum latency, in milliseconds
+     * @param errors     the failed requests
+     * @param threads    the peak number of live threads of the JVM
+     */
+    private record Result(double throughput, double p50, double p99, double max, long errors, int threads) {
+
+        String format(String mode, int clients, Duration delay, long pinned) {
+            return String.format("%-8s %6dms %8d %10.0f %9.1f %9.1f %9.1f %8d %8d %8d",
+                    mode, delay.toMillis(), clients, throughput, p50, p99, max, errors, threads, pinned);
+        }
+    }
+}
@@ -2,17 +2,21 @@ package com.stepup.supplierservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class for the Consumer Supplier Application.
  * This class is annotated with {@link org.springframework.boot.autoconfigure.SpringBootApplication}
  * to indicate that it is a Spring Boot application and to enable auto-configuration.
+ * Scheduling is enabled for periodic work such as pushing the change feed.
  *
  * @see org.springframework.boot.autoconfigure.SpringBootApplication
  * @see org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration
  * @see org.springframework.boot.SpringApplication
+ * @see org.springframework.scheduling.annotation.EnableScheduling
  */
 @SpringBootApplication
+@EnableScheduling
 public class SupplierServiceApplication {
 
     /**
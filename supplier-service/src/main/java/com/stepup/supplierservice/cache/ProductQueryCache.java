@@ -0,0 +1,138 @@
+package com.stepup.supplierservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.index.ProductChangedEvent;
+import com.stepup.supplierservice.index.ProductsBulkDeletedEvent;
+import com.stepup.supplierservice.index.ProductsBulkUpdatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of product query results, holding whole pages of products by {@link ProductQueryKey}.
+ * Memory is bounded by the total number of cached products; Caffeine evicts with W-TinyLFU, so the few
+ * frequent searches stay cached while one-off queries are evicted first.
+ * <p>
+ * Entries are invalidated selectively after a product change commits: only pages of queries the product
+ * may have matched before or after the change, judged by their ID, category and price restrictions, are
+ * dropped. Bulk updates and deletes, which bypass the JPA callbacks, drop all entries.
+ * Entries also expire after a fixed time, bounding the staleness of changes made outside this service.
+ *
+ * @see ProductQueryKey
+ * @see ProductChangedEvent
+ * @see com.stepup.supplierservice.service.ProductService
+ */
+@Component
+public class ProductQueryCache implements MeterBinder {
+
+    private final Cache<ProductQueryKey, List<ProductDto>> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Constructs a new ProductQueryCache with the specified bounds.
+     *
+     * @param maximumProducts  the maximum total number of products on all cached pages
+     * @param expireAfterWrite the time after which a cached page expires
+     */
+    public ProductQueryCache(@Value("${supplier.query-cache.maximum-products:100000}") long maximumProducts,
+                             @Value("${supplier.query-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumProducts)
+                .weigher((ProductQueryKey key, List<ProductDto> page) -> page.size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached page for the key, or runs the query and caches its result.
+     * A result is not kept if an invalidation ran while the query was running, since the query may have
+     * read the data before the invalidating change was committed. The result is shared by all clients, so
+     * the query does not read from a replica that may not have the latest changes of this instance yet.
+     *
+     * @param key   the key of the page
+     * @param query the query loading the page on a miss
+     * @return the page of products
+     */
+    public List<ProductDto> get(ProductQueryKey key, Supplier<List<ProductDto>> query) {
+        List<ProductDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        List<ProductDto> result = List.copyOf(ReplicaRoutingDataSource.fillSharedCache(query));
+        cache.put(key, result);
+        if (invalidations.get() != generation) {
+            cache.invalidate(key);
+        }
+        return result;
+    }
+
+    /**
+     * Drops the pages a committed product change may affect.
+     * Also runs for changes made outside a transaction.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidations.incrementAndGet();
+        long id = event.getId();
+        cache.asMap().keySet().removeIf(key ->
+                key.mayMatch(id, event.getCategoryId(), event.getPrice())
+                || (event.getPreviousPrice() != null
+                    && key.mayMatch(id, event.getPreviousCategoryId(), event.getPreviousPrice())));
+    }
+
+    /**
+     * Drops all pages after a bulk update.
+     *
+     * @param event the bulk update
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkUpdated(ProductsBulkUpdatedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Drops all pages after a bulk delete.
+     *
+     * @param event the bulk delete
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkDeleted(ProductsBulkDeletedEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Drops all pages.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Binds the hit, miss and eviction statistics of the cache.
+     *
+     * @param registry the registry to bind the metrics to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "productQueries");
+    }
+}
@@ -0,0 +1,162 @@
+package com.stepup.supplierservice.cache;
+
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Key of a page of products in the {@link ProductQueryCache}.
+ * Consists of the query type, the normalized restrictions of the query, its order and its page, so that
+ * equivalent requests, e.g. with keywords in a different case or IDs in a different order, share one entry.
+ * <p>
+ * The restrictions on IDs, categories and price also tell which product changes can affect the page,
+ * see {@link #mayMatch(long, Long, double)}.
+ *
+ * @see ProductQueryCache
+ * @see lombok.Getter
+ * @see lombok.EqualsAndHashCode
+ */
+@Getter
+@EqualsAndHashCode
+public final class ProductQueryKey {
+
+    /**
+     * The type of the query, e.g. the name of the service method answering it.
+     */
+    private final String type;
+
+    /**
+     * The sorted IDs of the products, or {@code null} if not restricted.
+     */
+    private final List<Long> ids;
+
+    /**
+     * The sorted IDs of the categories, or {@code null} if not restricted.
+     */
+    private final List<Long> categoryIds;
+
+    /**
+     * The minimum price, or {@code null} if not restricted.
+     */
+    private final Double minPrice;
+
+    /**
+     * Whether the minimum price is exclusive.
+     */
+    private final boolean minPriceExclusive;
+
+    /**
+     * The maximum price, or {@code null} if not restricted.
+     */
+    private final Double maxPrice;
+
+    /**
+     * Whether the maximum price is exclusive.
+     */
+    private final boolean maxPriceExclusive;
+
+    /**
+     * The lower-case keyword the names must contain, or {@code null} if not restricted.
+     */
+    private final String nameContains;
+
+    /**
+     * The lower-case keyword the names must not contain, or {@code null} if not restricted.
+     */
+    private final String nameNotContains;
+
+    /**
+     * The lower-case keyword the descriptions must contain, or {@code null} if not restricted.
+     */
+    private final String descriptionContains;
+
+    /**
+     * The order of the page.
+     */
+    private final String sort;
+
+    /**
+     * The page number.
+     */
+    private final int page;
+
+    /**
+     * The page size.
+     */
+    private final int size;
+
+    private ProductQueryKey(String type, ProductFilterDto filter, Pageable pageable) {
+        this.type = type;
+        this.ids = sorted(filter.getIds());
+        this.categoryIds = sorted(filter.getCategoryIds());
+        this.minPrice = filter.getMinPrice();
+        this.minPriceExclusive = filter.getMinPrice() != null && filter.isMinPriceExclusive();
+        this.maxPrice = filter.getMaxPrice();
+        this.maxPriceExclusive = filter.getMaxPrice() != null && filter.isMaxPriceExclusive();
+        this.nameContains = lowerCase(filter.getNameContains());
+        this.nameNotContains = lowerCase(filter.getNameNotContains());
+        this.descriptionContains = lowerCase(filter.getDescriptionContains());
+        this.sort = pageable.getSort().toString();
+        this.page = pageable.getPageNumber();
+        this.size = pageable.getPageSize();
+    }
+
+    /**
+     * Creates the key of a page of a query.
+     *
+     * @param type     the type of the query
+     * @param filter   the restrictions of the query
+     * @param pageable the order and page
+     * @return the key
+     */
+    public static ProductQueryKey of(String type, ProductFilterDto filter, Pageable pageable) {
+        return new ProductQueryKey(type, filter, pageable);
+    }
+
+    /**
+     * Checks whether a product with the given state may be part of the results of the query.
+     * Only the ID, category and price restrictions are checked; keywords are assumed to match.
+     * A change of a product can only affect the cached page if its state before or after the change may match.
+     *
+     * @param productId  the ID of the product
+     * @param categoryId the ID of the category of the product
+     * @param price      the price of the product
+     * @return {@code false} if the product cannot be part of the results
+     */
+    public boolean mayMatch(long productId, Long categoryId, double price) {
+        if (ids != null && !ids.contains(productId)) {
+            return false;
+        }
+        if (categoryIds != null && !categoryIds.contains(categoryId)) {
+            return false;
+        }
+        if (minPrice != null && (minPriceExclusive ? price <= minPrice : price < minPrice)) {
+            return false;
+        }
+        return maxPrice == null || (maxPriceExclusive ? price < maxPrice : price <= maxPrice);
+    }
+
+    /**
+     * Utility method to normalize a list of IDs.
+     *
+     * @param ids the IDs, or {@code null}
+     * @return the distinct IDs in ascending order, or {@code null} if there are none, since an empty list does not restrict
+     */
+    private static List<Long> sorted(List<Long> ids) {
+        return ids != null && !ids.isEmpty() ? ids.stream().distinct().sorted().toList() : null;
+    }
+
+    /**
+     * Utility method to normalize a keyword.
+     *
+     * @param keyword the keyword, or {@code null}
+     * @return the lower-case keyword, or {@code null}
+     */
+    private static String lowerCase(String keyword) {
+        return keyword != null ? keyword.toLowerCase(Locale.ROOT) : null;
+    }
+}
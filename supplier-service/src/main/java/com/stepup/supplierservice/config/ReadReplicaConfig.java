@@ -0,0 +1,117 @@
+package com.stepup.supplierservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class sending read-only transactions to read replicas, active when
+ * {@code supplier.datasource.replica-urls} lists the JDBC URLs of the replicas.
+ * <p>
+ * The primary is configured by the usual {@code spring.datasource.*} properties. Each replica gets its own
+ * connection pool with the same credentials and {@code spring.datasource.hikari.*} settings.
+ *
+ * @see ReplicaRoutingDataSource
+ * @see ReadYourWritesFilter
+ */
+@Configuration
+@ConditionalOnProperty("supplier.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    /**
+     * Creates the DataSource routing between the primary and the replicas.
+     *
+     * @param properties  the properties of the primary
+     * @param environment the environment holding the connection pool settings
+     * @param replicaUrls the JDBC URLs of the replicas
+     * @param maxLag      the maximum replication lag of a replica still used for reads
+     * @return the routing DataSource
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${supplier.datasource.replica-urls}") String[] replicaUrls,
+            @Value("${supplier.datasource.replica-max-lag:5s}") Duration maxLag) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> replicas = new ArrayList<>(replicaUrls.length);
+        for (int i = 0; i < replicaUrls.length; i++) {
+            replicas.add(pool(properties, binder, replicaUrls[i], "replica-" + i));
+        }
+        return new ReplicaRoutingDataSource(pool(properties, binder, properties.determineUrl(), "primary"),
+                replicas, maxLag);
+    }
+
+    /**
+     * Creates the DataSource used by JPA, which fetches a connection from the routing DataSource only when
+     * the first statement runs, by which time the transaction is known to be read-only or not.
+     *
+     * @param replicaRoutingDataSource the routing DataSource
+     * @return the DataSource used by JPA
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Creates the filter routing the reads of a client to the primary for a while after its writes.
+     *
+     * @param maxLag the maximum replication lag of a replica still used for reads
+     * @return the filter
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${supplier.datasource.replica-max-lag:5s}") Duration maxLag) {
+        return new ReadYourWritesFilter(maxLag);
+    }
+
+    /**
+     * Makes Hibernate release its connection after every transaction instead of holding it for the whole
+     * session, which with open session in view spans the request, so each transaction is routed on its own.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Utility method to create the connection pool of a database.
+     *
+     * @param properties the properties of the primary, whose driver and credentials are used
+     * @param binder     the binder of the connection pool settings
+     * @param url        the JDBC URL of the database
+     * @param poolName   the name of the connection pool
+     * @return the connection pool
+     */
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String url,
+                                         String poolName) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
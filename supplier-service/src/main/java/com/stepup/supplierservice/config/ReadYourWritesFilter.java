@@ -0,0 +1,104 @@
+package com.stepup.supplierservice.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filter binding the client of each request to {@link ReplicaRoutingDataSource}, so the client reads its own
+ * writes from the primary while the reads of other clients keep using the replicas.
+ * <p>
+ * The time of the last write of a client, in milliseconds since the epoch, is sent to it in the
+ * {@value #LAST_WRITE_HEADER} header and the {@value #LAST_WRITE_COOKIE} cookie of the response that committed
+ * the write. The client sends it back with its next requests in either of them, so a client reaching another
+ * instance is also routed to the primary, provided the clocks of the instances agree to well within the
+ * maximum replication lag. The cookie expires with the maximum lag.
+ *
+ * @see ReplicaRoutingDataSource
+ * @see ReadReplicaConfig
+ * @see org.springframework.web.filter.OncePerRequestFilter
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * The header carrying the time of the last write of the client.
+     */
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    /**
+     * The cookie carrying the time of the last write of the client.
+     */
+    public static final String LAST_WRITE_COOKIE = "last-write";
+
+    private final Duration maxLag;
+
+    /**
+     * Constructs a new ReadYourWritesFilter with the specified maximum lag.
+     *
+     * @param maxLag the maximum replication lag of a replica still used for reads
+     */
+    public ReadYourWritesFilter(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Binds the client of the request for the time of the request, reporting its writes in the response.
+     *
+     * @param request     the request
+     * @param response    the response
+     * @param filterChain the rest of the chain
+     * @throws ServletException if the request fails
+     * @throws IOException      if the request or response cannot be read or written
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ReplicaRoutingDataSource.bindClient(lastWrite(request), lastWrite -> {
+            // A streamed response may already be committed, the next write is then reported instead
+            if (!response.isCommitted()) {
+                response.setHeader(LAST_WRITE_HEADER, String.valueOf(lastWrite));
+                Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(lastWrite));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (maxLag.toMillis() + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unbindClient();
+        }
+    }
+
+    /**
+     * Utility method to read the time of the last write of the client from the header or the cookie.
+     *
+     * @param request the request
+     * @return the time in milliseconds since the epoch, or {@code 0} if the client sent none or an invalid one
+     */
+    private static long lastWrite(HttpServletRequest request) {
+        String value = request.getHeader(LAST_WRITE_HEADER);
+        if (value == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                    value = cookie.getValue();
+                }
+            }
+        }
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.stepup.supplierservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * DataSource routing read-only transactions to read replicas and everything else to the primary.
+ * <p>
+ * Replicas are used round-robin, but only while their replication lag, checked periodically, stays within
+ * the maximum lag. Reads fall back to the primary if no replica qualifies.
+ * <p>
+ * Reads also go to the primary for the maximum lag after a write of the same client, so that a client sees its
+ * own writes, while the reads of other clients keep using the replicas. The client of a request is bound by
+ * {@link ReadYourWritesFilter}, which carries the time of its last write between its requests; see
+ * {@link #bindClient(long, LongConsumer)}. Reads whose result is shared by all clients, such as filling the query
+ * result cache or the second-level cache, only use a replica that had replayed the last write of this instance when
+ * it was last checked, and go to the primary while none has, see {@link #fillSharedCache(Supplier)}. Work that must see the latest data regardless, such as building the
+ * in-memory indexes, runs with {@link #runOnPrimary(Runnable)}.
+ * <p>
+ * The lookup depends on the transaction being already marked read-only, so this DataSource must be wrapped
+ * in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching the
+ * connection until the first statement.
+ *
+ * @see ReadReplicaConfig
+ * @see ReadYourWritesFilter
+ * @see org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    private static final ThreadLocal<Boolean> SHARED_CACHE_FILL = ThreadLocal.withInitial(() -> false);
+
+    private static final ThreadLocal<Client> CLIENT = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<Replica> usableReplicas = List.of();
+
+    private volatile long lastWriteMillis;
+
+    /**
+     * Constructs a new ReplicaRoutingDataSource with the specified primary and replicas.
+     *
+     * @param primary  the DataSource of the primary
+     * @param replicas the DataSources of the replicas
+     * @param maxLag   the maximum replication lag of a replica still used for reads
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+        this.maxLag = maxLag;
+        this.lastWriteMillis = System.currentTimeMillis() - maxLag.toMillis();
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Runs an action whose reads must go to the primary.
+     *
+     * @param action the action to run
+     */
+    public static void runOnPrimary(Runnable action) {
+        boolean required = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(true);
+        try {
+            action.run();
+        } finally {
+            PRIMARY_REQUIRED.set(required);
+        }
+    }
+
+    /**
+     * Runs a read whose result is shared by all clients, e.g. kept in a cache. Within the maximum lag after a write
+     * of this instance, its reads only use the replicas known to have replayed the write, and otherwise the primary,
+     * since a replica still returning the data preceding the write would have it served to every client.
+     *
+     * @param read the read to run
+     * @param <T>  the type of the result
+     * @return the result of the read
+     */
+    public static <T> T fillSharedCache(Supplier<T> read) {
+        boolean filling = SHARED_CACHE_FILL.get();
+        SHARED_CACHE_FILL.set(true);
+        try {
+            return read.get();
+        } finally {
+            SHARED_CACHE_FILL.set(filling);
+        }
+    }
+
+    /**
+     * Binds the client of the current request to the thread, until {@link #unbindClient()}.
+     *
+     * @param lastWriteMillis the time in milliseconds since the epoch of the last write of the client, as reported
+     *                        by the client, or {@code 0} if unknown
+     * @param onWrite         called with the time of every write of the client committed on this thread, to be
+     *                        reported to the client
+     */
+    public static void bindClient(long lastWriteMillis, LongConsumer onWrite) {
+        CLIENT.set(new Client(lastWriteMillis, onWrite));
+    }
+
+    /**
+     * Unbinds the client of the current request from the thread.
+     */
+    public static void unbindClient() {
+        CLIENT.remove();
+    }
+
+    /**
+     * Resolves the targets and checks the replicas once, so reads can use them from the start.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    /**
+     * Chooses the DataSource of the current connection.
+     *
+     * @return the key of a usable replica for a read-only transaction, otherwise the key of the primary;
+     * connections outside a transaction, e.g. for health checks, also go to the primary
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        Client client = CLIENT.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            lastWriteMillis = System.currentTimeMillis();
+            if (client != null) {
+                client.lastWriteMillis = System.currentTimeMillis();
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lastWriteMillis = System.currentTimeMillis();
+                    if (client != null && status == STATUS_COMMITTED) {
+                        client.lastWriteMillis = System.currentTimeMillis();
+                        client.onWrite.accept(client.lastWriteMillis);
+                    }
+                }
+            });
+            return PRIMARY;
+        }
+        long now = System.currentTimeMillis();
+        if (PRIMARY_REQUIRED.get()
+            || client != null && Math.abs(now - client.lastWriteMillis) < maxLag.toMillis()) {
+            return PRIMARY;
+        }
+        List<Replica> usable = usableReplicas;
+        if (SHARED_CACHE_FILL.get() && now - lastWriteMillis < maxLag.toMillis()) {
+            usable = replayedAfter(usable, lastWriteMillis);
+        }
+        if (usable.isEmpty()) {
+            return PRIMARY;
+        }
+        return usable.get(Math.floorMod(next.getAndIncrement(), usable.size())).key();
+    }
+
+    /**
+     * Utility method to select the replicas that had replayed all transactions committed up to a time.
+     *
+     * @param replicas        the replicas to select from
+     * @param writeTimeMillis the time in milliseconds since the epoch
+     * @return the replicas that had replayed the transactions committed up to the time when last checked
+     */
+    private static List<Replica> replayedAfter(List<Replica> replicas, long writeTimeMillis) {
+        List<Replica> replayed = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.replayedMillis() > writeTimeMillis) {
+                replayed.add(replica);
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Measures the replication lag of every replica and uses for reads only those within the maximum lag.
+     * A replica that cannot be reached is not used until a later check succeeds. The time up to which each replica
+     * has replayed the transactions of the primary is taken as the start of its check less its lag, which errs on
+     * the early side.
+     */
+    @Scheduled(fixedDelayString = "${supplier.datasource.replica-check-interval-ms:1000}")
+    public void checkReplicas() {
+        List<Replica> usable = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String key = replica.getKey();
+            boolean wasUsable = usableReplicas.stream().anyMatch(used -> used.key().equals(key));
+            try {
+                long checkedMillis = System.currentTimeMillis();
+                Duration lag = measureLag(replica.getValue());
+                if (lag.compareTo(maxLag) <= 0) {
+                    usable.add(new Replica(key, checkedMillis - lag.toMillis()));
+                    if (!wasUsable) {
+                        log.info("Routing reads to " + key + " with a replication lag of " + lag);
+                    }
+                } else if (wasUsable) {
+                    log.warn("Routing reads away from " + key + " with a replication lag of " + lag);
+                }
+            } catch (Exception e) {
+                if (wasUsable) {
+                    log.warn("Routing reads away from " + key + ": " + e.getMessage());
+                }
+            }
+        }
+        usableReplicas = List.copyOf(usable);
+    }
+
+    /**
+     * Measures the replication lag of a replica, which is zero if it has replayed all WAL it received.
+     *
+     * @param replica the DataSource of the replica
+     * @return the time since the last transaction replayed by the replica
+     * @throws SQLException if the replica cannot be queried or does not know its lag
+     */
+    protected Duration measureLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double seconds = resultSet.getDouble(1);
+            if (resultSet.wasNull()) {
+                throw new SQLException("Replication lag unknown");
+            }
+            return Duration.ofNanos((long) (seconds * 1_000_000_000L));
+        }
+    }
+
+    /**
+     * Closes the connection pools of the primary and the replicas.
+     *
+     * @throws Exception if a pool cannot be closed
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * A replica used for reads and the time up to which it had replayed the transactions of the primary.
+     *
+     * @param key            the key of the replica
+     * @param replayedMillis the time in milliseconds since the epoch up to which the replica had replayed
+     *                       the transactions of the primary when last checked
+     */
+    private record Replica(String key, long replayedMillis) {
+    }
+
+    /**
+     * The client of a request and the time of its last write.
+     */
+    private static class Client {
+
+        private final LongConsumer onWrite;
+
+        private long lastWriteMillis;
+
+        Client(long lastWriteMillis, LongConsumer onWrite) {
+            this.lastWriteMillis = lastWriteMillis;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.stepup.supplierservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuration class keeping the scheduled tasks on a platform thread, even in the virtual thread mode
+ * ({@code spring.threads.virtual.enabled=true}), where Spring Boot would otherwise run them on virtual threads.
+ * Publishing the change feed writes to the streams of the subscribers inside
+ * {@link org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter#send}, which is
+ * {@code synchronized}: on a virtual thread, a subscriber reading slowly would pin a carrier thread for as long as
+ * the write blocks; the events themselves are sent by the threads of the change stream.
+ * <p>
+ * The scheduler runs two threads by default rather than Spring Boot's one, so the replica lag check is not held
+ * up by a slow run of another task, such as publishing changes while the database is slow. A task with a fixed
+ * delay never overlaps itself, so the changes are still published by one thread at a time.
+ * The scheduler is configured by the {@code spring.task.scheduling.*} properties.
+ *
+ * @see org.springframework.scheduling.annotation.EnableScheduling
+ * @see org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder
+ * @see com.stepup.supplierservice.service.ChangeStreamService
+ * @see ReplicaRoutingDataSource
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * Creates the scheduler of the scheduled tasks.
+     *
+     * @param builder  the builder configured by Spring Boot
+     * @param poolSize the number of threads running the scheduled tasks
+     * @return the scheduler of the scheduled tasks
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder,
+                                                 @Value("${spring.task.scheduling.pool.size:2}") int poolSize) {
+        return builder.poolSize(poolSize).build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.stepup.supplierservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+/**
+ * Component class exporting the statistics of the Hibernate second-level cache regions as cache metrics.
+ * Hibernate itself exports hits, misses and puts per region ({@code hibernate.second.level.cache.*}) only while
+ * its statistics are enabled; this binder exports the statistics of the underlying JCache caches, including
+ * evictions, in any case ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, {@code cache.removals}).
+ *
+ * @see io.micrometer.core.instrument.binder.MeterBinder
+ * @see io.micrometer.core.instrument.binder.cache.JCacheMetrics
+ * @see com.stepup.supplierservice.entity.Category
+ * @see com.stepup.supplierservice.entity.Product
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs a new SecondLevelCacheMetrics with the specified EntityManagerFactory.
+     *
+     * @param entityManagerFactory the factory whose second-level cache regions are exported
+     */
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Binds the metrics of every cache backing a second-level cache region.
+     * Does nothing if the second-level cache is disabled or not backed by JCache.
+     *
+     * @param registry the registry to bind the metrics to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            return;
+        }
+
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), Tags.of("cacheManager", "hibernate"));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.stepup.supplierservice.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class serving Smile, the binary form of JSON, to clients asking for it with
+ * {@code Accept: application/x-jackson-smile}, such as the consumer service. Other clients still get JSON,
+ * which stays the first converter in the negotiation order.
+ * <p>
+ * The same entity tag is sent with either representation, so every response declares {@code Vary: Accept}
+ * for caches not to serve one representation in place of the other.
+ *
+ * @see org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter
+ * @see org.springframework.boot.autoconfigure.http.HttpMessageConverters
+ */
+@Configuration
+public class SmileConfig implements WebMvcConfigurer {
+
+    /**
+     * Creates the Smile converter, configured like the JSON one. Spring Boot puts it in place of its default
+     * Smile converter, after the JSON converter.
+     *
+     * @param builder the builder of the JSON ObjectMapper, holding the {@code spring.jackson.*} settings
+     * @return the Smile converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Adds {@code Vary: Accept} to every response.
+     *
+     * @param registry the registry of interceptors
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        });
+    }
+}
@@ -1,44 +1,46 @@
 package com.stepup.supplierservice.config;
 
+import com.stepup.supplierservice.dto.ProductDto;
 import com.stepup.supplierservice.entity.Category;
-import com.stepup.supplierservice.entity.Product;
 import com.stepup.supplierservice.repository.CategoryRepository;
-import com.stepup.supplierservice.repository.ProductRepository;
+import com.stepup.supplierservice.service.ProductService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Component class responsible for loading test data into the Category and Product repositories.
  * This class is annotated with {@link org.springframework.stereotype.Component} to indicate
  * that it should be automatically detected and registered as a Spring bean during component scanning.
  * It implements {@link org.springframework.boot.CommandLineRunner} to execute the data loading logic
- * when the Spring Boot application starts.
+ * when the Spring Boot application starts. The schema is kept across restarts, so the data is only loaded
+ * into an empty database.
  *
  * @see org.springframework.stereotype.Component
  * @see org.springframework.boot.CommandLineRunner
  * @see CategoryRepository
- * @see ProductRepository
+ * @see ProductService
  * @see Category
- * @see Product
+ * @see ProductDto
  */
 @Component
 public class TestDataLoader implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
 
-    private final ProductRepository productRepository;
+    private final ProductService productService;
 
     /**
-     * Constructs a new TestDataLoader with the specified CategoryRepository and ProductRepository.
+     * Constructs a new TestDataLoader with the specified CategoryRepository and ProductService.
      *
      * @param categoryRepository the repository for Category entities
-     * @param productRepository  the repository for Product entities
+     * @param productService     the service used to bulk-create products
      */
-    public TestDataLoader(CategoryRepository categoryRepository, ProductRepository productRepository) {
+    public TestDataLoader(CategoryRepository categoryRepository, ProductService productService) {
         this.categoryRepository = categoryRepository;
-        this.productRepository = productRepository;
+        this.productService = productService;
     }
 
     /**
@@ -50,12 +52,14 @@ public class TestDataLoader implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
         // Load test data
-        loadTestData();
+        if (categoryRepository.count() == 0) {
+            loadTestData();
+        }
     }
 
     /**
      * Loads test data into the Category and Product repositories.
-     * Creates categories and products, and saves them to the repositories.
+     * Creates categories, then creates all products with a single batch insert.
      */
     private void loadTestData() {
         // Create categories
@@ -74,25 +78,13 @@ public class TestDataLoader implements CommandLineRunner {
         categoryRepository.saveAll(Arrays.asList(category1, category2, category3, category4));
 
         // Create products
-        Product product1 = new Product("Smartphone", "Top smartphone", 999.99, category1);
-        productRepository.save(product1);
-
-        Product product2 = new Product("Laptop", "Top laptop", 1499.99, category1);
-        productRepository.save(product2);
-
-        Product product3 = new Product("T-shirt", "Big t-shirt", 19.99, category2);
-        productRepository.save(product3);
-
-        Product product4 = new Product("T-shirt", "Small t-shirt", 14.99, category2);
-        productRepository.save(product4);
-
-        Product product5 = new Product("Milk", "Gallon from cow", 2.99, category3);
-        productRepository.save(product5);
-
-        Product product6 = new Product("Apple", "Green", 0.99, category3);
-        productRepository.save(product6);
-
-        Product product7 = new Product("Honda", "Civic", 19999.99, category4);
-        productRepository.save(product7);
+        productService.createProducts(List.of(
+                new ProductDto(null, "Smartphone", "Top smartphone", 999.99, category1.getId()),
+                new ProductDto(null, "Laptop", "Top laptop", 1499.99, category1.getId()),
+                new ProductDto(null, "T-shirt", "Big t-shirt", 19.99, category2.getId()),
+                new ProductDto(null, "T-shirt", "Small t-shirt", 14.99, category2.getId()),
+                new ProductDto(null, "Milk", "Gallon from cow", 2.99, category3.getId()),
+                new ProductDto(null, "Apple", "Green", 0.99, category3.getId()),
+                new ProductDto(null, "Honda", "Civic", 19999.99, category4.getId())));
     }
 }
@@ -0,0 +1,33 @@
+package com.stepup.supplierservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class failing the startup when the virtual thread mode ({@code spring.threads.virtual.enabled=true})
+ * is enabled on a runtime older than Java 21. Spring Boot silently ignores the property there, so the service would
+ * otherwise start on the platform threads of Tomcat, sized for a mode it is not running in.
+ *
+ * @see org.springframework.boot.autoconfigure.thread.Threading
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * The first Java version with virtual threads.
+     */
+    private static final int VIRTUAL_THREADS_VERSION = 21;
+
+    /**
+     * Constructs a new VirtualThreadConfig, checking the version of the runtime.
+     *
+     * @throws IllegalStateException if the runtime is older than Java 21
+     */
+    public VirtualThreadConfig() {
+        if (Runtime.version().feature() < VIRTUAL_THREADS_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java "
+                                            + VIRTUAL_THREADS_VERSION + ", not " + Runtime.version());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.stepup.supplierservice.controller;
 import com.stepup.supplierservice.dto.CategoryDto;
 import com.stepup.supplierservice.entity.Category;
 import com.stepup.supplierservice.service.CategoryService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,6 +21,8 @@ import java.util.List;
  * that it processes incoming RESTful requests and produces JSON responses.
  * The base path for all request mappings in this controller is "/categories", specified by the
  * {@link org.springframework.web.bind.annotation.RequestMapping} annotation.
+ * Reads carry an entity tag computed from the versions of the categories, so a client revalidating an
+ * unchanged result gets 304 Not Modified instead of the body.
  *
  * @see org.springframework.web.bind.annotation.RestController
  * @see org.springframework.web.bind.annotation.RequestMapping
@@ -30,6 +33,8 @@ import java.util.List;
  * @see org.springframework.web.bind.annotation.DeleteMapping
  * @see org.springframework.web.bind.annotation.RequestBody
  * @see org.springframework.web.bind.annotation.PathVariable
+ * @see org.springframework.http.ResponseEntity
+ * @see ETags
  */
 @RestController
 @RequestMapping("/categories")
@@ -60,22 +65,31 @@ public class CategoryController {
     /**
      * Handles HTTP GET requests to retrieve all categories.
      *
-     * @return a list of Category objects representing all categories
+     * @return a ResponseEntity containing a list of Category objects representing all categories
      */
     @GetMapping
-    public List<Category> getAllCategories() {
-        return categoryService.getAllCategories();
+    public ResponseEntity<List<Category>> getAllCategories() {
+        List<Category> categories = categoryService.getAllCategories();
+        return ResponseEntity.ok()
+                .eTag(ETags.of(categories, Category::getId, Category::getVersion))
+                .body(categories);
     }
 
     /**
      * Handles HTTP GET requests to retrieve a category by its ID.
      *
      * @param id the ID of the category to retrieve
-     * @return the Category object with the specified ID
+     * @return a ResponseEntity containing the Category object with the specified ID
      */
     @GetMapping("/{id}")
-    public Category getCategoryById(@PathVariable Long id) {
-        return categoryService.getCategoryById(id);
+    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
+        Category category = categoryService.getCategoryById(id);
+        if (category == null) {
+            return ResponseEntity.ok(null);
+        }
+        return ResponseEntity.ok()
+                .eTag(ETags.of(category.getId(), category.getVersion()))
+                .body(category);
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.stepup.supplierservice.controller;
+
+import com.stepup.supplierservice.dto.ChangeFeedDto;
+import com.stepup.supplierservice.service.ChangeService;
+import com.stepup.supplierservice.service.ChangeStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller class responsible for handling HTTP requests for the change feed.
+ * The base path for all request mappings in this controller is "/changes".
+ *
+ * @see org.springframework.web.bind.annotation.RestController
+ * @see org.springframework.web.bind.annotation.RequestMapping
+ * @see ChangeService
+ * @see ChangeStreamService
+ * @see org.springframework.web.bind.annotation.GetMapping
+ * @see org.springframework.web.bind.annotation.RequestParam
+ * @see org.springframework.web.bind.annotation.RequestHeader
+ */
+@RestController
+@RequestMapping("/changes")
+public class ChangeController {
+
+    private final ChangeService changeService;
+
+    private final ChangeStreamService changeStreamService;
+
+    /**
+     * Constructs a new ChangeController with the specified ChangeService and ChangeStreamService.
+     *
+     * @param changeService       the service responsible for reading the change feed
+     * @param changeStreamService the service responsible for pushing the change feed
+     */
+    public ChangeController(ChangeService changeService, ChangeStreamService changeStreamService) {
+        this.changeService = changeService;
+        this.changeStreamService = changeStreamService;
+    }
+
+    /**
+     * Handles HTTP GET requests to retrieve the product and category changes following a sequence number.
+     *
+     * @param since the sequence number of the last change already seen (default: 0, from the beginning)
+     * @param limit the maximum number of changes to return (default: 100)
+     * @return a ResponseEntity containing the changes and the sequence number to continue from if successful,
+     * or an error message if not
+     */
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        try {
+            ChangeFeedDto changes = changeService.getChanges(since, limit);
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to getChanges: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles HTTP GET requests to stream the product and category changes as server-sent events.
+     * A reconnecting client resumes after the last change it received, as sent by the {@code Last-Event-ID}
+     * header; otherwise the stream starts after {@code since}, or with the next change committed.
+     *
+     * @param lastEventId the sequence number of the last change received before reconnecting, if any
+     * @param since       the sequence number of the last change already seen, if any
+     * @return the emitter of the stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long since) {
+        return changeStreamService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+}
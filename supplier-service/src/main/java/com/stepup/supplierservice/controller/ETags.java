@@ -0,0 +1,66 @@
+package com.stepup.supplierservice.controller;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utility class computing entity tags (ETags) of responses from the versions of the entities they hold.
+ * Every write increments the version of the entity it changes, so equal IDs and versions mean equal content.
+ * The tags are weak, since a tag stands for the content in every representation (JSON or Smile, compressed or
+ * not); Tomcat also only compresses responses with weak tags.
+ * <p>
+ * The tag of a response is computed before its body is written; returned with
+ * {@link org.springframework.http.ResponseEntity.HeadersBuilder#eTag(String)}, a GET request whose
+ * {@code If-None-Match} header holds the same tag is answered with 304 Not Modified without serializing the body.
+ *
+ * @see org.springframework.http.ResponseEntity
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Computes the tag of a single entity.
+     *
+     * @param id      the ID of the entity
+     * @param version the version of the entity
+     * @return the tag
+     */
+    static String of(Long id, Long version) {
+        return "W/\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Computes the tag of an entity embedding another entity, which changes whenever either of them does.
+     *
+     * @param id              the ID of the entity
+     * @param version         the version of the entity
+     * @param embeddedId      the ID of the embedded entity
+     * @param embeddedVersion the version of the embedded entity
+     * @return the tag
+     */
+    static String of(Long id, Long version, Long embeddedId, Long embeddedVersion) {
+        return "W/\"" + id + "-" + version + "." + embeddedId + "-" + embeddedVersion + "\"";
+    }
+
+    /**
+     * Computes the tag of a list of entities, a hash of their IDs and versions in order.
+     *
+     * @param items   the entities
+     * @param id      the function returning the ID of an entity
+     * @param version the function returning the version of an entity
+     * @param <T>     the type of the entities
+     * @return the tag
+     */
+    static <T> String of(List<T> items, Function<T, Long> id, Function<T, Long> version) {
+        StringBuilder versions = new StringBuilder(items.size() * 16);
+        for (T item : items) {
+            versions.append(id.apply(item)).append('-').append(version.apply(item)).append(',');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
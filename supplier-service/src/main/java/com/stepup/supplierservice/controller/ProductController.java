@@ -1,13 +1,25 @@
 package com.stepup.supplierservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stepup.supplierservice.dto.BulkResultDto;
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
+import com.stepup.supplierservice.dto.ProductCursorPageDto;
 import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.dto.ProductQueryDto;
+import com.stepup.supplierservice.entity.Category;
 import com.stepup.supplierservice.entity.Product;
+import com.stepup.supplierservice.exception.BulkOperationException;
+import com.stepup.supplierservice.exception.VersionConflictException;
 import com.stepup.supplierservice.service.ProductService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -15,7 +27,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -24,6 +40,8 @@ import java.util.List;
  * that it processes incoming RESTful requests and produces JSON responses.
  * The base path for all request mappings in this controller is "/products", specified by the
  * {@link org.springframework.web.bind.annotation.RequestMapping} annotation.
+ * Reads carry an entity tag computed from the versions of the products, so a client revalidating an
+ * unchanged result gets 304 Not Modified instead of the body.
  *
  * @see org.springframework.web.bind.annotation.RestController
  * @see org.springframework.web.bind.annotation.RequestMapping
@@ -36,6 +54,8 @@ import java.util.List;
  * @see org.springframework.web.bind.annotation.PathVariable
  * @see org.springframework.web.bind.annotation.RequestParam
  * @see org.springframework.http.ResponseEntity
+ * @see org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
+ * @see ETags
  */
 @RestController
 @RequestMapping("/products")
@@ -43,13 +63,17 @@ public class ProductController {
 
     private final ProductService productService;
 
+    private final ObjectMapper objectMapper;
+
     /**
-     * Constructs a new ProductController with the specified ProductService.
+     * Constructs a new ProductController with the specified ProductService and ObjectMapper.
      *
      * @param productService the service responsible for handling product-related operations
+     * @param objectMapper   the mapper used to write streamed products as JSON lines
      */
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -70,21 +94,82 @@ public class ProductController {
     }
 
     /**
-     * Handles HTTP GET requests to retrieve all products.
+     * Handles HTTP POST requests to create many products at once.
+     *
+     * @param productDtos the ProductDto objects representing the new products
+     * @return a ResponseEntity containing the created products if successful, or an error message if not
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createProducts(@RequestBody List<ProductDto> productDtos) {
+        try {
+            List<ProductDto> createdProducts = productService.createProducts(productDtos);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdProducts);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to createProducts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles HTTP GET requests to retrieve a page of all products.
      *
-     * @return a ResponseEntity containing a list of all products if successful, or an error message if not
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
+     * @return a ResponseEntity containing a list of products if successful, or an error message if not
      */
     @GetMapping
-    public ResponseEntity<?> getAllProducts() {
+    public ResponseEntity<?> getAllProducts(@RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> products = productService.getAllProducts();
-            return ResponseEntity.ok(products);
+            List<ProductDto> products = productService.getAllProducts(page, size);
+            return ResponseEntity.ok().eTag(eTag(products)).body(products);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to getAllProducts: " + e.getMessage());
         }
     }
 
+    /**
+     * Handles HTTP GET requests to stream all products as newline-delimited JSON.
+     * Products are written to the response as they are read from the database, so the first
+     * bytes are sent immediately and the full list is never held in memory.
+     *
+     * @return a ResponseEntity streaming one JSON product per line
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = outputStream ->
+                productService.streamAllProducts(product -> writeLine(outputStream, product));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Handles HTTP GET requests to retrieve products with keyset (cursor) pagination.
+     *
+     * @param after the cursor returned with the previous page, or absent for the first page
+     * @param limit the maximum number of products to return, at least 1 (default: 10)
+     * @param sort  the order of the listing, {@code id} or {@code price} (default: id)
+     * @return a ResponseEntity containing the page and the next cursor if successful, an error message with status
+     * 400 if the limit, the order or the cursor is invalid, or an error message if the products cannot be retrieved
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getProductsAfter(@RequestParam(required = false) String after,
+                                              @RequestParam(defaultValue = "10") int limit,
+                                              @RequestParam(defaultValue = "id") String sort) {
+        try {
+            ProductCursorPageDto products = productService.getProductsAfter(after, limit, sort);
+            return ResponseEntity.ok().eTag(eTag(products.getItems())).body(products);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body("Failed to getProductsAfter: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to getProductsAfter: " + e.getMessage());
+        }
+    }
+
     /**
      * Handles HTTP GET requests to retrieve a product by its ID.
      *
@@ -95,7 +180,15 @@ public class ProductController {
     public ResponseEntity<?> getProductById(@PathVariable Long id) {
         try {
             Product product = productService.getProductById(id);
-            return ResponseEntity.ok(product);
+            if (product == null) {
+                return ResponseEntity.ok(null);
+            }
+            // The category is embedded in the response, so its version is part of the tag
+            Category category = product.getCategory();
+            String eTag = category != null
+                    ? ETags.of(product.getId(), product.getVersion(), category.getId(), category.getVersion())
+                    : ETags.of(product.getId(), product.getVersion());
+            return ResponseEntity.ok().eTag(eTag).body(product);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to getProductById: " + e.getMessage());
@@ -107,13 +200,21 @@ public class ProductController {
      *
      * @param id          the ID of the product to update
      * @param productDto  the ProductDto object representing the updated product
-     * @return a ResponseEntity containing the updated product if successful, or an error message if not
+     * @return a ResponseEntity containing the updated product if successful, a 409 Conflict if the product
+     * was changed since the version in the ProductDto, a 404 Not Found if it does not exist, or an error message
+     * if not
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDto productDto) {
         try {
             ProductDto updatedProduct = productService.updateProduct(id, productDto);
             return ResponseEntity.ok(updatedProduct);
+        } catch (VersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Failed to updateProduct: " + e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Failed to updateProduct: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to updateProduct: " + e.getMessage());
@@ -137,17 +238,61 @@ public class ProductController {
         }
     }
 
+    /**
+     * Handles HTTP POST requests to update all products matching a filter at once.
+     *
+     * @param bulkUpdate the ProductBulkUpdateDto object holding the filter and the changes to apply
+     * @return a ResponseEntity containing the number of updated products if successful, the number of products
+     * updated before a failure if some were, or an error message if not
+     */
+    @PostMapping("/bulk/update")
+    public ResponseEntity<?> updateProducts(@RequestBody ProductBulkUpdateDto bulkUpdate) {
+        try {
+            BulkResultDto result = productService.updateProducts(bulkUpdate);
+            return ResponseEntity.ok(result);
+        } catch (BulkOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getResult());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to updateProducts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles HTTP POST requests to delete all products matching a filter at once.
+     *
+     * @param filter the ProductFilterDto object selecting the products to delete
+     * @return a ResponseEntity containing the number of deleted products if successful, the number of products
+     * deleted before a failure if some were, or an error message if not
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<?> deleteProducts(@RequestBody ProductFilterDto filter) {
+        try {
+            BulkResultDto result = productService.deleteProducts(filter);
+            return ResponseEntity.ok(result);
+        } catch (BulkOperationException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getResult());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to deleteProducts: " + e.getMessage());
+        }
+    }
+
     /**
      * Handles HTTP GET requests to get product list with price greater than input.
      *
      * @param min the min price of the product
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products with price greater if successful, or an error message if not
      */
     @GetMapping("/price/greater/")
-    public ResponseEntity<?> filterProductsByPriceGreater(@RequestParam double min) {
+    public ResponseEntity<?> filterProductsByPriceGreater(@RequestParam double min,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> filteredProducts = productService.filterProductsByPriceGreater(min);
-            return ResponseEntity.ok(filteredProducts);
+            List<ProductDto> filteredProducts = productService.filterProductsByPriceGreater(min, page, size);
+            return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to filterProductsByPriceGreater: " + e.getMessage());
@@ -158,13 +303,17 @@ public class ProductController {
      * Handles HTTP GET requests to get product list with price less than input.
      *
      * @param max the max price of the product
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products with price less if successful, or an error message if not
      */
     @GetMapping("/price/less/")
-    public ResponseEntity<?> filterProductsByPriceLess(@RequestParam double max) {
+    public ResponseEntity<?> filterProductsByPriceLess(@RequestParam double max,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> filteredProducts = productService.filterProductsByPriceLess(max);
-            return ResponseEntity.ok(filteredProducts);
+            List<ProductDto> filteredProducts = productService.filterProductsByPriceLess(max, page, size);
+            return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -177,14 +326,18 @@ public class ProductController {
      *
      * @param min the min price of the product
      * @param max the max price of the product
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products with price range if successful, or an error message if not
      */
     @GetMapping("/price/range/")
     public ResponseEntity<?> filterProductsByPriceRange(@RequestParam double min,
-                                                        @RequestParam double max) {
+                                                        @RequestParam double max,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> filteredProducts = productService.filterProductsByPriceRange(min, max);
-            return ResponseEntity.ok(filteredProducts);
+            List<ProductDto> filteredProducts = productService.filterProductsByPriceRange(min, max, page, size);
+            return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to filterProductsByPriceRange: " + e.getMessage());
@@ -195,13 +348,17 @@ public class ProductController {
      * Handles HTTP GET requests to get product by category id.
      *
      * @param id the category id of the product
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products with category id if successful, or an error message if not
      */
     @GetMapping("/search/category/{id}")
-    public ResponseEntity<?> searchProductsByCategoryId(@PathVariable Long id) {
+    public ResponseEntity<?> searchProductsByCategoryId(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> foundProducts = productService.searchProductsByCategoryId(id);
-            return ResponseEntity.ok(foundProducts);
+            List<ProductDto> foundProducts = productService.searchProductsByCategoryId(id, page, size);
+            return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -213,13 +370,17 @@ public class ProductController {
      * Handles HTTP GET requests to get product by name.
      *
      * @param keyword the name of the product
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products by name if successful, or an error message if not
      */
     @GetMapping("/search/name/")
-    public ResponseEntity<?> searchProductsByName(@RequestParam String keyword) {
+    public ResponseEntity<?> searchProductsByName(@RequestParam String keyword,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> foundProducts = productService.searchProductsByName(keyword);
-            return ResponseEntity.ok(foundProducts);
+            List<ProductDto> foundProducts = productService.searchProductsByName(keyword, page, size);
+            return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -231,13 +392,17 @@ public class ProductController {
      * Handles HTTP GET requests to get product by name not containing.
      *
      * @param keyword the name of the product not containing
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products by name not containing if successful, or an error message if not
      */
     @GetMapping("/search/name/not-containing/")
-    public ResponseEntity<?> searchProductsByNameNotContaining(@RequestParam String keyword) {
+    public ResponseEntity<?> searchProductsByNameNotContaining(@RequestParam String keyword,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> foundProducts = productService.searchProductsByNameNotContaining(keyword);
-            return ResponseEntity.ok(foundProducts);
+            List<ProductDto> foundProducts = productService.searchProductsByNameNotContaining(keyword, page, size);
+            return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -249,17 +414,86 @@ public class ProductController {
      * Handles HTTP GET requests to get product by description.
      *
      * @param keyword the name of the description
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
      * @return a ResponseEntity containing a list of products by description if successful, or an error message if not
      */
     @GetMapping("/search/description/")
-    public ResponseEntity<?> searchProductsByDescription(@RequestParam String keyword) {
+    public ResponseEntity<?> searchProductsByDescription(@RequestParam String keyword,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "10") int size) {
         try {
-            List<ProductDto> foundProducts = productService.searchProductsByDescription(keyword);
-            return ResponseEntity.ok(foundProducts);
+            List<ProductDto> foundProducts = productService.searchProductsByDescription(keyword, page, size);
+            return ResponseEntity.ok().eTag(eTag(foundProducts)).body(foundProducts);
 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to searchProductsByDescription: " + e.getMessage());
         }
     }
+
+    /**
+     * Handles HTTP GET requests to get product list matching a combined filter.
+     * The restrictions are bound from the query parameters, e.g.
+     * {@code /products/filter?categoryIds=1,2&minPrice=10&maxPrice=50&nameNotContains=used}.
+     *
+     * @param filter the ProductFilterDto object with the restrictions the products must match
+     * @param page the page number (default: 0)
+     * @param size the page size (default: 10)
+     * @return a ResponseEntity containing a list of matching products if successful, or an error message if not
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterProducts(@ModelAttribute ProductFilterDto filter,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "10") int size) {
+        try {
+            List<ProductDto> filteredProducts = productService.filterProducts(filter, page, size);
+            return ResponseEntity.ok().eTag(eTag(filteredProducts)).body(filteredProducts);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to filterProducts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles HTTP POST requests to query products by a filter, an order and a page in a single request.
+     *
+     * @param query the ProductQueryDto object with the filter, order and page of the products to return
+     * @return a ResponseEntity containing a list of matching products if successful, or an error message if not
+     */
+    @PostMapping("/query")
+    public ResponseEntity<?> queryProducts(@RequestBody ProductQueryDto query) {
+        try {
+            List<ProductDto> foundProducts = productService.queryProducts(query);
+            return ResponseEntity.ok(foundProducts);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to queryProducts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Utility method to write a product as a single JSON line.
+     *
+     * @param outputStream the stream to write to
+     * @param product      the product to write
+     */
+    private void writeLine(OutputStream outputStream, ProductDto product) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(product));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Utility method to compute the entity tag of a list of products.
+     *
+     * @param products the products
+     * @return the tag, which changes whenever a product is added, removed or changed
+     */
+    private static String eTag(List<ProductDto> products) {
+        return ETags.of(products, ProductDto::getId, ProductDto::getVersion);
+    }
 }
@@ -0,0 +1,32 @@
+package com.stepup.supplierservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) class representing the outcome of a bulk operation.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResultDto {
+
+    /**
+     * The number of rows affected by the operation.
+     */
+    private int affectedRows;
+
+    /**
+     * Whether the operation ran to completion. A bulk operation committed in several transactions may fail after
+     * some of them, in which case {@link #affectedRows} counts the rows of the committed ones.
+     */
+    private boolean complete;
+}
@@ -38,4 +38,10 @@ public class CategoryDto {
      * A list of products from category.
      */
     private List<Product> products;
+
+    /**
+     * The version of the category. Sent back with an update, it must still be current for the update to apply;
+     * left {@code null}, the update applies to whatever version is current.
+     */
+    private Long version;
 }
@@ -0,0 +1,57 @@
+package com.stepup.supplierservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.stepup.supplierservice.entity.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) class representing one entry of the change feed.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ * @see ChangeLogEntry
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeDto {
+
+    /**
+     * The sequence number of the change.
+     */
+    private Long seq;
+
+    /**
+     * The type of the changed entity.
+     */
+    private ChangeLogEntry.EntityType entityType;
+
+    /**
+     * The ID of the changed entity.
+     */
+    private Long entityId;
+
+    /**
+     * Whether the entity was deleted.
+     */
+    private boolean deleted;
+
+    /**
+     * The state of the entity after the change, embedded as JSON, or {@code null} if it was deleted.
+     */
+    @JsonRawValue
+    private String payload;
+
+    /**
+     * The time of the change.
+     */
+    private Instant changedAt;
+}
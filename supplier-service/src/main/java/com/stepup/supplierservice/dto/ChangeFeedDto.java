@@ -0,0 +1,40 @@
+package com.stepup.supplierservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing one page of the change feed.
+ * The {@code next} sequence number is passed back as the {@code since} parameter to fetch the following
+ * changes; it stays the same while no new changes exist.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeFeedDto {
+
+    /**
+     * The changes on this page, in sequence order.
+     */
+    private List<ChangeDto> changes;
+
+    /**
+     * The sequence number to continue from.
+     */
+    private long next;
+
+    /**
+     * Whether more changes are available right away.
+     */
+    private boolean hasMore;
+}
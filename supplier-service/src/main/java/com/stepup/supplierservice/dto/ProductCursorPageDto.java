@@ -0,0 +1,35 @@
+package com.stepup.supplierservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing one page of a cursor-based product listing.
+ * The {@code nextCursor} token is passed back as the {@code after} parameter to fetch the
+ * following page, and is {@code null} when there are no more products.
+ *
+ * @see lombok.Getter
+ * @see lombok.Setter
+ * @see lombok.AllArgsConstructor
+ * @see lombok.NoArgsConstructor
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCursorPageDto {
+
+    /**
+     * The products on this page.
+     */
+    private List<ProductDto> items;
+
+    /**
+     * The cursor of the next page, or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -45,4 +45,23 @@ public class ProductDto {
      * The categoryId of the product.
      */
     private Long categoryId;
+
+    /**
+     * The version of the product. Sent back with an update, it must still be current for the update to apply;
+     * left {@code null}, the update applies to whatever version is current.
+     */
+    private Long version;
+
+    /**
+     * Parameterized constructor for a product without a known version, e.g. one not yet created.
+     *
+     * @param id          the ID of the product
+     * @param name        the name of the product
+     * @param description the description of the product
+     * @param price       the price of the product
+     * @param categoryId  the ID of the category of the product
+     */
+    public ProductDto(Long id, String name, String description, double price, Long categoryId) {
+        this(id, name, description, price, categoryId, null);
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.stepup.supplierservice.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -8,12 +9,16 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -32,24 +37,34 @@ import java.util.List;
  * @see jakarta.persistence.Id
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.SequenceGenerator
  * @see jakarta.persistence.OneToMany
  * @see jakarta.persistence.CascadeType
  * @see jakarta.persistence.FetchType
  * @see com.fasterxml.jackson.annotation.JsonIgnore
+ * @see com.fasterxml.jackson.annotation.JsonIgnoreProperties
+ * @see org.hibernate.annotations.Cache
+ * @see jakarta.persistence.Version
  */
 @Entity
 @Getter
 @Setter
 @Table(name = "categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Category {
 
     /**
      * The unique identifier for the category.
+     * Identifiers are drawn from a database sequence in blocks of {@code allocationSize}
+     * (pooled optimizer), which lets Hibernate batch inserts instead of issuing one
+     * round trip per row to learn a generated key.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -62,10 +77,32 @@ public class Category {
      * The list of products associated with the category.
      * This field is mapped as a one-to-many relationship with the {@link Product} entity,
      * and is configured for lazy fetching to improve performance.
+     * The IDs of the products are kept in the second-level cache once loaded.
      */
     @OneToMany(mappedBy = "category",
             cascade = CascadeType.ALL,
             fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-products")
     @JsonIgnore
     private List<Product> products;
+
+    /**
+     * The version of the category, incremented by every update.
+     * Updates carrying an older version are rejected instead of overwriting a concurrent change.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Parameterized constructor for the Category class, for a category not yet stored.
+     *
+     * @param id       the ID of the category
+     * @param name     the name of the category
+     * @param products the products of the category
+     */
+    public Category(Long id, String name, List<Product> products) {
+        this.id = id;
+        this.name = name;
+        this.products = products;
+    }
 }
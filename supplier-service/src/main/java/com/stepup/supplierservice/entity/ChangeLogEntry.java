@@ -0,0 +1,82 @@
+package com.stepup.supplierservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing one change of a product or category, as recorded in the change log (outbox).
+ * Rows are written by database triggers in the same transaction as the change itself, see the migration
+ * {@code V2__create_change_log.sql}, and are never modified afterwards.
+ *
+ * @see jakarta.persistence.Entity
+ * @see lombok.Getter
+ * @see jakarta.persistence.Table
+ * @see jakarta.persistence.SequenceGenerator
+ * @see org.hibernate.annotations.Immutable
+ */
+@Entity
+@Getter
+@Immutable
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    /**
+     * The sequence number of the change, increasing in commit order.
+     * Drawn one by one when the transaction of the change commits, so the sequence is created with an increment
+     * of one.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 1)
+    private Long seq;
+
+    /**
+     * The type of the changed entity.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    /**
+     * The ID of the changed entity.
+     */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * Whether the entity was deleted, in which case this entry is a tombstone without payload.
+     */
+    @Column(nullable = false)
+    private boolean deleted;
+
+    /**
+     * The state of the entity after the change as JSON, or {@code null} for a tombstone.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    /**
+     * The time of the transaction making the change.
+     */
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    /**
+     * The types of entities recorded in the change log.
+     */
+    public enum EntityType {
+        PRODUCT,
+        CATEGORY
+    }
+}
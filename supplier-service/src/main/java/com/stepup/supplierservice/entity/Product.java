@@ -1,17 +1,27 @@
 package com.stepup.supplierservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.stepup.supplierservice.index.ProductIndexingListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity class representing a product.
@@ -26,23 +36,36 @@ import lombok.Setter;
  * @see jakarta.persistence.Id
  * @see jakarta.persistence.GeneratedValue
  * @see jakarta.persistence.GenerationType
+ * @see jakarta.persistence.SequenceGenerator
  * @see jakarta.validation.constraints.NotBlank
  * @see jakarta.validation.constraints.NotNull
  * @see jakarta.persistence.ManyToOne
  * @see jakarta.persistence.JoinColumn
+ * @see jakarta.persistence.Column
+ * @see jakarta.persistence.EntityListeners
  * @see Category
+ * @see ProductIndexingListener
+ * @see org.hibernate.annotations.Cache
+ * @see jakarta.persistence.Transient
+ * @see jakarta.persistence.Version
  */
 @Entity
 @Getter
 @Setter
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@EntityListeners(ProductIndexingListener.class)
 public class Product {
 
     /**
      * The unique identifier for the product.
+     * Identifiers are drawn from a database sequence in blocks of {@code allocationSize}
+     * (pooled optimizer), which lets Hibernate batch inserts instead of issuing one
+     * round trip per row to learn a generated key.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -66,12 +89,46 @@ public class Product {
     /**
      * The category to which the product belongs.
      * This field is mapped as a many-to-one relationship with the {@link Category} entity,
-     * and is configured for eager fetching to load the associated category along with the product.
+     * and is configured for lazy fetching; use an entity graph where the category data is needed.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    /**
+     * The ID of the category to which the product belongs.
+     * Read-only view of the {@code category_id} foreign key column, so the ID is available
+     * without initializing the lazy {@link #category} association. Kept in sync by {@link #setCategory(Category)}.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "category_id", insertable = false, updatable = false)
+    private Long categoryId;
+
+    /**
+     * The version of the product, incremented by every update.
+     * Updates carrying an older version are rejected instead of overwriting a concurrent change.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * The ID of the category of the product as last read from or written to the database.
+     * Lets change listeners tell which category the product moved out of; not persisted.
+     */
+    @Transient
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Long persistedCategoryId;
+
+    /**
+     * The price of the product as last read from or written to the database.
+     * Lets change listeners tell which price range the product moved out of; not persisted.
+     */
+    @Transient
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private Double persistedPrice;
+
     /**
      * Default constructor for the Product class.
      */
@@ -90,6 +147,25 @@ public class Product {
         this.name = name;
         this.description = description;
         this.price = price;
+        setCategory(category);
+    }
+
+    /**
+     * Sets the category to which the product belongs, together with the read-only {@link #categoryId}.
+     *
+     * @param category the category to which the product belongs
+     */
+    public void setCategory(Category category) {
         this.category = category;
+        this.categoryId = category != null ? category.getId() : null;
+    }
+
+    /**
+     * Records the current category ID and price as the state stored in the database.
+     * Called by {@link ProductIndexingListener} after the product was loaded or written.
+     */
+    public void markPersisted() {
+        this.persistedCategoryId = categoryId;
+        this.persistedPrice = price;
     }
 }
@@ -0,0 +1,32 @@
+package com.stepup.supplierservice.exception;
+
+import com.stepup.supplierservice.dto.BulkResultDto;
+import lombok.Getter;
+
+/**
+ * Custom runtime exception thrown when a bulk operation processed in several transactions fails after some of
+ * them were committed. Carries the partial result, so the caller learns how many products were affected.
+ *
+ * @see ProductServiceException
+ * @see com.stepup.supplierservice.dto.BulkResultDto
+ * @see lombok.Getter
+ */
+@Getter
+public class BulkOperationException extends ProductServiceException {
+
+    /**
+     * The result of the chunks committed before the failure.
+     */
+    private final BulkResultDto result;
+
+    /**
+     * Constructs a new BulkOperationException with the specified detail message and partial result.
+     *
+     * @param message the detail message (which is saved for later retrieval by the {@link #getMessage()} method)
+     * @param result  the result of the chunks committed before the failure
+     */
+    public BulkOperationException(String message, BulkResultDto result) {
+        super(message);
+        this.result = result;
+    }
+}
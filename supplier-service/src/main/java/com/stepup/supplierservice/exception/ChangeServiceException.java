@@ -0,0 +1,18 @@
+package com.stepup.supplierservice.exception;
+
+/**
+ * Custom runtime exception specific to the ChangeService.
+ *
+ * @see java.lang.RuntimeException
+ */
+public class ChangeServiceException extends RuntimeException {
+
+    /**
+     * Constructs a new ChangeServiceException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the {@link #getMessage()} method)
+     */
+    public ChangeServiceException(String message) {
+        super(message);
+    }
+}
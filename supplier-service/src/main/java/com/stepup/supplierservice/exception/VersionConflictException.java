@@ -0,0 +1,25 @@
+package com.stepup.supplierservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom runtime exception thrown when an update carries a version that is no longer current,
+ * i.e. the entity was changed by someone else since the client read it.
+ * Answered with {@code 409 Conflict}.
+ *
+ * @see java.lang.RuntimeException
+ * @see org.springframework.web.bind.annotation.ResponseStatus
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new VersionConflictException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the {@link #getMessage()} method)
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,181 @@
+package com.stepup.supplierservice.index;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compressed bitmap index over the category and price of the products.
+ * Each category and each price bucket maps to a {@link Roaring64Bitmap} of the IDs of its products,
+ * so predicates on them are combined with bitwise AND, OR and AND NOT operations.
+ * <p>
+ * Price buckets are logarithmic, {@value #BUCKETS_PER_DECADE} per power of ten, so each bucket spans
+ * about 15% of its lower bound regardless of the magnitude of the prices. A price range is the union
+ * of the buckets lying entirely inside it, plus the members of the two boundary buckets whose exact
+ * price matches.
+ * This class is not thread-safe; {@link ProductFilterIndex} guards it with a read-write lock.
+ *
+ * @see ProductFilterIndex
+ * @see ProductFilterEvaluator
+ */
+public class BitmapIndex {
+
+    /**
+     * The number of price buckets per power of ten.
+     */
+    public static final int BUCKETS_PER_DECADE = 16;
+
+    private final Roaring64Bitmap all = new Roaring64Bitmap();
+
+    private final Map<Long, Roaring64Bitmap> categories = new HashMap<>();
+
+    private final NavigableMap<Integer, Roaring64Bitmap> priceBuckets = new TreeMap<>();
+
+    /**
+     * Indexes the category and price of a product, replacing any values previously indexed for it.
+     *
+     * @param id         the ID of the product
+     * @param categoryId the ID of the category of the product, or {@code null} if it has none
+     * @param price      the price of the product
+     */
+    public void put(long id, Long categoryId, double price) {
+        remove(id);
+        all.addLong(id);
+        if (categoryId != null) {
+            categories.computeIfAbsent(categoryId, key -> new Roaring64Bitmap()).addLong(id);
+        }
+        priceBuckets.computeIfAbsent(bucketOf(price), key -> new Roaring64Bitmap()).addLong(id);
+    }
+
+    /**
+     * Removes a product from the index.
+     * Checks every category and bucket, since the previous values of the product are not stored.
+     *
+     * @param id the ID of the product
+     */
+    public void remove(long id) {
+        if (!all.contains(id)) {
+            return;
+        }
+
+        all.removeLong(id);
+        categories.values().removeIf(bitmap -> removeAndCheckEmpty(bitmap, id));
+        priceBuckets.values().removeIf(bitmap -> removeAndCheckEmpty(bitmap, id));
+    }
+
+    /**
+     * Removes all products from the index.
+     */
+    public void clear() {
+        all.clear();
+        categories.clear();
+        priceBuckets.clear();
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return the number of indexed products
+     */
+    public long size() {
+        return all.getLongCardinality();
+    }
+
+    /**
+     * Returns all indexed products.
+     *
+     * @return a new bitmap of the IDs of all products
+     */
+    public Roaring64Bitmap all() {
+        return all.clone();
+    }
+
+    /**
+     * Returns the products belonging to any of the specified categories.
+     *
+     * @param categoryIds the IDs of the categories
+     * @return a new bitmap of the IDs of the matching products
+     */
+    public Roaring64Bitmap inCategories(Collection<Long> categoryIds) {
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        for (Long categoryId : categoryIds) {
+            Roaring64Bitmap bitmap = categories.get(categoryId);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the products whose price lies within the given bounds.
+     *
+     * @param from          the lower bound of the price
+     * @param fromInclusive whether products priced exactly {@code from} match
+     * @param to            the upper bound of the price
+     * @param toInclusive   whether products priced exactly {@code to} match
+     * @param refine        selects the products of a boundary bucket whose exact price lies within the bounds
+     * @return a new bitmap of the IDs of the matching products
+     */
+    public Roaring64Bitmap priceBetween(double from, boolean fromInclusive,
+                                        double to, boolean toInclusive,
+                                        UnaryOperator<Roaring64Bitmap> refine) {
+        Roaring64Bitmap result = new Roaring64Bitmap();
+        if (from > to) {
+            return result;
+        }
+
+        int fromBucket = bucketOf(from);
+        int toBucket = bucketOf(to);
+        // Buckets strictly between the boundary buckets only hold prices strictly within the bounds
+        for (Roaring64Bitmap bitmap : priceBuckets.subMap(fromBucket, false, toBucket, false).values()) {
+            result.or(bitmap);
+        }
+
+        Roaring64Bitmap boundaries = new Roaring64Bitmap();
+        for (int bucket : new int[]{fromBucket, toBucket}) {
+            Roaring64Bitmap bitmap = priceBuckets.get(bucket);
+            if (bitmap != null) {
+                boundaries.or(bitmap);
+            }
+        }
+        if (!boundaries.isEmpty()) {
+            result.or(refine.apply(boundaries));
+        }
+        return result;
+    }
+
+    /**
+     * Utility method to compute the bucket of a price.
+     * Monotonic in the price, so a higher bucket always holds higher prices.
+     *
+     * @param price the price
+     * @return the bucket
+     */
+    static int bucketOf(double price) {
+        if (price <= 0 || Double.isNaN(price)) {
+            return Integer.MIN_VALUE;
+        }
+        if (Double.isInfinite(price)) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.floor(Math.log10(price) * BUCKETS_PER_DECADE);
+    }
+
+    /**
+     * Utility method to remove a product from a bitmap.
+     *
+     * @param bitmap the bitmap
+     * @param id     the ID of the product
+     * @return {@code true} if the bitmap is empty afterwards
+     */
+    private static boolean removeAndCheckEmpty(Roaring64Bitmap bitmap, long id) {
+        bitmap.removeLong(id);
+        return bitmap.isEmpty();
+    }
+}
@@ -0,0 +1,414 @@
+package com.stepup.supplierservice.index;
+
+import java.util.Arrays;
+
+/**
+ * Ordered index of product prices backed by sorted parallel primitive arrays.
+ * Entries are kept sorted by {@code (price, id)} in a {@code double[]}/{@code long[]} pair, so a price
+ * range is located with two binary searches and its IDs are returned already in price order. A second
+ * pair sorted by ID maps each product to its current price, so updates and removals find the entry
+ * to move without scanning.
+ * <p>
+ * Inserting or moving an entry shifts the tail of the arrays, which is a single {@code arraycopy}.
+ * This class is not thread-safe; {@link ProductPriceIndex} guards it with a read-write lock.
+ *
+ * @see ProductPriceIndex
+ */
+public class PriceIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The ratio of indexed prices to updated prices above which {@link #putAll(long[], double[], int)} merges the
+     * sorted updates into the price order instead of sorting the whole price order again; i.e. updates of less
+     * than 1% of the index are merged.
+     */
+    private static final int MERGE_RATIO = 100;
+
+    private double[] prices = new double[INITIAL_CAPACITY];
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private long[] idsById = new long[INITIAL_CAPACITY];
+
+    private double[] pricesById = new double[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Indexes the price of a product, replacing any price previously indexed for it.
+     *
+     * @param id    the ID of the product
+     * @param price the price of the product
+     */
+    public void put(long id, double price) {
+        int byId = Arrays.binarySearch(idsById, 0, size, id);
+        if (byId >= 0) {
+            if (Double.compare(pricesById[byId], price) == 0) {
+                return;
+            }
+            removeByPrice(pricesById[byId], id, size);
+            pricesById[byId] = price;
+            insertByPrice(price, id, size - 1);
+            return;
+        }
+
+        ensureCapacity();
+        int insertAt = -(byId + 1);
+        System.arraycopy(idsById, insertAt, idsById, insertAt + 1, size - insertAt);
+        System.arraycopy(pricesById, insertAt, pricesById, insertAt + 1, size - insertAt);
+        idsById[insertAt] = id;
+        pricesById[insertAt] = price;
+        insertByPrice(price, id, size);
+        size++;
+    }
+
+    /**
+     * Indexes the prices of many products, replacing any prices previously indexed for them.
+     * Rather than moving each entry with {@link #put(long, double)}, which shifts the arrays once per product,
+     * the price order is rebuilt in a single pass: updates of a small fraction of the index are sorted and merged
+     * into it, larger ones are written in ID order and the whole price order is sorted again.
+     *
+     * @param updatedIds    the IDs of the products
+     * @param updatedPrices the prices of the products, parallel to {@code updatedIds}
+     * @param count         the number of products
+     */
+    public void putAll(long[] updatedIds, double[] updatedPrices, int count) {
+        int missing = 0;
+        long[] missingIds = new long[count];
+        double[] missingPrices = new double[count];
+        boolean merge = (long) count * MERGE_RATIO < size;
+        int moved = 0;
+        int[] movedPositions = merge ? new int[count] : null;
+        long[] movedIds = merge ? new long[count] : null;
+        for (int i = 0; i < count; i++) {
+            int byId = Arrays.binarySearch(idsById, 0, size, updatedIds[i]);
+            if (byId < 0) {
+                missingIds[missing] = updatedIds[i];
+                missingPrices[missing] = updatedPrices[i];
+                missing++;
+                continue;
+            }
+            if (merge && Double.compare(pricesById[byId], updatedPrices[i]) != 0) {
+                // A product updated twice is only found at its original price, so it is moved once
+                int position = positionByPrice(pricesById[byId], updatedIds[i], size);
+                if (position >= 0) {
+                    movedPositions[moved] = position;
+                    movedIds[moved] = updatedIds[i];
+                    moved++;
+                }
+            }
+            pricesById[byId] = updatedPrices[i];
+        }
+
+        if (merge) {
+            mergeByPrice(movedPositions, movedIds, moved);
+        } else {
+            System.arraycopy(idsById, 0, ids, 0, size);
+            System.arraycopy(pricesById, 0, prices, 0, size);
+            sortByPrice(size);
+        }
+        for (int i = 0; i < missing; i++) {
+            put(missingIds[i], missingPrices[i]);
+        }
+    }
+
+    /**
+     * Removes the price of a product from the index.
+     *
+     * @param id the ID of the product
+     */
+    public void remove(long id) {
+        int byId = Arrays.binarySearch(idsById, 0, size, id);
+        if (byId < 0) {
+            return;
+        }
+
+        removeByPrice(pricesById[byId], id, size);
+        System.arraycopy(idsById, byId + 1, idsById, byId, size - byId - 1);
+        System.arraycopy(pricesById, byId + 1, pricesById, byId, size - byId - 1);
+        size--;
+    }
+
+    /**
+     * Removes all prices from the index.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Replaces the content of the index with the given products in one pass.
+     * Much faster than repeated {@link #put(long, double)} calls, which shift the arrays on every insert.
+     *
+     * @param sortedIds the IDs of the products in strictly ascending order
+     * @param prices    the prices of the products, parallel to {@code sortedIds}
+     * @param count     the number of products
+     * @throws IllegalArgumentException if the IDs are not in strictly ascending order
+     */
+    public void load(long[] sortedIds, double[] prices, int count) {
+        for (int i = 1; i < count; i++) {
+            if (sortedIds[i - 1] >= sortedIds[i]) {
+                throw new IllegalArgumentException("IDs must be in ascending order");
+            }
+        }
+
+        int capacity = Math.max(count, INITIAL_CAPACITY);
+        this.idsById = Arrays.copyOf(sortedIds, capacity);
+        this.pricesById = Arrays.copyOf(prices, capacity);
+        this.ids = Arrays.copyOf(sortedIds, capacity);
+        this.prices = Arrays.copyOf(prices, capacity);
+        sortByPrice(count);
+        this.size = count;
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return the number of indexed products
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the indexed price of a product.
+     *
+     * @param id the ID of the product
+     * @return the price, or {@link Double#NaN} if the product is not indexed
+     */
+    public double priceOf(long id) {
+        int byId = Arrays.binarySearch(idsById, 0, size, id);
+        return byId >= 0 ? pricesById[byId] : Double.NaN;
+    }
+
+    /**
+     * Finds one page of the products whose price lies within the given bounds.
+     *
+     * @param from          the lower bound of the price
+     * @param fromInclusive whether products priced exactly {@code from} match
+     * @param to            the upper bound of the price
+     * @param toInclusive   whether products priced exactly {@code to} match
+     * @param offset        the number of matching products to skip
+     * @param limit         the maximum number of products to return
+     * @return the IDs of the matching products ordered by price, then ID
+     */
+    public long[] range(double from, boolean fromInclusive, double to, boolean toInclusive, long offset, int limit) {
+        int start = fromInclusive ? firstAtLeast(from, size) : firstGreaterThan(from, size);
+        int end = toInclusive ? firstGreaterThan(to, size) : firstAtLeast(to, size);
+        if (start + offset >= end) {
+            return new long[0];
+        }
+
+        int pageStart = (int) (start + offset);
+        return Arrays.copyOfRange(ids, pageStart, Math.min(end, pageStart + limit));
+    }
+
+    /**
+     * Utility method to find the first position in price order whose price is at least the given one.
+     *
+     * @param price the price
+     * @param count the number of entries in price order
+     * @return the position, or {@code count} if there is none
+     */
+    private int firstAtLeast(double price, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Utility method to find the first position in price order whose price is greater than the given one.
+     *
+     * @param price the price
+     * @param count the number of entries in price order
+     * @return the position, or {@code count} if there is none
+     */
+    private int firstGreaterThan(double price, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Utility method to find the position of an entry in price order.
+     *
+     * @param price the price of the entry
+     * @param id    the ID of the entry
+     * @param count the number of entries in price order
+     * @return the position if found, otherwise {@code -(insertion point) - 1}
+     */
+    private int positionByPrice(double price, long id, int count) {
+        return Arrays.binarySearch(ids, firstAtLeast(price, count), firstGreaterThan(price, count), id);
+    }
+
+    /**
+     * Utility method to insert an entry in price order.
+     * Callers ensure the capacity and maintain {@code size}.
+     *
+     * @param price the price of the entry
+     * @param id    the ID of the entry
+     * @param count the number of entries in price order before the insertion
+     */
+    private void insertByPrice(double price, long id, int count) {
+        int insertAt = -(positionByPrice(price, id, count) + 1);
+        System.arraycopy(prices, insertAt, prices, insertAt + 1, count - insertAt);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, count - insertAt);
+        prices[insertAt] = price;
+        ids[insertAt] = id;
+    }
+
+    /**
+     * Utility method to remove an entry from price order.
+     *
+     * @param price the price of the entry
+     * @param id    the ID of the entry
+     * @param count the number of entries in price order before the removal
+     */
+    private void removeByPrice(double price, long id, int count) {
+        int index = positionByPrice(price, id, count);
+        System.arraycopy(prices, index + 1, prices, index, count - index - 1);
+        System.arraycopy(ids, index + 1, ids, index, count - index - 1);
+    }
+
+    /**
+     * Utility method to move entries to their new prices in price order in one pass: the entries are removed
+     * from their old positions by shifting the rest of the arrays down, then merged back from the end of the
+     * arrays in the order of their new prices, which are read from the ID order.
+     *
+     * @param positions the old positions of the entries in price order, in any order; sorted by this method
+     * @param movedIds  the IDs of the entries, parallel to {@code positions}
+     * @param count     the number of entries
+     */
+    private void mergeByPrice(int[] positions, long[] movedIds, int count) {
+        if (count == 0) {
+            return;
+        }
+
+        Integer[] order = new Integer[count];
+        double[] movedPrices = new double[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            movedPrices[i] = pricesById[Arrays.binarySearch(idsById, 0, size, movedIds[i])];
+        }
+        Arrays.sort(order, (a, b) -> compareByPrice(movedPrices[a], movedIds[a], movedPrices[b], movedIds[b]));
+
+        Arrays.sort(positions, 0, count);
+        int write = positions[0];
+        for (int i = 0; i < count; i++) {
+            int from = positions[i] + 1;
+            int to = i + 1 < count ? positions[i + 1] : size;
+            System.arraycopy(prices, from, prices, write, to - from);
+            System.arraycopy(ids, from, ids, write, to - from);
+            write += to - from;
+        }
+
+        int kept = size - count - 1;
+        int next = count - 1;
+        for (int target = size - 1; next >= 0; target--) {
+            int entry = order[next];
+            if (kept >= 0 && compareByPrice(prices[kept], ids[kept], movedPrices[entry], movedIds[entry]) > 0) {
+                prices[target] = prices[kept];
+                ids[target] = ids[kept];
+                kept--;
+            } else {
+                prices[target] = movedPrices[entry];
+                ids[target] = movedIds[entry];
+                next--;
+            }
+        }
+    }
+
+    /**
+     * Utility method to compare two entries in price order, as sorted by {@link #sortByPrice(int)}.
+     *
+     * @param price      the price of the first entry
+     * @param id         the ID of the first entry
+     * @param otherPrice the price of the second entry
+     * @param otherId    the ID of the second entry
+     * @return a negative number, zero or a positive number if the first entry comes before, is or comes after
+     * the second one
+     */
+    private static int compareByPrice(double price, long id, double otherPrice, long otherId) {
+        int byPrice = Double.compare(price, otherPrice);
+        return byPrice != 0 ? byPrice : Long.compare(id, otherId);
+    }
+
+    /**
+     * Utility method to sort the price-ordered arrays, which initially hold the entries in ID order.
+     * Uses a stable least-significant-digit radix sort over the order-preserving bit patterns of the
+     * prices, so entries with equal prices keep their ascending IDs.
+     *
+     * @param count the number of entries
+     */
+    private void sortByPrice(int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            long bits = Double.doubleToLongBits(prices[i]);
+            // Flip all bits of negative values and only the sign bit of positive ones
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+
+        long[] sortedIds = ids;
+        long[] keyBuffer = new long[count];
+        long[] idBuffer = new long[count];
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            int[] offsets = new int[257];
+            for (int i = 0; i < count; i++) {
+                offsets[(int) ((keys[i] >>> shift) & 0xFF) + 1]++;
+            }
+            for (int digit = 0; digit < 256; digit++) {
+                offsets[digit + 1] += offsets[digit];
+            }
+            for (int i = 0; i < count; i++) {
+                int target = offsets[(int) ((keys[i] >>> shift) & 0xFF)]++;
+                keyBuffer[target] = keys[i];
+                idBuffer[target] = sortedIds[i];
+            }
+
+            long[] swap = keys;
+            keys = keyBuffer;
+            keyBuffer = swap;
+            swap = sortedIds;
+            sortedIds = idBuffer;
+            idBuffer = swap;
+        }
+
+        // An even number of passes leaves the result in the original arrays
+        for (int i = 0; i < count; i++) {
+            long key = keys[i];
+            prices[i] = Double.longBitsToDouble(key < 0 ? key ^ Long.MIN_VALUE : ~key);
+        }
+    }
+
+    /**
+     * Utility method to grow the arrays when they are full.
+     */
+    private void ensureCapacity() {
+        if (size < ids.length) {
+            return;
+        }
+
+        int capacity = ids.length * 2;
+        prices = Arrays.copyOf(prices, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        idsById = Arrays.copyOf(idsById, capacity);
+        pricesById = Arrays.copyOf(pricesById, capacity);
+    }
+}
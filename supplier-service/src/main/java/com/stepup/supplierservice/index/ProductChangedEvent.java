@@ -0,0 +1,59 @@
+package com.stepup.supplierservice.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published whenever a product is inserted, updated or removed through JPA.
+ * Carries the indexed fields as they were written, so listeners do not need to reload the product,
+ * and the category and price the product had before, so listeners can tell what it moved out of.
+ *
+ * @see ProductIndexingListener
+ * @see ProductSearchIndex
+ * @see lombok.Getter
+ * @see lombok.AllArgsConstructor
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    /**
+     * The ID of the changed product.
+     */
+    private final Long id;
+
+    /**
+     * The name of the product, as written or, if the product was removed, as last stored.
+     */
+    private final String name;
+
+    /**
+     * The description of the product, as written or, if the product was removed, as last stored.
+     */
+    private final String description;
+
+    /**
+     * The price of the product, as written or, if the product was removed, as last stored.
+     */
+    private final double price;
+
+    /**
+     * The ID of the category of the product, as written or, if the product was removed, as last stored.
+     */
+    private final Long categoryId;
+
+    /**
+     * The ID of the category of the product before the change, or {@code null} if the product was inserted.
+     */
+    private final Long previousCategoryId;
+
+    /**
+     * The price of the product before the change, or {@code null} if the product was inserted.
+     */
+    private final Double previousPrice;
+
+    /**
+     * Whether the product was removed.
+     */
+    private final boolean removed;
+}
@@ -0,0 +1,132 @@
+package com.stepup.supplierservice.index;
+
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evaluates combined product filters against the in-memory indexes.
+ * Each restriction of a {@link ProductFilterDto} becomes a bitmap of matching product IDs: the ID list,
+ * the categories and the price range from {@link ProductFilterIndex}, and the keyword searches from
+ * {@link ProductSearchIndex}. The bitmaps are intersected, and negated keywords are subtracted, so the
+ * cost depends on the size of the bitmaps rather than on the number of rows a database query would scan.
+ * <p>
+ * Price range boundaries falling inside a price bucket are resolved against the exact prices of
+ * {@link ProductPriceIndex}.
+ *
+ * @see ProductFilterIndex
+ * @see com.stepup.supplierservice.service.ProductService
+ */
+@Component
+public class ProductFilterEvaluator {
+
+    private final ProductFilterIndex productFilterIndex;
+
+    private final ProductPriceIndex productPriceIndex;
+
+    private final ProductSearchIndex productSearchIndex;
+
+    /**
+     * Constructs a new ProductFilterEvaluator with the specified indexes.
+     *
+     * @param productFilterIndex the category and price bucket bitmaps
+     * @param productPriceIndex  the exact prices
+     * @param productSearchIndex the name and description search index
+     */
+    public ProductFilterEvaluator(ProductFilterIndex productFilterIndex,
+                                  ProductPriceIndex productPriceIndex,
+                                  ProductSearchIndex productSearchIndex) {
+        this.productFilterIndex = productFilterIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.productSearchIndex = productSearchIndex;
+    }
+
+    /**
+     * Checks whether all indexes are built.
+     *
+     * @return {@code true} if filters can be evaluated
+     */
+    public boolean isReady() {
+        return productFilterIndex.isReady() && productPriceIndex.isReady() && productSearchIndex.isReady();
+    }
+
+    /**
+     * Finds one page of the products matching all restrictions of the filter.
+     *
+     * @param filter the filter
+     * @param offset the number of matching products to skip
+     * @param limit  the maximum number of products to return
+     * @return the IDs of the matching products in ascending order
+     */
+    public long[] findMatching(ProductFilterDto filter, long offset, int limit) {
+        Roaring64Bitmap matching = evaluate(filter);
+        long cardinality = matching.getLongCardinality();
+        if (offset >= cardinality) {
+            return new long[0];
+        }
+
+        long[] page = new long[(int) Math.min(limit, cardinality - offset)];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = matching.select(offset + i);
+        }
+        return page;
+    }
+
+    /**
+     * Computes the bitmap of all products matching the filter.
+     *
+     * @param filter the filter
+     * @return a new bitmap of the IDs of the matching products
+     */
+    public Roaring64Bitmap evaluate(ProductFilterDto filter) {
+        Roaring64Bitmap result = null;
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            Roaring64Bitmap ids = new Roaring64Bitmap();
+            filter.getIds().forEach(ids::addLong);
+            result = ids;
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            result = and(result, productFilterIndex.inCategories(filter.getCategoryIds()));
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            double from = filter.getMinPrice() != null ? filter.getMinPrice() : Double.NEGATIVE_INFINITY;
+            double to = filter.getMaxPrice() != null ? filter.getMaxPrice() : Double.POSITIVE_INFINITY;
+            boolean fromInclusive = !filter.isMinPriceExclusive();
+            boolean toInclusive = !filter.isMaxPriceExclusive();
+            result = and(result, productFilterIndex.priceBetween(from, fromInclusive, to, toInclusive,
+                    candidates -> productPriceIndex.retainBetween(candidates, from, fromInclusive, to, toInclusive)));
+        }
+        if (filter.getNameContains() != null) {
+            result = and(result, Roaring64Bitmap.bitmapOf(productSearchIndex.searchByName(filter.getNameContains())));
+        }
+        if (filter.getDescriptionContains() != null) {
+            result = and(result, Roaring64Bitmap.bitmapOf(
+                    productSearchIndex.searchByDescription(filter.getDescriptionContains())));
+        }
+        if (result == null) {
+            result = productFilterIndex.all();
+        } else if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            // Requested IDs are not necessarily existing products
+            result.and(productFilterIndex.all());
+        }
+        if (filter.getNameNotContains() != null) {
+            result.andNot(Roaring64Bitmap.bitmapOf(productSearchIndex.searchByName(filter.getNameNotContains())));
+        }
+        return result;
+    }
+
+    /**
+     * Utility method to intersect the restrictions evaluated so far with another one.
+     *
+     * @param result      the restrictions evaluated so far, or {@code null} if there are none
+     * @param restriction the restriction
+     * @return the intersection
+     */
+    private static Roaring64Bitmap and(Roaring64Bitmap result, Roaring64Bitmap restriction) {
+        if (result == null) {
+            return restriction;
+        }
+        result.and(restriction);
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package com.stepup.supplierservice.index;
+
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index over the category and price of all products.
+ * The index is built from the database once the application is ready, kept up to date from
+ * {@link ProductChangedEvent}s and {@link ProductsBulkDeletedEvent}s after the writing transaction commits,
+ * including the products changed by bulk updates. Queries run under a shared read lock and return
+ * copies, so callers can combine the results freely.
+ * <p>
+ * While the index is being built, {@link #isReady()} returns {@code false} and callers should
+ * query the database instead.
+ *
+ * @see BitmapIndex
+ * @see ProductFilterEvaluator
+ */
+@Slf4j
+@Component
+public class ProductFilterIndex {
+
+    private final ProductRepository productRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final BitmapIndex bitmaps = new BitmapIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new ProductFilterIndex with the specified ProductRepository and PlatformTransactionManager.
+     *
+     * @param productRepository  the repository the index is built from
+     * @param transactionManager the transaction manager used to stream all products in a read-only transaction
+     */
+    public ProductFilterIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index from all products in the database, reading from the primary, since a lagging replica
+     * could miss changes already applied to the index.
+     * Holds the write lock for the duration of the build, so changes committed meanwhile are applied afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            bitmaps.clear();
+            ReplicaRoutingDataSource.runOnPrimary(() -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductDto> products = productRepository.streamAllBy()) {
+                    products.forEach(product ->
+                            bitmaps.put(product.getId(), product.getCategoryId(), product.getPrice()));
+                }
+            }));
+            ready = true;
+            log.info("Built product filter index with " + bitmaps.size() + " products");
+        } catch (Exception e) {
+            log.error("Failed to build product filter index: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product change to the index.
+     * Also runs for changes made outside a transaction.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isRemoved()) {
+                bitmaps.remove(event.getId());
+            } else {
+                bitmaps.put(event.getId(), event.getCategoryId(), event.getPrice());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the categories and prices of the products updated by a committed bulk update.
+     * Also runs for updates made outside a transaction.
+     *
+     * @param event the bulk update
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkUpdated(ProductsBulkUpdatedEvent event) {
+        if (!event.isPriceChanged() && !event.isCategoryChanged()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (ProductDto product : event.getProducts()) {
+                bitmaps.put(product.getId(), product.getCategoryId(), product.getPrice());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the products deleted by a committed bulk delete.
+     * Also runs for deletes made outside a transaction.
+     *
+     * @param event the bulk delete
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkDeleted(ProductsBulkDeletedEvent event) {
+        removeAll(event.getIds());
+    }
+
+    /**
+     * Removes products that no longer exist, e.g. deleted by another instance and found missing while loading
+     * a page.
+     *
+     * @param ids the IDs of the removed products
+     */
+    public void removeAll(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                bitmaps.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the index is built.
+     *
+     * @return {@code true} if the index can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns all products.
+     *
+     * @return a new bitmap of the IDs of all products
+     */
+    public Roaring64Bitmap all() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.all();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the products belonging to any of the specified categories.
+     *
+     * @param categoryIds the IDs of the categories
+     * @return a new bitmap of the IDs of the matching products
+     */
+    public Roaring64Bitmap inCategories(Collection<Long> categoryIds) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.inCategories(categoryIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the products whose price lies within the given bounds.
+     *
+     * @param from          the lower bound of the price
+     * @param fromInclusive whether products priced exactly {@code from} match
+     * @param to            the upper bound of the price
+     * @param toInclusive   whether products priced exactly {@code to} match
+     * @param refine        selects the products of a boundary bucket whose exact price lies within the bounds
+     * @return a new bitmap of the IDs of the matching products
+     */
+    public Roaring64Bitmap priceBetween(double from, boolean fromInclusive,
+                                        double to, boolean toInclusive,
+                                        UnaryOperator<Roaring64Bitmap> refine) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.priceBetween(from, fromInclusive, to, toInclusive, refine);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
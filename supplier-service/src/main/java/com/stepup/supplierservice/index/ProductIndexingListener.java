@@ -0,0 +1,80 @@
+package com.stepup.supplierservice.index;
+
+import com.stepup.supplierservice.entity.Product;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener publishing a {@link ProductChangedEvent} for every product written through the
+ * persistence context. Hibernate obtains it from the Spring container, so it can use constructor injection.
+ * Events are published inside the writing transaction and delivered to the in-memory indexes and the
+ * query result cache after commit.
+ *
+ * @see ProductChangedEvent
+ * @see ProductSearchIndex
+ * @see jakarta.persistence.EntityListeners
+ */
+@Component
+public class ProductIndexingListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new ProductIndexingListener with the specified ApplicationEventPublisher.
+     *
+     * @param eventPublisher the publisher used to announce product changes
+     */
+    public ProductIndexingListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records the category and price of a product loaded from the database.
+     *
+     * @param product the loaded product
+     */
+    @PostLoad
+    public void productLoaded(Product product) {
+        product.markPersisted();
+    }
+
+    /**
+     * Publishes the new state of an inserted or updated product, together with its previous category and price.
+     *
+     * @param product the written product
+     */
+    @PostPersist
+    @PostUpdate
+    public void productWritten(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getCategoryId(),
+                product.getPersistedCategoryId(),
+                product.getPersistedPrice(),
+                false));
+        product.markPersisted();
+    }
+
+    /**
+     * Publishes the removal of a product, together with its last stored state.
+     *
+     * @param product the removed product
+     */
+    @PostRemove
+    public void productRemoved(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getCategoryId(),
+                product.getPersistedCategoryId(),
+                product.getPersistedPrice(),
+                true));
+    }
+}
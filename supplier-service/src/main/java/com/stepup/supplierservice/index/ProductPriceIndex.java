@@ -0,0 +1,268 @@
+package com.stepup.supplierservice.index;
+
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory price index over all products, answering price range queries with binary searches.
+ * The index is built from the database once the application is ready, kept up to date from
+ * {@link ProductChangedEvent}s and {@link ProductsBulkDeletedEvent}s after the writing transaction commits,
+ * including the products changed by bulk updates.
+ * Queries run under a shared read lock, so they proceed in parallel and only wait for the short
+ * exclusive updates.
+ * <p>
+ * While the index is being built, {@link #isReady()} returns {@code false} and callers should
+ * query the database instead.
+ *
+ * @see PriceIndex
+ * @see ProductIndexingListener
+ * @see com.stepup.supplierservice.service.ProductService
+ */
+@Slf4j
+@Component
+public class ProductPriceIndex {
+
+    private final ProductRepository productRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final PriceIndex prices = new PriceIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new ProductPriceIndex with the specified ProductRepository and PlatformTransactionManager.
+     *
+     * @param productRepository  the repository the index is built from
+     * @param transactionManager the transaction manager used to stream all products in a read-only transaction
+     */
+    public ProductPriceIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index from all products in the database, reading from the primary, since a lagging replica
+     * could miss changes already applied to the index.
+     * Holds the write lock for the duration of the build, so changes committed meanwhile are applied afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ReplicaRoutingDataSource.runOnPrimary(() -> transactionTemplate.executeWithoutResult(status -> {
+                long[] ids = new long[1024];
+                double[] productPrices = new double[1024];
+                int count = 0;
+                try (Stream<ProductDto> products = productRepository.streamAllBy()) {
+                    for (ProductDto product : (Iterable<ProductDto>) products::iterator) {
+                        if (count == ids.length) {
+                            ids = Arrays.copyOf(ids, count * 2);
+                            productPrices = Arrays.copyOf(productPrices, count * 2);
+                        }
+                        ids[count] = product.getId();
+                        productPrices[count] = product.getPrice();
+                        count++;
+                    }
+                }
+                prices.load(ids, productPrices, count);
+            }));
+            ready = true;
+            log.info("Built product price index with " + prices.size() + " products");
+        } catch (Exception e) {
+            log.error("Failed to build product price index: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product change to the index.
+     * Also runs for changes made outside a transaction.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isRemoved()) {
+                prices.remove(event.getId());
+            } else {
+                prices.put(event.getId(), event.getPrice());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the prices of the products updated by a committed bulk update.
+     * Also runs for updates made outside a transaction.
+     *
+     * @param event the bulk update
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkUpdated(ProductsBulkUpdatedEvent event) {
+        if (!event.isPriceChanged() || event.getProducts().isEmpty()) {
+            return;
+        }
+
+        int count = event.getProducts().size();
+        long[] ids = new long[count];
+        double[] productPrices = new double[count];
+        for (int i = 0; i < count; i++) {
+            ProductDto product = event.getProducts().get(i);
+            ids[i] = product.getId();
+            productPrices[i] = product.getPrice();
+        }
+        lock.writeLock().lock();
+        try {
+            prices.putAll(ids, productPrices, count);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the products deleted by a committed bulk delete.
+     * Also runs for deletes made outside a transaction.
+     *
+     * @param event the bulk delete
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkDeleted(ProductsBulkDeletedEvent event) {
+        removeAll(event.getIds());
+    }
+
+    /**
+     * Removes products that no longer exist, e.g. deleted by another instance and found missing while loading
+     * a page.
+     *
+     * @param ids the IDs of the removed products
+     */
+    public void removeAll(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                prices.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the index is built.
+     *
+     * @return {@code true} if the index can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds one page of the products with prices within the specified range (inclusive).
+     *
+     * @param min    the minimum price
+     * @param max    the maximum price
+     * @param offset the number of matching products to skip
+     * @param limit  the maximum number of products to return
+     * @return the IDs of the matching products ordered by price, then ID
+     */
+    public long[] findBetween(double min, double max, long offset, int limit) {
+        return range(min, true, max, true, offset, limit);
+    }
+
+    /**
+     * Finds one page of the products with prices greater than the specified value.
+     *
+     * @param min    the exclusive minimum price
+     * @param offset the number of matching products to skip
+     * @param limit  the maximum number of products to return
+     * @return the IDs of the matching products ordered by price, then ID
+     */
+    public long[] findGreaterThan(double min, long offset, int limit) {
+        return range(min, false, Double.POSITIVE_INFINITY, true, offset, limit);
+    }
+
+    /**
+     * Finds one page of the products with prices less than the specified value.
+     *
+     * @param max    the exclusive maximum price
+     * @param offset the number of matching products to skip
+     * @param limit  the maximum number of products to return
+     * @return the IDs of the matching products ordered by price, then ID
+     */
+    public long[] findLessThan(double max, long offset, int limit) {
+        return range(Double.NEGATIVE_INFINITY, true, max, false, offset, limit);
+    }
+
+    /**
+     * Selects the candidate products whose price lies within the given bounds.
+     *
+     * @param candidates    the IDs of the candidate products
+     * @param from          the lower bound of the price
+     * @param fromInclusive whether products priced exactly {@code from} match
+     * @param to            the upper bound of the price
+     * @param toInclusive   whether products priced exactly {@code to} match
+     * @return the IDs of the matching candidates
+     */
+    public Roaring64Bitmap retainBetween(Roaring64Bitmap candidates,
+                                         double from, boolean fromInclusive,
+                                         double to, boolean toInclusive) {
+        Roaring64Bitmap matching = new Roaring64Bitmap();
+        lock.readLock().lock();
+        try {
+            candidates.forEach(id -> {
+                double price = prices.priceOf(id);
+                if ((fromInclusive ? price >= from : price > from) && (toInclusive ? price <= to : price < to)) {
+                    matching.addLong(id);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matching;
+    }
+
+    /**
+     * Finds one page of the products with prices within the given bounds.
+     *
+     * @param from          the lower bound of the price
+     * @param fromInclusive whether the lower bound is inclusive
+     * @param to            the upper bound of the price
+     * @param toInclusive   whether the upper bound is inclusive
+     * @param offset        the number of matching products to skip
+     * @param limit         the maximum number of products to return
+     * @return the IDs of the matching products ordered by price, then ID
+     */
+    public long[] range(double from, boolean fromInclusive, double to, boolean toInclusive, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return prices.range(from, fromInclusive, to, toInclusive, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.stepup.supplierservice.index;
+
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory substring index over the names and descriptions of all products.
+ * The index is built from the database once the application is ready, and kept up to date from
+ * {@link ProductChangedEvent}s and {@link ProductsBulkDeletedEvent}s after the writing transaction commits. Searches run under a shared read
+ * lock, so they proceed in parallel and only wait for the short exclusive updates.
+ * <p>
+ * Until the initial build has finished, {@link #isReady()} returns {@code false} and callers should
+ * search the database instead.
+ *
+ * @see TrigramIndex
+ * @see ProductIndexingListener
+ * @see com.stepup.supplierservice.service.ProductService
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TrigramIndex names = new TrigramIndex();
+
+    private final TrigramIndex descriptions = new TrigramIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * Constructs a new ProductSearchIndex with the specified ProductRepository and PlatformTransactionManager.
+     *
+     * @param productRepository  the repository the index is built from
+     * @param transactionManager the transaction manager used to stream all products in a read-only transaction
+     */
+    public ProductSearchIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index from all products in the database, reading from the primary, since a lagging replica
+     * could miss changes already applied to the index.
+     * Holds the write lock for the duration of the build, so changes committed meanwhile are applied afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            descriptions.clear();
+            ReplicaRoutingDataSource.runOnPrimary(() -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductDto> products = productRepository.streamAllBy()) {
+                    products.forEach(product -> {
+                        names.put(product.getId(), product.getName());
+                        descriptions.put(product.getId(), product.getDescription());
+                    });
+                }
+            }));
+            ready = true;
+            log.info("Built product search index with " + names.size() + " products");
+        } catch (Exception e) {
+            log.error("Failed to build product search index: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed product change to the index.
+     * Also runs for changes made outside a transaction.
+     *
+     * @param event the product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isRemoved()) {
+                names.remove(event.getId());
+                descriptions.remove(event.getId());
+            } else {
+                names.put(event.getId(), event.getName());
+                descriptions.put(event.getId(), event.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the products deleted by a committed bulk delete.
+     * Also runs for deletes made outside a transaction.
+     *
+     * @param event the bulk delete
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkDeleted(ProductsBulkDeletedEvent event) {
+        removeAll(event.getIds());
+    }
+
+    /**
+     * Removes products that no longer exist, e.g. deleted by another instance and found missing while loading
+     * a page.
+     *
+     * @param ids the IDs of the removed products
+     */
+    public void removeAll(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                names.remove(id);
+                descriptions.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the initial build has finished.
+     *
+     * @return {@code true} if the index can answer searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the products whose name contains the keyword, ignoring case.
+     *
+     * @param keyword the keyword to search for
+     * @return the IDs of the matching products in ascending order
+     */
+    public long[] searchByName(String keyword) {
+        lock.readLock().lock();
+        try {
+            return names.search(keyword);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the products whose description contains the keyword, ignoring case.
+     *
+     * @param keyword the keyword to search for
+     * @return the IDs of the matching products in ascending order
+     */
+    public long[] searchByDescription(String keyword) {
+        lock.readLock().lock();
+        try {
+            return descriptions.search(keyword);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.stepup.supplierservice.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Application event published after each chunk of a set-based bulk delete has been committed.
+ * Bulk statements bypass the JPA callbacks, so the deleted products must be removed from the in-memory indexes,
+ * and results cached for them must be dropped.
+ *
+ * @see com.stepup.supplierservice.service.ProductService#deleteProducts(com.stepup.supplierservice.dto.ProductFilterDto)
+ * @see com.stepup.supplierservice.cache.ProductQueryCache
+ * @see lombok.Getter
+ * @see lombok.AllArgsConstructor
+ */
+@Getter
+@AllArgsConstructor
+public class ProductsBulkDeletedEvent {
+
+    /**
+     * The IDs of the products deleted by the chunk.
+     */
+    private final List<Long> ids;
+}
@@ -0,0 +1,38 @@
+package com.stepup.supplierservice.index;
+
+import com.stepup.supplierservice.dto.ProductDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Application event published after each chunk of a set-based bulk update has been committed.
+ * Bulk statements bypass the JPA callbacks, so the updated products must be applied to the indexes over the
+ * updated fields.
+ *
+ * @see com.stepup.supplierservice.service.ProductService#updateProducts(com.stepup.supplierservice.dto.ProductBulkUpdateDto)
+ * @see ProductPriceIndex
+ * @see ProductFilterIndex
+ * @see lombok.Getter
+ * @see lombok.AllArgsConstructor
+ */
+@Getter
+@AllArgsConstructor
+public class ProductsBulkUpdatedEvent {
+
+    /**
+     * The products updated by the chunk, as of the update.
+     */
+    private final List<ProductDto> products;
+
+    /**
+     * Whether the prices of the products were changed.
+     */
+    private final boolean priceChanged;
+
+    /**
+     * Whether the categories of the products were changed.
+     */
+    private final boolean categoryChanged;
+}
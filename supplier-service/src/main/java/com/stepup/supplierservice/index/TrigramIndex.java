@@ -0,0 +1,246 @@
+package com.stepup.supplierservice.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive substring index over one text field of the products.
+ * Every lower-cased text is split into overlapping three-character grams, and each gram maps to a
+ * sorted {@code long[]} posting list of the IDs of the products containing it. A substring search
+ * intersects the posting lists of the keyword's grams, starting with the shortest, and verifies the
+ * remaining candidates against the stored text.
+ * <p>
+ * Keywords shorter than three characters have no grams and are answered by scanning the stored texts.
+ * This class is not thread-safe; {@link ProductSearchIndex} guards it with a read-write lock.
+ *
+ * @see ProductSearchIndex
+ */
+public class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, String> texts = new HashMap<>();
+
+    /**
+     * Indexes the text of a product, replacing any text previously indexed for it.
+     *
+     * @param id   the ID of the product
+     * @param text the text to index, or {@code null} to only remove the previous text
+     */
+    public void put(long id, String text) {
+        remove(id);
+        if (text == null) {
+            return;
+        }
+
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        texts.put(id, lowerText);
+        for (long gram : grams(lowerText)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the text of a product from the index.
+     *
+     * @param id the ID of the product
+     */
+    public void remove(long id) {
+        String lowerText = texts.remove(id);
+        if (lowerText == null) {
+            return;
+        }
+
+        for (long gram : grams(lowerText)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList != null && postingList.remove(id) && postingList.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Removes all texts from the index.
+     */
+    public void clear() {
+        postings.clear();
+        texts.clear();
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return the number of indexed products
+     */
+    public int size() {
+        return texts.size();
+    }
+
+    /**
+     * Finds the products whose text contains the keyword, ignoring case.
+     *
+     * @param keyword the keyword to search for
+     * @return the IDs of the matching products in ascending order
+     */
+    public long[] search(String keyword) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        if (lowerKeyword.length() < GRAM_LENGTH) {
+            return scan(lowerKeyword);
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (long gram : distinct(grams(lowerKeyword))) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return new long[0];
+            }
+            lists.add(postingList);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        // Walk the shortest list; its order is ascending, so the result is too
+        PostingList shortest = lists.get(0);
+        long[] result = new long[shortest.size()];
+        int count = 0;
+        candidates:
+        for (int i = 0; i < shortest.size(); i++) {
+            long id = shortest.get(i);
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(id)) {
+                    continue candidates;
+                }
+            }
+            // All grams present does not imply the keyword is, e.g. "abcab" for "bcabc"
+            if (texts.get(id).contains(lowerKeyword)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Utility method to find the products containing a keyword too short to have grams.
+     *
+     * @param lowerKeyword the lower-cased keyword
+     * @return the IDs of the matching products in ascending order
+     */
+    private long[] scan(String lowerKeyword) {
+        return texts.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(lowerKeyword))
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Utility method to encode the grams of a lower-cased text.
+     * Each gram packs its three UTF-16 characters into the low 48 bits of a long.
+     *
+     * @param lowerText the lower-cased text
+     * @return the grams of the text, possibly with duplicates
+     */
+    private static long[] grams(String lowerText) {
+        int count = Math.max(0, lowerText.length() - GRAM_LENGTH + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) lowerText.charAt(i) << 32)
+                       | ((long) lowerText.charAt(i + 1) << 16)
+                       | lowerText.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    /**
+     * Utility method to remove duplicate grams.
+     *
+     * @param grams the grams
+     * @return the distinct grams
+     */
+    private static long[] distinct(long[] grams) {
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /**
+     * Sorted, duplicate-free list of product IDs backed by a growable {@code long[]}.
+     * IDs are drawn from a sequence, so additions are almost always appends.
+     */
+    static final class PostingList {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        /**
+         * Adds an ID to the list if not already present.
+         *
+         * @param id the ID to add
+         */
+        void add(long id) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        /**
+         * Removes an ID from the list.
+         *
+         * @param id the ID to remove
+         * @return {@code true} if the ID was present
+         */
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Checks whether the list contains an ID.
+         *
+         * @param id the ID to look up
+         * @return {@code true} if the ID is present
+         */
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /**
+         * Returns the ID at a position of the list.
+         *
+         * @param index the position
+         * @return the ID
+         */
+        long get(int index) {
+            return ids[index];
+        }
+
+        /**
+         * Returns the number of IDs in the list.
+         *
+         * @return the number of IDs
+         */
+        int size() {
+            return size;
+        }
+    }
+}
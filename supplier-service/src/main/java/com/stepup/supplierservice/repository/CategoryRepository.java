@@ -2,7 +2,12 @@ package com.stepup.supplierservice.repository;
 
 import com.stepup.supplierservice.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository interface for managing categories.
@@ -15,4 +20,46 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /**
+     * Renames a category with a single statement, if its version is the expected one, and returns the
+     * updated row. The version is incremented; a {@code null} version matches any version.
+     * <p>
+     * The statement bypasses the persistence context, so the caller must evict the category from the
+     * second-level cache.
+     *
+     * @param id      the ID of the category
+     * @param name    the new name
+     * @param version the expected version, or {@code null}
+     * @return the updated category, or empty if the category does not exist or its version differs
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE categories SET name = :name, version = version + 1"
+                                       + " WHERE id = :id"
+                                       + " AND (CAST(:version AS bigint) IS NULL OR version = :version)"
+                                       + " RETURNING id AS \"id\", name AS \"name\", version AS \"version\"")
+    Optional<UpdatedCategory> updateVersioned(@Param("id") Long id,
+                                              @Param("name") String name,
+                                              @Param("version") Long version);
+
+    /**
+     * Projection of a category changed by {@link #updateVersioned}.
+     */
+    interface UpdatedCategory {
+
+        /**
+         * @return the ID of the category
+         */
+        Long getId();
+
+        /**
+         * @return the new name of the category
+         */
+        String getName();
+
+        /**
+         * @return the new version of the category
+         */
+        Long getVersion();
+    }
 }
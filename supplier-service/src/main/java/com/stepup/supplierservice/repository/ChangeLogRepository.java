@@ -0,0 +1,43 @@
+package com.stepup.supplierservice.repository;
+
+import com.stepup.supplierservice.dto.ChangeDto;
+import com.stepup.supplierservice.entity.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository interface for reading the change log.
+ * Entries are only written by database triggers, created by the migration {@code V2__create_change_log.sql}.
+ *
+ * @see org.springframework.stereotype.Repository
+ * @see org.springframework.data.jpa.repository.JpaRepository
+ * @see ChangeLogEntry
+ */
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Retrieves the changes following a sequence number, in sequence order, by a range scan of the primary key.
+     *
+     * @param since the sequence number of the last change already seen
+     * @param limit the maximum number of changes to return
+     * @return the changes with a greater sequence number
+     */
+    @Query("SELECT new com.stepup.supplierservice.dto.ChangeDto("
+           + "c.seq, c.entityType, c.entityId, c.deleted, c.payload, c.changedAt)"
+           + " FROM ChangeLogEntry c WHERE c.seq > :since ORDER BY c.seq")
+    List<ChangeDto> findChangesAfter(@Param("since") long since, Limit limit);
+
+    /**
+     * Retrieves the sequence number of the latest change.
+     *
+     * @return the greatest sequence number, or {@code null} if no change was recorded
+     */
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c")
+    Long findLastSeq();
+}
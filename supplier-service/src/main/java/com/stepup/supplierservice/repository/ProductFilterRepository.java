@@ -0,0 +1,62 @@
+package com.stepup.supplierservice.repository;
+
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository fragment for queries and set-based modifications of the products matching a {@link ProductFilterDto}.
+ * Each method issues set-based statements without loading the products, and runs in its own transaction.
+ * Modifications cover one chunk of the matching products per call, so a transaction never locks more than a
+ * chunk.
+ *
+ * @see ProductRepository
+ * @see ProductFilterRepositoryImpl
+ */
+public interface ProductFilterRepository {
+
+    /**
+     * Retrieves a page of the products matching the filter.
+     *
+     * @param filter   the filter selecting the products
+     * @param pageable the page to retrieve
+     * @return a list of the products on the page
+     */
+    @Transactional(readOnly = true)
+    List<ProductDto> findMatching(ProductFilterDto filter, Pageable pageable);
+
+    /**
+     * Deletes the first products matching the filter after the given ID, in ID order.
+     * The products are locked first, so exactly the products whose IDs are returned are deleted, and only they
+     * are locked by the transaction. Deleting all matching products takes one call per chunk, each after the last
+     * ID returned by the previous one, until fewer than {@code limit} IDs are returned.
+     *
+     * @param filter  the filter selecting the products to delete
+     * @param afterId the ID after which the products are deleted
+     * @param limit   the maximum number of products to delete
+     * @return the IDs of the deleted products in ascending order
+     */
+    @Transactional
+    List<Long> deleteMatching(ProductFilterDto filter, long afterId, int limit);
+
+    /**
+     * Applies the changes to the first products matching the filter after the given ID, in ID order.
+     * The products are locked first, so exactly the returned products are updated, and only they are locked by
+     * the transaction. Updating all matching products takes one call per chunk, as with
+     * {@link #deleteMatching(ProductFilterDto, long, int)}; products that still match the filter after the update
+     * are not updated again.
+     * Increments the versions of the products, so pending versioned updates of them fail.
+     *
+     * @param filter  the filter selecting the products to update
+     * @param changes the changes to apply
+     * @param afterId the ID after which the products are updated
+     * @param limit   the maximum number of products to update
+     * @return the updated products in ID order, as of the update
+     */
+    @Transactional
+    List<ProductDto> updateMatching(ProductFilterDto filter, ProductBulkUpdateDto changes, long afterId, int limit);
+}
@@ -0,0 +1,212 @@
+package com.stepup.supplierservice.repository;
+
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.entity.Category;
+import com.stepup.supplierservice.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria API implementation of {@link ProductFilterRepository}.
+ * Statements are built from the filter with bound parameters and executed directly in the
+ * database, without loading the affected products. Updates and deletes first lock one chunk of the matching
+ * rows, by keyset over the ID, and then modify them by ID with a single statement, so the affected products
+ * can be reported to the in-memory indexes.
+ *
+ * @see ProductFilterRepository
+ * @see jakarta.persistence.criteria.CriteriaUpdate
+ * @see jakarta.persistence.criteria.CriteriaDelete
+ */
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    /**
+     * The escape character of the LIKE patterns built from keywords.
+     */
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductDto> findMatching(ProductFilterDto filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDto> query = cb.createQuery(ProductDto.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductDto.class,
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("description"),
+                        root.get("price"),
+                        root.get("categoryId"),
+                        root.get("version")))
+                .where(toPredicates(cb, root, filter))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> deleteMatching(ProductFilterDto filter, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<Long> ids = lockMatching(cb, filter, afterId, limit);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        CriteriaDelete<Product> delete = cb.createCriteriaDelete(Product.class);
+        Root<Product> root = delete.from(Product.class);
+        delete.where(root.get("id").in(ids));
+        entityManager.createQuery(delete).executeUpdate();
+        return ids;
+    }
+
+    @Override
+    public List<ProductDto> updateMatching(ProductFilterDto filter, ProductBulkUpdateDto changes, long afterId,
+                                           int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<Long> ids = lockMatching(cb, filter, afterId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+        Path<Double> price = root.get("price");
+        if (changes.getPrice() != null) {
+            update.set(price, changes.getPrice());
+        } else if (changes.getPriceMultiplier() != null) {
+            update.set(price, cb.prod(price, changes.getPriceMultiplier()));
+        }
+        if (changes.getCategoryId() != null) {
+            update.set(root.<Category>get("category"),
+                    entityManager.getReference(Category.class, changes.getCategoryId()));
+        }
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.where(root.get("id").in(ids));
+        entityManager.createQuery(update).executeUpdate();
+
+        return findByIds(cb, ids);
+    }
+
+    /**
+     * Utility method to read the current state of products, as seen by the transaction.
+     *
+     * @param cb  the criteria builder
+     * @param ids the IDs of the products
+     * @return the products ordered by ID
+     */
+    private List<ProductDto> findByIds(CriteriaBuilder cb, List<Long> ids) {
+        CriteriaQuery<ProductDto> query = cb.createQuery(ProductDto.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductDto.class,
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("description"),
+                        root.get("price"),
+                        root.get("categoryId"),
+                        root.get("version")))
+                .where(root.get("id").in(ids))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Utility method to lock the first products matching the filter after the given ID until the end of the
+     * transaction ({@code SELECT ... WHERE id > :afterId ORDER BY id LIMIT :limit FOR UPDATE}), so they cannot
+     * change or disappear before they are modified.
+     *
+     * @param cb      the criteria builder
+     * @param filter  the filter selecting the products
+     * @param afterId the ID after which the products are locked
+     * @param limit   the maximum number of products to lock
+     * @return the IDs of the locked products in ascending order
+     */
+    private List<Long> lockMatching(CriteriaBuilder cb, ProductFilterDto filter, long afterId, int limit) {
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        Path<Long> id = root.get("id");
+        query.select(id)
+                .where(cb.and(toPredicates(cb, root, filter)), cb.greaterThan(id, afterId))
+                .orderBy(cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * Utility method to translate a filter into WHERE predicates.
+     *
+     * @param cb     the criteria builder
+     * @param root   the product root of the statement
+     * @param filter the filter to translate
+     * @return the predicates, all of which must match
+     */
+    private Predicate[] toPredicates(CriteriaBuilder cb, Root<Product> root, ProductFilterDto filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(root.get("id").in(filter.getIds()));
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            predicates.add(root.get("category").get("id").in(filter.getCategoryIds()));
+        }
+        if (filter.getMinPrice() != null) {
+            predicates.add(filter.isMinPriceExclusive()
+                    ? cb.greaterThan(root.get("price"), filter.getMinPrice())
+                    : cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(filter.isMaxPriceExclusive()
+                    ? cb.lessThan(root.get("price"), filter.getMaxPrice())
+                    : cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+        }
+        if (filter.getNameContains() != null) {
+            predicates.add(cb.like(cb.lower(root.get("name")), containing(filter.getNameContains()), ESCAPE));
+        }
+        if (filter.getNameNotContains() != null) {
+            predicates.add(cb.notLike(cb.lower(root.get("name")), containing(filter.getNameNotContains()), ESCAPE));
+        }
+        if (filter.getDescriptionContains() != null) {
+            predicates.add(cb.like(cb.lower(root.get("description")), containing(filter.getDescriptionContains()),
+                    ESCAPE));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * Utility method to build a case-insensitive LIKE pattern matching texts that contain the keyword.
+     * The wildcards and the escape character in the keyword are escaped, so they match themselves.
+     *
+     * @param keyword the keyword
+     * @return the pattern, to be used with the {@link #ESCAPE} character
+     */
+    private static String containing(String keyword) {
+        String escaped = keyword.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,80 +1,264 @@
 package com.stepup.supplierservice.repository;
 
+import com.stepup.supplierservice.dto.ProductDto;
 import com.stepup.supplierservice.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository interface for managing products.
+ * All finders are paged and return a {@link Slice}, so LIMIT/OFFSET is applied in SQL
+ * and no additional count query is issued. Read queries project directly into {@link ProductDto}.
  *
  * @see org.springframework.stereotype.Repository
  * @see org.springframework.data.jpa.repository.JpaRepository
  * @see Product
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFilterRepository {
+
+    /**
+     * The select clause shared by all read queries.
+     * Projects the product columns and the category foreign key straight into {@link ProductDto},
+     * so no entities are managed and no join with the categories table is issued.
+     */
+    String SELECT_DTO = "SELECT new com.stepup.supplierservice.dto.ProductDto("
+                        + "p.id, p.name, p.description, p.price, p.category.id, p.version) FROM Product p";
+
+    /**
+     * Retrieves a page of all products.
+     *
+     * @param pageable the page to retrieve
+     * @return a slice of products
+     */
+    @Query(SELECT_DTO)
+    Slice<ProductDto> findAllBy(Pageable pageable);
 
     /**
      * Retrieves products with prices within the specified range.
      *
      * @param min the minimum price
      * @param max the maximum price
-     * @return a list of products with prices within the specified range
+     * @param pageable the page to retrieve
+     * @return a slice of products with prices within the specified range
      */
-    List<Product> findByPriceBetween(double min, double max);
+    @Query(SELECT_DTO + " WHERE p.price BETWEEN :min AND :max")
+    Slice<ProductDto> findByPriceBetween(@Param("min") double min, @Param("max") double max, Pageable pageable);
 
     /**
      * Retrieves products with prices greater than the specified value.
      *
      * @param min the minimum price
-     * @return a list of products with prices greater than the specified value
+     * @param pageable the page to retrieve
+     * @return a slice of products with prices greater than the specified value
      */
-    List<Product> findByPriceGreaterThan(double min);
+    @Query(SELECT_DTO + " WHERE p.price > :min")
+    Slice<ProductDto> findByPriceGreaterThan(@Param("min") double min, Pageable pageable);
 
     /**
      * Retrieves products with prices less than the specified value.
      *
      * @param max the maximum price
-     * @return a list of products with prices less than the specified value
+     * @param pageable the page to retrieve
+     * @return a slice of products with prices less than the specified value
      */
-    List<Product> findByPriceIsLessThan(double max);
+    @Query(SELECT_DTO + " WHERE p.price < :max")
+    Slice<ProductDto> findByPriceIsLessThan(@Param("max") double max, Pageable pageable);
 
     /**
      * Retrieves products belonging to the specified category.
      *
      * @param categoryId the ID of the category
-     * @return a list of products belonging to the specified category
+     * @param pageable the page to retrieve
+     * @return a slice of products belonging to the specified category
      */
-    List<Product> findByCategoryId(Long categoryId);
+    @Query(SELECT_DTO + " WHERE p.category.id = :categoryId")
+    Slice<ProductDto> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
 
     /**
      * Retrieves products with names containing the specified keyword (case-insensitive).
+     * The wildcards {@code %} and {@code _} in the keyword match themselves.
      *
      * @param keyword the keyword to search for in product names
-     * @return a list of products with names containing the specified keyword
+     * @param pageable the page to retrieve
+     * @return a slice of products with names containing the specified keyword
      */
-    List<Product> findByNameContainingIgnoreCase(String keyword);
+    @Query(SELECT_DTO + " WHERE LOWER(p.name) LIKE CONCAT('%', LOWER(:#{escape(#keyword)}), '%')"
+                        + " ESCAPE :#{escapeCharacter()}")
+    Slice<ProductDto> findByNameContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
 
     /**
      * Retrieves products with names not containing the specified keyword (case-insensitive).
+     * The wildcards {@code %} and {@code _} in the keyword match themselves.
      *
      * @param name the keyword to exclude from product names
-     * @return a list of products with names not containing the specified keyword
+     * @param pageable the page to retrieve
+     * @return a slice of products with names not containing the specified keyword
+     */
+    @Query(SELECT_DTO + " WHERE LOWER(p.name) NOT LIKE CONCAT('%', LOWER(:#{escape(#name)}), '%')"
+                        + " ESCAPE :#{escapeCharacter()}")
+    Slice<ProductDto> findByNameNotContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+
+    /**
+     * Retrieves the products with the specified IDs, ordered by id.
+     * Used to load the products found by the in-memory search index.
+     *
+     * @param ids the IDs of the products
+     * @return a list of the existing products among the IDs
      */
-    List<Product> findByNameNotContainingIgnoreCase(String name);
+    @Query(SELECT_DTO + " WHERE p.id IN :ids ORDER BY p.id")
+    List<ProductDto> findByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Retrieves products with descriptions containing the specified keyword (case-insensitive).
-     * This method uses a custom JPQL query to perform the search.
+     * The wildcards {@code %} and {@code _} in the keyword match themselves.
      *
      * @param keyword the keyword to search for in product descriptions
-     * @return a list of products with descriptions containing the specified keyword
+     * @param pageable the page to retrieve
+     * @return a slice of products with descriptions containing the specified keyword
+     */
+    @Query(SELECT_DTO + " WHERE LOWER(p.description) LIKE CONCAT('%', LOWER(:#{escape(#keyword)}), '%')"
+                        + " ESCAPE :#{escapeCharacter()}")
+    Slice<ProductDto> searchByDescriptionContaining(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * Retrieves the first products ordered by id, for the first page of a keyset listing.
+     *
+     * @param limit the maximum number of products to return
+     * @return a list of products ordered by id
+     */
+    @Query(SELECT_DTO + " ORDER BY p.id")
+    List<ProductDto> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Retrieves products with an id greater than the specified one, ordered by id.
+     * Used to seek to the next page of a keyset listing.
+     *
+     * @param id    the id of the last product already returned
+     * @param limit the maximum number of products to return
+     * @return a list of products ordered by id
+     */
+    @Query(SELECT_DTO + " WHERE p.id > :id ORDER BY p.id")
+    List<ProductDto> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Limit limit);
+
+    /**
+     * Retrieves the first products ordered by price and id, for the first page of a keyset listing.
+     *
+     * @param limit the maximum number of products to return
+     * @return a list of products ordered by price and id
+     */
+    @Query(SELECT_DTO + " ORDER BY p.price, p.id")
+    List<ProductDto> findByOrderByPriceAscIdAsc(Limit limit);
+
+    /**
+     * Retrieves products positioned after the specified price and id, ordered by price and id.
+     * Used to seek to the next page of a keyset listing.
+     *
+     * @param price the price of the last product already returned
+     * @param id    the id of the last product already returned
+     * @param limit the maximum number of products to return
+     * @return a list of products ordered by price and id
+     */
+    @Query(SELECT_DTO + " WHERE (p.price, p.id) > (:price, :id) ORDER BY p.price, p.id")
+    List<ProductDto> findAfterPriceAndId(@Param("price") double price, @Param("id") Long id, Limit limit);
+
+    /**
+     * Streams all products ordered by id, reading them from a JDBC cursor in batches of the configured
+     * fetch size instead of materializing the whole result set.
+     * Must be called inside a (read-only) transaction and the stream must be closed after use.
+     *
+     * @return a stream of all products
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + " ORDER BY p.id")
+    Stream<ProductDto> streamAllBy();
+
+    /**
+     * Updates the name, description and price of a product with a single statement, if its version is
+     * the expected one, and returns the updated row together with the previous price.
+     * The version is incremented. A {@code null} version matches any version, but a change committed by
+     * another transaction while the statement runs still makes it miss, so the previous price is exact; the
+     * caller runs it again to let the last write win.
+     * <p>
+     * The statement bypasses the persistence context, so the caller must evict the product from the
+     * second-level cache and announce the change.
+     *
+     * @param id          the ID of the product
+     * @param name        the new name
+     * @param description the new description
+     * @param price       the new price
+     * @param version     the expected version, or {@code null}
+     * @return the updated product, or empty if the product does not exist or its version differs
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE products p"
+                                       + " SET name = :name, description = :description, price = :price,"
+                                       + " version = p.version + 1"
+                                       + " FROM products old"
+                                       + " WHERE p.id = :id AND old.id = p.id AND old.version = p.version"
+                                       + " AND (CAST(:version AS bigint) IS NULL OR p.version = :version)"
+                                       + " RETURNING p.id AS \"id\", p.name AS \"name\","
+                                       + " p.description AS \"description\", p.price AS \"price\","
+                                       + " p.category_id AS \"categoryId\", p.version AS \"version\","
+                                       + " old.price AS \"previousPrice\"")
+    Optional<UpdatedProduct> updateVersioned(@Param("id") Long id,
+                                             @Param("name") String name,
+                                             @Param("description") String description,
+                                             @Param("price") double price,
+                                             @Param("version") Long version);
+
+    /**
+     * Projection of a product changed by {@link #updateVersioned}.
      */
-    @Query("SELECT p FROM Product p WHERE LOWER(p.description) LIKE CONCAT('%', LOWER(:keyword), '%')")
-    List<Product> searchByDescriptionContaining(@Param("keyword") String keyword);
+    interface UpdatedProduct {
+
+        /**
+         * @return the ID of the product
+         */
+        Long getId();
+
+        /**
+         * @return the new name of the product
+         */
+        String getName();
+
+        /**
+         * @return the new description of the product
+         */
+        String getDescription();
+
+        /**
+         * @return the new price of the product
+         */
+        Double getPrice();
+
+        /**
+         * @return the ID of the category of the product
+         */
+        Long getCategoryId();
+
+        /**
+         * @return the new version of the product
+         */
+        Long getVersion();
 
+        /**
+         * @return the price of the product before the update
+         */
+        Double getPreviousPrice();
+    }
 }
@@ -1,11 +1,17 @@
 package com.stepup.supplierservice.service;
 
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
 import com.stepup.supplierservice.dto.CategoryDto;
 import com.stepup.supplierservice.entity.Category;
 import com.stepup.supplierservice.exception.CategoryServiceException;
+import com.stepup.supplierservice.exception.VersionConflictException;
 import com.stepup.supplierservice.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -23,14 +29,17 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
-     * Constructs a new CategoryService with the specified CategoryRepository.
+     * Constructs a new CategoryService with the specified CategoryRepository and EntityManagerFactory.
      *
-     * @param categoryRepository the repository for accessing and managing category data
+     * @param categoryRepository   the repository for accessing and managing category data
+     * @param entityManagerFactory the factory whose second-level cache is evicted after updates
      */
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, EntityManagerFactory entityManagerFactory) {
         this.categoryRepository = categoryRepository;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
@@ -62,13 +71,16 @@ public class CategoryService {
 
     /**
      * Get a list of all category.
+     * The categories are cached for all clients in the second-level cache, so they are not loaded from a replica
+     * that may not have the latest changes yet.
      *
      * @return a list of category
      * @throws CategoryServiceException if an error occurs while getting list
      */
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         try {
-            return categoryRepository.findAll();
+            return ReplicaRoutingDataSource.fillSharedCache(categoryRepository::findAll);
         } catch (CategoryServiceException ex) {
             log.error("Failed to getAllCategories: " + ex.getMessage());
             throw new CategoryServiceException("Failed to getAllCategories: "
@@ -78,14 +90,16 @@ public class CategoryService {
 
     /**
      * Get category by id.
+     * As with {@link #getAllCategories()}, the category is not loaded from a replica that may be behind.
      *
      * @param id the id of category to be got
      * @return the gotten category
      * @throws CategoryServiceException if an error occurs while creating the category
      */
+    @Transactional(readOnly = true)
     public Category getCategoryById(Long id) {
         try {
-            return categoryRepository.findById(id).orElse(null);
+            return ReplicaRoutingDataSource.fillSharedCache(() -> categoryRepository.findById(id).orElse(null));
         } catch (CategoryServiceException ex) {
             log.error("Failed to findById: " + ex.getMessage());
             throw new CategoryServiceException("Failed to findById: "
@@ -95,19 +109,35 @@ public class CategoryService {
 
     /**
      * Updates category based on the provided category DTO and id.
+     * The category is renamed with a single conditional UPDATE statement, which also returns the new state.
+     * If the DTO carries a version, it must still be the current version of the category.
      *
      * @param id the id of category to be updated
      * @param categoryDto the DTO containing information about the category to be updated
-     * @return the updated category
+     * @return the updated category, or {@code null} if not found
+     * @throws VersionConflictException if the category was changed since the given version was read
      * @throws CategoryServiceException if an error occurs while updating the category
      */
+    @Transactional
     public Category updateCategory(Long id, CategoryDto categoryDto) {
         try {
-            Category category = getCategoryById(id);
+            CategoryRepository.UpdatedCategory updated = categoryRepository
+                    .updateVersioned(id, categoryDto.getName(), categoryDto.getVersion())
+                    .orElse(null);
 
-            if (category != null) {
-                category.setName(categoryDto.getName());
-                return categoryRepository.save(category);
+            if (updated != null) {
+                // The statement bypasses the persistence context, so the cached category is evicted here
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        entityManagerFactory.getCache().evict(Category.class, id);
+                    }
+                });
+                return new Category(updated.getId(), updated.getName(), null, updated.getVersion());
+            }
+            if (categoryRepository.existsById(id)) {
+                throw new VersionConflictException("Category " + id + " was changed since version "
+                                                   + categoryDto.getVersion());
             }
         } catch (CategoryServiceException ex) {
             log.error("Failed to updateCategory: " + ex.getMessage());
@@ -0,0 +1,70 @@
+package com.stepup.supplierservice.service;
+
+import com.stepup.supplierservice.dto.ChangeDto;
+import com.stepup.supplierservice.dto.ChangeFeedDto;
+import com.stepup.supplierservice.exception.ChangeServiceException;
+import com.stepup.supplierservice.repository.ChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service class responsible for reading the change feed, the ordered log of product and category changes.
+ * Consumers keep the sequence number of the last change they applied and ask for the changes after it,
+ * instead of reading all products again.
+ *
+ * @see org.springframework.stereotype.Service
+ * @see lombok.extern.slf4j.Slf4j
+ * @see ChangeLogRepository
+ */
+@Slf4j
+@Service
+public class ChangeService {
+
+    /**
+     * The maximum number of changes returned at once.
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    /**
+     * Constructs a new ChangeService with the specified ChangeLogRepository.
+     *
+     * @param changeLogRepository the repository for reading the change log
+     */
+    public ChangeService(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    /**
+     * Retrieves the changes following a sequence number.
+     *
+     * @param since the sequence number of the last change already seen, {@code 0} to start from the beginning
+     * @param limit the maximum number of changes to return, capped at {@link #MAX_LIMIT}
+     * @return the changes in sequence order and the sequence number to continue from
+     * @throws ChangeServiceException if an error occurs while retrieving the changes
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedDto getChanges(long since, int limit) {
+        try {
+            int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+            // Fetch one extra row to find out whether more changes exist
+            List<ChangeDto> changes = changeLogRepository.findChangesAfter(since, Limit.of(pageSize + 1));
+
+            boolean hasMore = changes.size() > pageSize;
+            if (hasMore) {
+                changes = changes.subList(0, pageSize);
+            }
+            long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+
+            return new ChangeFeedDto(changes, next, hasMore);
+        } catch (Exception e) {
+            log.error("Failed to get changes: " + e.getMessage());
+            throw new ChangeServiceException("Failed to get changes: " + e.getMessage());
+        }
+    }
+}
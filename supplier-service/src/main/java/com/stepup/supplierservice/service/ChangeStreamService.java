@@ -0,0 +1,270 @@
+package com.stepup.supplierservice.service;
+
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
+import com.stepup.supplierservice.dto.ChangeDto;
+import com.stepup.supplierservice.repository.ChangeLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class pushing the change feed to subscribers as server-sent events.
+ * <p>
+ * The change log is tailed periodically, so changes committed by any instance of this service are pushed,
+ * each as a {@code change} event whose ID is its sequence number. A subscriber reconnecting with the
+ * {@code Last-Event-ID} header first receives the changes it missed. Once it has received all changes
+ * committed so far, a {@code live} event tells it that further changes arrive as they are committed.
+ * A subscriber resuming after a change that is not in the log, which happens if the log was recreated,
+ * receives a {@code reset} event instead, telling it to discard everything derived from earlier changes.
+ * <p>
+ * Each subscriber keeps its own position, so a subscriber catching up does not hold back the others;
+ * subscribers at the same position share one query. The change log is always read from the primary: a replica
+ * may be behind positions already sent, and its head would make those subscribers reset.
+ * <p>
+ * The scheduler only collects the events of each subscriber; they are sent by a dedicated pool of platform
+ * threads, since sending to a slow subscriber on a virtual thread would pin its carrier, and on the scheduler would
+ * delay the other subscribers and scheduled tasks. A subscriber has at most one batch of events being sent: while
+ * it is still receiving one, it is skipped and catches up from its position afterwards, so a slow subscriber only
+ * holds up itself and one sending thread.
+ *
+ * @see org.springframework.stereotype.Service
+ * @see org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+ * @see ChangeLogRepository
+ * @see ChangeService
+ * @see com.stepup.supplierservice.config.SchedulingConfig
+ */
+@Slf4j
+@Service
+public class ChangeStreamService {
+
+    private final ChangeLogRepository changeLogRepository;
+
+    private final Duration streamTimeout;
+
+    private final ExecutorService sender;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new ChangeStreamService with the specified ChangeLogRepository.
+     *
+     * @param changeLogRepository the repository for reading the change log
+     * @param streamTimeout       the time after which a stream is closed, after which subscribers reconnect
+     * @param sendThreads         the number of threads sending events to subscribers
+     */
+    public ChangeStreamService(ChangeLogRepository changeLogRepository,
+                               @Value("${supplier.changes.stream-timeout:30m}") Duration streamTimeout,
+                               @Value("${supplier.changes.send-threads:4}") int sendThreads) {
+        this.changeLogRepository = changeLogRepository;
+        this.streamTimeout = streamTimeout;
+        this.sender = Executors.newFixedThreadPool(sendThreads, new CustomizableThreadFactory("change-stream-"));
+    }
+
+    /**
+     * Stops sending events when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Opens a stream of the changes following a sequence number.
+     *
+     * @param since the sequence number of the last change already seen, or {@code null} to receive only
+     *              changes committed from now on
+     * @return the emitter of the stream
+     */
+    public SseEmitter subscribe(Long since) {
+        // The position of a new subscriber is resolved when publishing, since querying here would keep a
+        // connection open with the request for as long as the stream stays open
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since != null ? since : -1);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Sends the changes committed since the last run to all subscribers that are not still receiving earlier
+     * events, at most {@link ChangeService#MAX_LIMIT} per subscriber and run.
+     */
+    @Scheduled(fixedDelayString = "${supplier.changes.poll-interval-ms:200}")
+    public void publishChanges() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ReplicaRoutingDataSource.runOnPrimary(this::publish);
+    }
+
+    /**
+     * Utility method to read the changes following the position of each subscriber and hand them to the sending
+     * threads.
+     */
+    private void publish() {
+        long head = lastSeq();
+        Map<Long, List<Subscriber>> behind = new LinkedHashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                continue;
+            }
+            List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+            if (subscriber.seq < 0) {
+                subscriber.seq = head;
+            } else if (subscriber.seq > head) {
+                // The subscriber has seen changes of a log that was since recreated, e.g. with the schema
+                events.add(SseEmitter.event().name("reset").data(head));
+                subscriber.seq = head;
+            } else if (subscriber.seq < head) {
+                behind.computeIfAbsent(subscriber.seq, seq -> new ArrayList<>()).add(subscriber);
+                continue;
+            }
+            dispatch(subscriber, events, head);
+        }
+
+        for (Map.Entry<Long, List<Subscriber>> group : behind.entrySet()) {
+            List<ChangeDto> changes = changeLogRepository.findChangesAfter(group.getKey(),
+                    Limit.of(ChangeService.MAX_LIMIT));
+            for (Subscriber subscriber : group.getValue()) {
+                List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+                for (ChangeDto change : changes) {
+                    events.add(SseEmitter.event()
+                            .id(String.valueOf(change.getSeq()))
+                            .name("change")
+                            .data(change, MediaType.APPLICATION_JSON));
+                    subscriber.seq = change.getSeq();
+                }
+                dispatch(subscriber, events, head);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to all subscribers that are not receiving events, so idle streams are not closed by proxies
+     * and broken ones are detected.
+     */
+    @Scheduled(fixedDelayString = "${supplier.changes.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sending.compareAndSet(false, true)) {
+                dispatch(subscriber, List.of(SseEmitter.event().comment("heartbeat")));
+            }
+        }
+    }
+
+    /**
+     * Utility method to send events to a subscriber, followed by the {@code live} event once it has received
+     * all changes up to the head of the log for the first time.
+     *
+     * @param subscriber the subscriber, whose sending flag is held by the caller
+     * @param events     the events to send
+     * @param head       the sequence number of the latest change
+     */
+    private void dispatch(Subscriber subscriber, List<SseEmitter.SseEventBuilder> events, long head) {
+        if (!subscriber.live && subscriber.seq >= head) {
+            events.add(SseEmitter.event().name("live").data(head));
+            subscriber.live = true;
+        }
+        dispatch(subscriber, events);
+    }
+
+    /**
+     * Utility method to send events to a subscriber on the sending threads, and then release its sending flag.
+     * The subscriber is dropped at the first event that cannot be sent; it reconnects from the last change it
+     * received.
+     *
+     * @param subscriber the subscriber, whose sending flag is held by the caller
+     * @param events     the events to send
+     */
+    private void dispatch(Subscriber subscriber, List<SseEmitter.SseEventBuilder> events) {
+        if (events.isEmpty()) {
+            subscriber.sending.set(false);
+            return;
+        }
+        try {
+            sender.execute(() -> {
+                try {
+                    for (SseEmitter.SseEventBuilder event : events) {
+                        if (!send(subscriber, event)) {
+                            break;
+                        }
+                    }
+                } finally {
+                    subscriber.sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            subscriber.sending.set(false);
+        }
+    }
+
+    /**
+     * Utility method to send an event to a subscriber, dropping the subscriber if it cannot be reached.
+     *
+     * @param subscriber the subscriber
+     * @param event      the event to send
+     * @return {@code true} if the event was sent
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (Exception e) {
+            log.debug("Dropping change stream subscriber: " + e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Utility method to retrieve the sequence number of the latest change, which must be read from the primary.
+     *
+     * @return the greatest sequence number, or {@code 0} if no change was recorded
+     */
+    private long lastSeq() {
+        Long seq = changeLogRepository.findLastSeq();
+        return seq != null ? seq : 0;
+    }
+
+    /**
+     * A subscriber of the stream and the sequence number of the last change handed to the sending threads for it,
+     * which is negative until the subscriber starts with the next change committed.
+     * Only updated by the thread holding its sending flag.
+     */
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile long seq;
+
+        private volatile boolean live;
+
+        Subscriber(SseEmitter emitter, long seq) {
+            this.emitter = emitter;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.stepup.supplierservice.service;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor used for seek-based product listing.
+ * A cursor remembers the sort order and the sort key of the last product returned, so the next
+ * page is selected with a {@code WHERE (key) > (last key)} predicate instead of an OFFSET.
+ * Cursors are exchanged with clients as URL-safe Base64 tokens.
+ *
+ * @see ProductService#getProductsAfter(String, int, String)
+ */
+@Getter
+public final class ProductCursor {
+
+    /**
+     * The orders a product listing can be seeked on.
+     */
+    public enum Order {
+
+        /**
+         * Ordered by {@code id}.
+         */
+        ID,
+
+        /**
+         * Ordered by {@code (price, id)}.
+         */
+        PRICE
+    }
+
+    private static final String SEPARATOR = ":";
+
+    private final Order order;
+
+    private final double price;
+
+    private final long id;
+
+    /**
+     * Constructs a new ProductCursor positioned after the given sort key.
+     *
+     * @param order the order of the listing
+     * @param price the price of the last product returned (ignored for {@link Order#ID})
+     * @param id    the ID of the last product returned
+     */
+    public ProductCursor(Order order, double price, long id) {
+        this.order = order;
+        this.price = price;
+        this.id = id;
+    }
+
+    /**
+     * Encodes this cursor into an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String raw = order == Order.PRICE
+                ? order + SEPARATOR + price + SEPARATOR + id
+                : order + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the token to decode
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            Order order = Order.valueOf(parts[0]);
+            if (order == Order.PRICE && parts.length == 3) {
+                return new ProductCursor(order, Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+            }
+            if (order == Order.ID && parts.length == 2) {
+                return new ProductCursor(order, 0, Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ignored) {
+            // Reported below as an invalid cursor
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+}
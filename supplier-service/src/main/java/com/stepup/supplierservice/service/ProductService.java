@@ -1,18 +1,56 @@
 package com.stepup.supplierservice.service;
 
+import com.stepup.supplierservice.cache.ProductQueryCache;
+import com.stepup.supplierservice.cache.ProductQueryKey;
+import com.stepup.supplierservice.config.ReplicaRoutingDataSource;
+import com.stepup.supplierservice.dto.BulkResultDto;
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
+import com.stepup.supplierservice.dto.ProductCursorPageDto;
 import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.dto.ProductQueryDto;
 import com.stepup.supplierservice.entity.Category;
 import com.stepup.supplierservice.entity.Product;
+import com.stepup.supplierservice.exception.BulkOperationException;
 import com.stepup.supplierservice.exception.ProductServiceException;
+import com.stepup.supplierservice.exception.VersionConflictException;
+import com.stepup.supplierservice.index.ProductChangedEvent;
+import com.stepup.supplierservice.index.ProductFilterEvaluator;
+import com.stepup.supplierservice.index.ProductFilterIndex;
+import com.stepup.supplierservice.index.ProductPriceIndex;
+import com.stepup.supplierservice.index.ProductSearchIndex;
+import com.stepup.supplierservice.index.ProductsBulkDeletedEvent;
+import com.stepup.supplierservice.index.ProductsBulkUpdatedEvent;
 import com.stepup.supplierservice.repository.CategoryRepository;
 import com.stepup.supplierservice.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class responsible for handling operations related to products.
@@ -27,19 +65,76 @@ import java.util.stream.Collectors;
 @Service
 public class ProductService {
 
+    /**
+     * The hard upper bound for the number of products returned by a single page.
+     * Larger requested sizes are clamped to this value.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * The number of products flushed to the database at once by {@link #createProducts(List)}.
+     * Matches {@code hibernate.jdbc.batch_size}, so each flush is sent as one JDBC batch.
+     */
+    static final int BATCH_SIZE = 50;
+
+    /**
+     * The maximum number of products updated or deleted per transaction by a bulk operation.
+     * Keeps the IN lists well below the JDBC bind parameter limit and bounds the rows locked per transaction.
+     */
+    static final int BULK_CHUNK_SIZE = 1000;
+
+    /**
+     * The number of times an update without a version is attempted before concurrent updates of the product
+     * are reported as a conflict.
+     */
+    private static final int UNVERSIONED_UPDATE_ATTEMPTS = 3;
+
+    private static final Sort DEFAULT_SORT = Sort.by("id");
+
+    private static final Sort PRICE_SORT = Sort.by("price", "id");
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name", "description", "price", "categoryId");
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductPriceIndex productPriceIndex;
+    private final ProductFilterIndex productFilterIndex;
+    private final ProductFilterEvaluator productFilterEvaluator;
+    private final ProductQueryCache productQueryCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
-     * Constructs a new ProductService with the specified ProductRepository and CategoryRepository.
+     * Constructs a new ProductService with the specified repositories, in-memory indexes and event publisher.
      *
-     * @param productRepository  the repository for accessing and managing product data
-     * @param categoryRepository the repository for accessing and managing category data
+     * @param productRepository      the repository for accessing and managing product data
+     * @param categoryRepository     the repository for accessing and managing category data
+     * @param productSearchIndex     the in-memory index answering name and description searches
+     * @param productPriceIndex      the in-memory index answering price queries
+     * @param productFilterIndex     the in-memory bitmap index over categories and prices
+     * @param productFilterEvaluator the evaluator answering combined filters from the in-memory indexes
+     * @param productQueryCache      the cache of query results
+     * @param eventPublisher         the publisher used to announce bulk updates to the indexes
      */
     public ProductService(ProductRepository productRepository,
-                          CategoryRepository categoryRepository) {
+                          CategoryRepository categoryRepository,
+                          ProductSearchIndex productSearchIndex,
+                          ProductPriceIndex productPriceIndex,
+                          ProductFilterIndex productFilterIndex,
+                          ProductFilterEvaluator productFilterEvaluator,
+                          ProductQueryCache productQueryCache,
+                          ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.productPriceIndex = productPriceIndex;
+        this.productFilterIndex = productFilterIndex;
+        this.productFilterEvaluator = productFilterEvaluator;
+        this.productQueryCache = productQueryCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -72,15 +167,64 @@ public class ProductService {
     }
 
     /**
-     * Retrieves all products.
+     * Creates many products at once based on the provided product DTOs.
+     * All referenced categories are resolved with a single query, and products are inserted in
+     * JDBC batches of {@link #BATCH_SIZE}, clearing the persistence context after each batch.
      *
-     * @return a list of all products
+     * @param productDtos the DTOs containing information about the products to be created
+     * @return the created products, in the order they were given
+     * @throws ProductServiceException if an error occurs while creating the products
+     */
+    @Transactional
+    public List<ProductDto> createProducts(List<ProductDto> productDtos) {
+        try {
+            // Fetch all referenced Category entities from the database in one query
+            Set<Long> categoryIds = productDtos.stream()
+                    .map(productDto -> Optional.ofNullable(productDto.getCategoryId())
+                            .orElseThrow(() -> new IllegalArgumentException("Category is mandatory")))
+                    .collect(Collectors.toSet());
+            Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+                    .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+            List<ProductDto> createdProducts = new ArrayList<>(productDtos.size());
+            List<Product> batch = new ArrayList<>(BATCH_SIZE);
+            for (ProductDto productDto : productDtos) {
+                Category category = categories.get(productDto.getCategoryId());
+                if (category == null) {
+                    throw new EntityNotFoundException("Category not found: " + productDto.getCategoryId());
+                }
+
+                batch.add(new Product(productDto.getName(),
+                        productDto.getDescription(),
+                        productDto.getPrice(),
+                        category));
+                if (batch.size() == BATCH_SIZE) {
+                    saveBatch(batch, createdProducts);
+                }
+            }
+            saveBatch(batch, createdProducts);
+
+            return createdProducts;
+        } catch (Exception e) {
+            log.error("Failed to create products: " + e.getMessage());
+            throw new ProductServiceException("Failed to create products: "
+                                              + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a page of all products.
+     *
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page
      * @throws ProductServiceException if an error occurs while retrieving the products
      */
-    public List<ProductDto> getAllProducts() {
+    @Transactional(readOnly = true)
+    public List<ProductDto> getAllProducts(int page, int size) {
         try {
-            List<Product> products = productRepository.findAll();
-            return mapToProductDtoList(products);
+            return cached("all", new ProductFilterDto(), pageRequest(page, size),
+                    pageable -> productRepository.findAllBy(pageable).getContent());
         } catch (Exception e) {
             log.error("Failed to get all products: " + e.getMessage());
             throw new ProductServiceException("Failed to get all products: "
@@ -89,16 +233,108 @@ public class ProductService {
     }
 
     /**
-     * Retrieves a product by its ID.
+     * Streams all products ordered by id to the given action, one at a time.
+     * Products are projected from a database cursor inside a read-only transaction without becoming
+     * managed entities, so memory use stays constant regardless of the number of products.
+     *
+     * @param action the action invoked for each product
+     * @throws ProductServiceException if an error occurs while streaming the products
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductDto> action) {
+        try (Stream<ProductDto> products = productRepository.streamAllBy()) {
+            products.forEach(action);
+        } catch (Exception e) {
+            log.error("Failed to stream products: " + e.getMessage());
+            throw new ProductServiceException("Failed to stream products: "
+                                              + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves a page of products positioned after the given cursor, using keyset pagination.
+     * Each page is selected with a {@code WHERE (key) > (last key)} predicate, so deep pages cost
+     * the same as the first one.
+     *
+     * @param after the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of products to return, at least 1 and capped at {@link #MAX_PAGE_SIZE}
+     * @param sort  the order of the listing ({@code id} or {@code price}) when no cursor is given
+     * @return the page of products and the cursor of the next page
+     * @throws IllegalArgumentException if the limit is less than 1, the order is unknown or the cursor is invalid
+     * @throws ProductServiceException  if an error occurs while retrieving the products
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageDto getProductsAfter(String after, int limit, String sort) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1: " + limit);
+        }
+        ProductCursor cursor = after != null ? ProductCursor.decode(after) : null;
+        ProductCursor.Order order = cursor != null ? cursor.getOrder() : sortOrder(sort);
+
+        try {
+            int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+            // Fetch one extra row to find out whether a next page exists
+            Limit fetchLimit = Limit.of(pageSize + 1);
+
+            List<ProductDto> products;
+            if (order == ProductCursor.Order.PRICE) {
+                products = cursor == null
+                        ? productRepository.findByOrderByPriceAscIdAsc(fetchLimit)
+                        : productRepository.findAfterPriceAndId(cursor.getPrice(), cursor.getId(), fetchLimit);
+            } else {
+                products = cursor == null
+                        ? productRepository.findByOrderByIdAsc(fetchLimit)
+                        : productRepository.findByIdGreaterThanOrderByIdAsc(cursor.getId(), fetchLimit);
+            }
+
+            String nextCursor = null;
+            if (products.size() > pageSize) {
+                products = products.subList(0, pageSize);
+                ProductDto last = products.get(pageSize - 1);
+                nextCursor = new ProductCursor(order, last.getPrice(), last.getId()).encode();
+            }
+
+            return new ProductCursorPageDto(products, nextCursor);
+        } catch (Exception e) {
+            log.error("Failed to get products after cursor: " + e.getMessage());
+            throw new ProductServiceException("Failed to get products after cursor: "
+                                              + e.getMessage());
+        }
+    }
+
+    /**
+     * Utility method to resolve the order of a cursor listing.
+     *
+     * @param sort the name of the order, {@code id} or {@code price} in any case
+     * @return the order
+     * @throws IllegalArgumentException if the order is unknown
+     */
+    private static ProductCursor.Order sortOrder(String sort) {
+        for (ProductCursor.Order order : ProductCursor.Order.values()) {
+            if (order.name().equalsIgnoreCase(sort)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + sort);
+    }
+
+    /**
+     * Retrieves a product by its ID, together with its category.
+     * Both are loaded by primary key, so they are served from the second-level cache once cached; as they are
+     * cached for all clients, they are not loaded from a replica that may not have the latest changes yet.
      *
      * @param id the ID of the product to retrieve
      * @return the product with the specified ID, or {@code null} if not found
      * @throws ProductServiceException if an error occurs while retrieving the product
      */
+    @Transactional(readOnly = true)
     public Product getProductById(Long id) {
         try {
-            Optional<Product> optionalProduct = productRepository.findById(id);
-            return optionalProduct.orElse(null);
+            return ReplicaRoutingDataSource.fillSharedCache(() -> {
+                Optional<Product> optionalProduct = productRepository.findById(id);
+                optionalProduct.ifPresent(product -> Hibernate.initialize(product.getCategory()));
+                return optionalProduct.orElse(null);
+            });
         } catch (Exception e) {
             log.error("Failed to get product by ID: " + e.getMessage());
             throw new ProductServiceException("Failed to get product by ID: "
@@ -108,24 +344,51 @@ public class ProductService {
 
     /**
      * Updates an existing product with the provided details and id.
+     * The product is updated with a single conditional UPDATE statement, which also returns the new state,
+     * instead of loading, merging and then updating it. If the details carry a version, it must still be
+     * the current version of the product; if not, the last write wins, and the statement is run again when a
+     * concurrent update of the product made it miss.
      *
      * @param id the ID of the product to update
      * @param productDetails the details of the product to update
-     * @return the updated product DTO
+     * @return the updated product DTO, with its new version
+     * @throws VersionConflictException if the product was changed since the given version was read
+     * @throws EntityNotFoundException if the product does not exist
      * @throws ProductServiceException if an error occurs while updating the product
      */
+    @Transactional
     public ProductDto updateProduct(Long id, ProductDto productDetails) {
         try {
-            Product product = getProductById(id);
-            if (product != null) {
-                product.setName(productDetails.getName());
-                product.setDescription(productDetails.getDescription());
-                product.setPrice(productDetails.getPrice());
-                productRepository.save(product);
-                return mapToProductDto(product);
-            } else {
-                throw new ProductServiceException("Failed to update product");
+            ProductRepository.UpdatedProduct updated = null;
+            // Without a version the last write wins, so a statement losing a race is simply run again
+            for (int attempt = 0; updated == null && attempt < UNVERSIONED_UPDATE_ATTEMPTS; attempt++) {
+                updated = productRepository.updateVersioned(id,
+                        productDetails.getName(),
+                        productDetails.getDescription(),
+                        productDetails.getPrice(),
+                        productDetails.getVersion()).orElse(null);
+                if (updated == null && !productRepository.existsById(id)) {
+                    throw new EntityNotFoundException("Product not found: " + id);
+                }
+                if (productDetails.getVersion() != null) {
+                    break;
+                }
+            }
+            if (updated == null) {
+                throw new VersionConflictException("Product " + id + " was changed since version "
+                                                   + productDetails.getVersion());
             }
+
+            // The statement bypasses the entity listeners, so the change is announced here
+            evictAfterCommit(Product.class, id);
+            eventPublisher.publishEvent(new ProductChangedEvent(updated.getId(), updated.getName(),
+                    updated.getDescription(), updated.getPrice(), updated.getCategoryId(),
+                    updated.getCategoryId(), updated.getPreviousPrice(), false));
+            return new ProductDto(updated.getId(), updated.getName(), updated.getDescription(),
+                    updated.getPrice(), updated.getCategoryId(), updated.getVersion());
+        } catch (VersionConflictException | EntityNotFoundException e) {
+            log.error("Failed to update product: " + e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update product: " + e.getMessage());
             throw new ProductServiceException("Failed to update product: "
@@ -149,17 +412,94 @@ public class ProductService {
         }
     }
 
+    /**
+     * Deletes all products matching the filter.
+     * The products are processed in chunks of at most {@link #BULK_CHUNK_SIZE}, each chunk being committed in its
+     * own transaction and announced to the indexes and the query cache right after.
+     *
+     * @param filter the filter selecting the products to delete
+     * @return the number of deleted products
+     * @throws ProductServiceException if the filter is empty or an error occurs before any product was deleted
+     * @throws BulkOperationException  if an error occurs after some chunks were committed
+     */
+    public BulkResultDto deleteProducts(ProductFilterDto filter) {
+        try {
+            requireRestrictive(filter);
+        } catch (Exception e) {
+            log.error("Failed to delete products: " + e.getMessage());
+            throw new ProductServiceException("Failed to delete products: "
+                                              + e.getMessage());
+        }
+
+        return inChunks(filter, "delete", (chunk, afterId) -> {
+            List<Long> deletedIds = productRepository.deleteMatching(chunk, afterId, BULK_CHUNK_SIZE);
+            eventPublisher.publishEvent(new ProductsBulkDeletedEvent(deletedIds));
+            return deletedIds;
+        });
+    }
+
+    /**
+     * Updates all products matching the filter of the bulk update.
+     * The products are processed in chunks of at most {@link #BULK_CHUNK_SIZE}, each chunk being committed in its
+     * own transaction and announced to the indexes and the query cache right after.
+     *
+     * @param bulkUpdate the filter and the changes to apply
+     * @return the number of updated products
+     * @throws ProductServiceException if the filter or the changes are invalid or an error occurs before any product was updated
+     * @throws BulkOperationException  if an error occurs after some chunks were committed
+     */
+    public BulkResultDto updateProducts(ProductBulkUpdateDto bulkUpdate) {
+        try {
+            requireRestrictive(bulkUpdate.getFilter());
+            if (bulkUpdate.getPrice() != null && bulkUpdate.getPriceMultiplier() != null) {
+                throw new IllegalArgumentException("Only one of price and priceMultiplier may be set");
+            }
+            if (bulkUpdate.getPrice() == null && bulkUpdate.getPriceMultiplier() == null
+                && bulkUpdate.getCategoryId() == null) {
+                throw new IllegalArgumentException("No changes to apply");
+            }
+            if (bulkUpdate.getCategoryId() != null && !categoryRepository.existsById(bulkUpdate.getCategoryId())) {
+                throw new EntityNotFoundException("Category not found: " + bulkUpdate.getCategoryId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update products: " + e.getMessage());
+            throw new ProductServiceException("Failed to update products: "
+                                              + e.getMessage());
+        }
+
+        boolean priceChanged = bulkUpdate.getPrice() != null || bulkUpdate.getPriceMultiplier() != null;
+        boolean categoryChanged = bulkUpdate.getCategoryId() != null;
+        return inChunks(bulkUpdate.getFilter(), "update", (chunk, afterId) -> {
+            List<ProductDto> updatedProducts = productRepository.updateMatching(chunk, bulkUpdate, afterId,
+                    BULK_CHUNK_SIZE);
+            eventPublisher.publishEvent(new ProductsBulkUpdatedEvent(updatedProducts, priceChanged, categoryChanged));
+            return updatedProducts.stream().map(ProductDto::getId).toList();
+        });
+    }
+
     /**
      * Searches products by their description containing the specified keyword.
+     * Answered from the in-memory search index once it is built, so only the matching page is read
+     * from the database; until then the database is searched directly.
      *
      * @param keyword the keyword to search for in product descriptions
-     * @return a list of products matching the search criteria
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page matching the search criteria
      * @throws ProductServiceException if an error occurs while searching for products
      */
-    public List<ProductDto> searchProductsByDescription(String keyword) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchProductsByDescription(String keyword, int page, int size) {
         try {
-            List<Product> products = productRepository.searchByDescriptionContaining(keyword);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setDescriptionContains(keyword);
+            return cached("description", filter, pageRequest(page, size), pageable -> {
+                if (!productSearchIndex.isReady()) {
+                    Slice<ProductDto> products = productRepository.searchByDescriptionContaining(keyword, pageable);
+                    return products.getContent();
+                }
+                return hydrate(productSearchIndex.searchByDescription(keyword), page, size);
+            });
         } catch (Exception e) {
             log.error("Failed to search products by description: " + e.getMessage());
             throw new ProductServiceException("Failed to search products by description: "
@@ -169,15 +509,27 @@ public class ProductService {
 
     /**
      * Searches products by their name ignoring case.
+     * Answered from the in-memory search index once it is built, so only the matching page is read
+     * from the database; until then the database is searched directly.
      *
      * @param keyword the keyword to search for in product names
-     * @return a list of products matching the search criteria
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page matching the search criteria
      * @throws ProductServiceException if an error occurs while searching for products
      */
-    public List<ProductDto> searchProductsByName(String keyword) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchProductsByName(String keyword, int page, int size) {
         try {
-            List<Product> products = productRepository.findByNameContainingIgnoreCase(keyword);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setNameContains(keyword);
+            return cached("name", filter, pageRequest(page, size), pageable -> {
+                if (!productSearchIndex.isReady()) {
+                    Slice<ProductDto> products = productRepository.findByNameContainingIgnoreCase(keyword, pageable);
+                    return products.getContent();
+                }
+                return hydrate(productSearchIndex.searchByName(keyword), page, size);
+            });
         } catch (Exception e) {
             log.error("Failed to search products by name: " + e.getMessage());
             throw new ProductServiceException("Failed to search products by name: "
@@ -189,13 +541,18 @@ public class ProductService {
      * Searches products by their category ID.
      *
      * @param id the ID of the category to search products for
-     * @return a list of products belonging to the specified category
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page belonging to the specified category
      * @throws ProductServiceException if an error occurs while searching for products
      */
-    public List<ProductDto> searchProductsByCategoryId(Long id) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchProductsByCategoryId(Long id, int page, int size) {
         try {
-            List<Product> products = productRepository.findByCategoryId(id);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setCategoryIds(List.of(id));
+            return cached("category", filter, pageRequest(page, size),
+                    pageable -> productRepository.findByCategoryId(id, pageable).getContent());
         } catch (Exception e) {
             log.error("Failed to search products by category ID: " + e.getMessage());
             throw new ProductServiceException("Failed to search products by category ID: "
@@ -205,16 +562,29 @@ public class ProductService {
 
     /**
      * Filters products by price range.
+     * Products are ordered by price, then ID. Answered from the in-memory price index once it is built,
+     * so only the matching page is read from the database; until then the database is queried directly.
      *
      * @param min the minimum price
      * @param max the maximum price
-     * @return a list of products within the specified price range
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page within the specified price range
      * @throws ProductServiceException if an error occurs while filtering products
      */
-    public List<ProductDto> filterProductsByPriceRange(double min, double max) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> filterProductsByPriceRange(double min, double max, int page, int size) {
         try {
-            List<Product> products = productRepository.findByPriceBetween(min, max);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setMinPrice(min);
+            filter.setMaxPrice(max);
+            return cached("priceRange", filter, pageRequest(page, size, PRICE_SORT), pageable -> {
+                if (!productPriceIndex.isReady()) {
+                    Slice<ProductDto> products = productRepository.findByPriceBetween(min, max, pageable);
+                    return products.getContent();
+                }
+                return hydrate(productPriceIndex.findBetween(min, max, pageable.getOffset(), pageable.getPageSize()));
+            });
         } catch (Exception e) {
             log.error("Failed to filter products by price range: " + e.getMessage());
             throw new ProductServiceException("Failed to filter products by price range: "
@@ -224,15 +594,28 @@ public class ProductService {
 
     /**
      * Filters products by price greater than the specified minimum price.
+     * Products are ordered by price, then ID. Answered from the in-memory price index once it is built,
+     * so only the matching page is read from the database; until then the database is queried directly.
      *
      * @param min the minimum price
-     * @return a list of products with prices greater than the specified minimum
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page with prices greater than the specified minimum
      * @throws ProductServiceException if an error occurs while filtering products
      */
-    public List<ProductDto> filterProductsByPriceGreater(double min) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> filterProductsByPriceGreater(double min, int page, int size) {
         try {
-            List<Product> products = productRepository.findByPriceGreaterThan(min);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setMinPrice(min);
+            filter.setMinPriceExclusive(true);
+            return cached("priceGreater", filter, pageRequest(page, size, PRICE_SORT), pageable -> {
+                if (!productPriceIndex.isReady()) {
+                    Slice<ProductDto> products = productRepository.findByPriceGreaterThan(min, pageable);
+                    return products.getContent();
+                }
+                return hydrate(productPriceIndex.findGreaterThan(min, pageable.getOffset(), pageable.getPageSize()));
+            });
         } catch (Exception e) {
             log.error("Failed to filter products by price greater: " + e.getMessage());
             throw new ProductServiceException("Failed to filter products by price greater: "
@@ -242,15 +625,28 @@ public class ProductService {
 
     /**
      * Filters products by price less than the specified maximum price.
+     * Products are ordered by price, then ID. Answered from the in-memory price index once it is built,
+     * so only the matching page is read from the database; until then the database is queried directly.
      *
      * @param max the maximum price
-     * @return a list of products with prices less than the specified maximum
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page with prices less than the specified maximum
      * @throws ProductServiceException if an error occurs while filtering products
      */
-    public List<ProductDto> filterProductsByPriceLess(double max) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> filterProductsByPriceLess(double max, int page, int size) {
         try {
-            List<Product> products = productRepository.findByPriceIsLessThan(max);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setMaxPrice(max);
+            filter.setMaxPriceExclusive(true);
+            return cached("priceLess", filter, pageRequest(page, size, PRICE_SORT), pageable -> {
+                if (!productPriceIndex.isReady()) {
+                    Slice<ProductDto> products = productRepository.findByPriceIsLessThan(max, pageable);
+                    return products.getContent();
+                }
+                return hydrate(productPriceIndex.findLessThan(max, pageable.getOffset(), pageable.getPageSize()));
+            });
         } catch (Exception e) {
             log.error("Failed to filter products by price less: " + e.getMessage());
             throw new ProductServiceException("Failed to filter products by price less: "
@@ -262,13 +658,18 @@ public class ProductService {
      * Searches products by name excepting the specified keyword.
      *
      * @param keyword the keyword to exclude from product names
-     * @return a list of products not containing the specified keyword in their names
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page not containing the specified keyword in their names
      * @throws ProductServiceException if an error occurs while searching for products
      */
-    public List<ProductDto> searchProductsByNameNotContaining(String keyword) {
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchProductsByNameNotContaining(String keyword, int page, int size) {
         try {
-            List<Product> products = productRepository.findByNameNotContainingIgnoreCase(keyword);
-            return mapToProductDtoList(products);
+            ProductFilterDto filter = new ProductFilterDto();
+            filter.setNameNotContains(keyword);
+            return cached("nameNotContaining", filter, pageRequest(page, size),
+                    pageable -> productRepository.findByNameNotContainingIgnoreCase(keyword, pageable).getContent());
         } catch (Exception e) {
             log.error("Failed to search products by name not containing: " + e.getMessage());
             throw new ProductServiceException("Failed to search products by name not containing: "
@@ -277,15 +678,329 @@ public class ProductService {
     }
 
     /**
-     * Utility method to map Product entities to ProductDto objects.
+     * Filters products by any combination of IDs, categories, price range and name or description keywords.
+     * All restrictions of the filter must match; restrictions left {@code null} are ignored.
+     * Products are ordered by ID. Answered from the in-memory bitmap indexes once they are built,
+     * so only the matching page is read from the database; until then the database is queried directly.
+     *
+     * @param filter the restrictions the products must match
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page matching the filter
+     * @throws ProductServiceException if an error occurs while filtering products
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDto> filterProducts(ProductFilterDto filter, int page, int size) {
+        try {
+            return findMatching(filter, pageRequest(page, size));
+        } catch (Exception e) {
+            log.error("Failed to filter products: " + e.getMessage());
+            throw new ProductServiceException("Failed to filter products: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queries one page of products matching a filter in the requested order.
+     * Queries ordered by ID, and price-only queries ordered by price, are answered from the in-memory
+     * indexes once they are built; all other queries run as a single SQL statement with bound parameters.
+     *
+     * @param query the filter, order and page of the products to return
+     * @return a list of products on the requested page matching the filter
+     * @throws ProductServiceException if an error occurs while querying products,
+     *                                 e.g. if the order refers to an unknown property
+     */
+    @Transactional(readOnly = true)
+    public List<ProductDto> queryProducts(ProductQueryDto query) {
+        try {
+            ProductFilterDto filter = query.getFilter() != null ? query.getFilter() : new ProductFilterDto();
+            Pageable pageable = pageRequest(query.getPage(), query.getSize(), toSort(query.getSort()));
+            return findMatching(filter, pageable);
+        } catch (Exception e) {
+            log.error("Failed to query products: " + e.getMessage());
+            throw new ProductServiceException("Failed to query products: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Utility method to insert a batch of new products and release them from the persistence context.
+     *
+     * @param batch           the new Product entities, cleared once saved
+     * @param createdProducts the list the saved products are appended to
+     */
+    private void saveBatch(List<Product> batch, List<ProductDto> createdProducts) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        productRepository.saveAll(batch);
+        productRepository.flush();
+        batch.forEach(product -> createdProducts.add(mapToProductDto(product)));
+        entityManager.clear();
+        batch.clear();
+    }
+
+    /**
+     * Utility method to reject filters that would select every product.
+     *
+     * @param filter the filter to check
+     * @throws IllegalArgumentException if the filter has no criteria
+     */
+    private void requireRestrictive(ProductFilterDto filter) {
+        if (filter == null
+            || (filter.getIds() == null || filter.getIds().isEmpty())
+               && (filter.getCategoryIds() == null || filter.getCategoryIds().isEmpty())
+               && filter.getMinPrice() == null
+               && filter.getMaxPrice() == null
+               && filter.getNameContains() == null
+               && filter.getNameNotContains() == null
+               && filter.getDescriptionContains() == null) {
+            throw new IllegalArgumentException("Filter must not be empty");
+        }
+    }
+
+    /**
+     * Utility method to run a bulk operation chunk by chunk, counting the affected products.
+     * The chunks are taken by keyset over the ID: each one covers the next matching products after the last ID
+     * of the previous one, until a chunk comes back short. Explicit ID lists are split first, so no statement
+     * binds more than {@link #BULK_CHUNK_SIZE} IDs either.
+     * A failing chunk stops the operation; the chunks committed before it stay committed and are reported.
+     *
+     * @param filter    the filter selecting the products
+     * @param action    the name of the operation, for error messages
+     * @param operation runs the operation in its own transaction on at most {@link #BULK_CHUNK_SIZE} products
+     *                  matching the filter after the given ID, returning the IDs of the affected products in
+     *                  ascending order
+     * @return the number of affected products
+     * @throws ProductServiceException if an error occurs before any product was affected
+     * @throws BulkOperationException  if an error occurs after some chunks were committed
+     */
+    private BulkResultDto inChunks(ProductFilterDto filter, String action,
+                                   BiFunction<ProductFilterDto, Long, List<Long>> operation) {
+        int affectedRows = 0;
+        for (ProductFilterDto chunk : chunk(filter)) {
+            long afterId = Long.MIN_VALUE;
+            List<Long> affectedIds;
+            do {
+                try {
+                    affectedIds = operation.apply(chunk, afterId);
+                } catch (Exception e) {
+                    String message = "Failed to " + action + " products: " + e.getMessage();
+                    log.error(message + " (" + affectedRows + " committed before the failure)");
+                    if (affectedRows == 0) {
+                        throw new ProductServiceException(message);
+                    }
+                    throw new BulkOperationException(message, new BulkResultDto(affectedRows, false));
+                }
+                affectedRows += affectedIds.size();
+                if (!affectedIds.isEmpty()) {
+                    afterId = affectedIds.get(affectedIds.size() - 1);
+                }
+            } while (affectedIds.size() == BULK_CHUNK_SIZE);
+        }
+        return new BulkResultDto(affectedRows, true);
+    }
+
+    /**
+     * Utility method to split a filter with an explicit ID list into filters of at most
+     * {@link #BULK_CHUNK_SIZE} IDs each, keeping all other criteria.
+     *
+     * @param filter the filter to split
+     * @return the chunked filters, or the filter itself if it has no ID list
+     */
+    private List<ProductFilterDto> chunk(ProductFilterDto filter) {
+        List<Long> ids = filter.getIds();
+        if (ids == null || ids.size() <= BULK_CHUNK_SIZE) {
+            return List.of(filter);
+        }
+
+        List<ProductFilterDto> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            ProductFilterDto chunk = new ProductFilterDto();
+            BeanUtils.copyProperties(filter, chunk);
+            chunk.setIds(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Utility method to select one page of the products found by the search index.
+     *
+     * @param ids  the IDs of all matching products in ascending order
+     * @param page the page number
+     * @param size the page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return a list of products on the requested page
+     */
+    private List<ProductDto> hydrate(long[] ids, int page, int size) {
+        Pageable pageable = pageRequest(page, size);
+        if (pageable.getOffset() >= ids.length) {
+            return List.of();
+        }
+
+        int to = (int) Math.min(ids.length, pageable.getOffset() + pageable.getPageSize());
+        return hydrate(Arrays.copyOfRange(ids, (int) pageable.getOffset(), to));
+    }
+
+    /**
+     * Utility method to find one page of the products matching a filter, from the query result cache if possible.
+     *
+     * @param filter   the filter the products must match
+     * @param pageable the order and page of the products to return
+     * @return a list of products on the requested page matching the filter
+     */
+    private List<ProductDto> findMatching(ProductFilterDto filter, Pageable pageable) {
+        return cached("query", filter, pageable, ignored -> findMatchingUncached(filter, pageable));
+    }
+
+    /**
+     * Utility method to run a query for the products matching a filter with the cheapest available source.
+     *
+     * @param filter   the filter the products must match
+     * @param pageable the order and page of the products to return
+     * @return a list of products on the requested page matching the filter
+     */
+    private List<ProductDto> findMatchingUncached(ProductFilterDto filter, Pageable pageable) {
+        if (pageable.getSort().equals(DEFAULT_SORT) && productFilterEvaluator.isReady()) {
+            return hydrate(productFilterEvaluator.findMatching(filter, pageable.getOffset(), pageable.getPageSize()));
+        }
+        if (pageable.getSort().equals(PRICE_SORT) && isPriceOnly(filter) && productPriceIndex.isReady()) {
+            return hydrate(productPriceIndex.range(
+                    filter.getMinPrice() != null ? filter.getMinPrice() : Double.NEGATIVE_INFINITY,
+                    !filter.isMinPriceExclusive(),
+                    filter.getMaxPrice() != null ? filter.getMaxPrice() : Double.POSITIVE_INFINITY,
+                    !filter.isMaxPriceExclusive(),
+                    pageable.getOffset(), pageable.getPageSize()));
+        }
+        return productRepository.findMatching(filter, pageable);
+    }
+
+    /**
+     * Utility method to evict an entity from the second-level cache once the current transaction commits.
+     * Evicting earlier would let a concurrent read cache the old state again before the change is visible.
+     *
+     * @param entityClass the class of the entity
+     * @param id          the ID of the entity
+     */
+    private void evictAfterCommit(Class<?> entityClass, Object id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManager.getEntityManagerFactory().getCache().evict(entityClass, id);
+            }
+        });
+    }
+
+    /**
+     * Utility method to answer a query from the query result cache, running it on a miss.
+     *
+     * @param type     the type of the query
+     * @param filter   the restrictions of the query, which tell the product changes that invalidate the result
+     * @param pageable the order and page of the products to return
+     * @param query    the query, run with the page request on a miss
+     * @return a list of products on the requested page
+     */
+    private List<ProductDto> cached(String type, ProductFilterDto filter, Pageable pageable,
+                                    Function<Pageable, List<ProductDto>> query) {
+        return productQueryCache.get(ProductQueryKey.of(type, filter, pageable), () -> query.apply(pageable));
+    }
+
+    /**
+     * Utility method to check whether a filter restricts nothing but the price.
+     *
+     * @param filter the filter
+     * @return {@code true} if only the price bounds of the filter may be set
+     */
+    private boolean isPriceOnly(ProductFilterDto filter) {
+        return filter.getIds() == null
+               && filter.getCategoryIds() == null
+               && filter.getNameContains() == null
+               && filter.getNameNotContains() == null
+               && filter.getDescriptionContains() == null;
+    }
+
+    /**
+     * Utility method to parse the requested order of a query, ending with the ID so that consecutive pages are stable.
+     *
+     * @param sort the properties optionally followed by a direction, e.g. {@code "price,desc"}
+     * @return the order
+     * @throws IllegalArgumentException if a property is not sortable or a direction is unknown
+     */
+    private Sort toSort(List<String> sort) {
+        if (sort == null || sort.isEmpty()) {
+            return DEFAULT_SORT;
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String entry : sort) {
+            String[] parts = entry.split(",");
+            String property = parts[0].trim();
+            if (!SORTABLE_PROPERTIES.contains(property)) {
+                throw new IllegalArgumentException("Unknown sort property: " + property);
+            }
+            Sort.Direction direction = parts.length > 1
+                    ? Sort.Direction.fromString(parts[1].trim())
+                    : Sort.DEFAULT_DIRECTION;
+            orders.add(new Sort.Order(direction, property));
+        }
+        Sort result = Sort.by(orders);
+        return result.getOrderFor("id") != null ? result : result.and(DEFAULT_SORT);
+    }
+
+    /**
+     * Utility method to load the products found by an in-memory index, in the order of their IDs.
+     * IDs whose products no longer exist, e.g. after a set-based bulk delete that bypassed the JPA
+     * callbacks, are removed from the indexes.
+     *
+     * @param pageIds the IDs of the products on the page, in the order to return them
+     * @return a list of the existing products among the IDs
+     */
+    private List<ProductDto> hydrate(long[] pageIds) {
+        if (pageIds.length == 0) {
+            return List.of();
+        }
+
+        Map<Long, ProductDto> products = productRepository
+                .findByIdIn(Arrays.stream(pageIds).boxed().toList()).stream()
+                .collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+        List<ProductDto> orderedProducts = new ArrayList<>(products.size());
+        List<Long> staleIds = new ArrayList<>();
+        for (long id : pageIds) {
+            ProductDto product = products.get(id);
+            if (product != null) {
+                orderedProducts.add(product);
+            } else {
+                staleIds.add(id);
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            productSearchIndex.removeAll(staleIds);
+            productPriceIndex.removeAll(staleIds);
+            productFilterIndex.removeAll(staleIds);
+        }
+        return orderedProducts;
+    }
+
+    /**
+     * Utility method to build a page request sorted by id, so that consecutive pages are stable.
+     *
+     * @param page the page number
+     * @param size the requested page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return the page request
+     */
+    private Pageable pageRequest(int page, int size) {
+        return pageRequest(page, size, DEFAULT_SORT);
+    }
+
+    /**
+     * Utility method to build a page request with the given order.
      *
-     * @param products the list of Product entities
-     * @return a list of ProductDto objects mapped from the Product entities
+     * @param page the page number
+     * @param size the requested page size, raised to 1 and capped at {@link #MAX_PAGE_SIZE}
+     * @param sort the order of the page, ending with a unique key so that consecutive pages are stable
+     * @return the page request
      */
-    private List<ProductDto> mapToProductDtoList(List<Product> products) {
-        return products.stream()
-                .map(this::mapToProductDto)
-                .collect(Collectors.toList());
+    private Pageable pageRequest(int page, int size, Sort sort) {
+        return PageRequest.of(page, Math.max(1, Math.min(size, MAX_PAGE_SIZE)), sort);
     }
 
     /**
@@ -300,7 +1015,8 @@ public class ProductService {
         productDto.setName(product.getName());
         productDto.setDescription(product.getDescription());
         productDto.setPrice(product.getPrice());
-        productDto.setCategoryId(product.getCategory().getId());
+        productDto.setCategoryId(product.getCategoryId());
+        productDto.setVersion(product.getVersion());
         return productDto;
     }
 }
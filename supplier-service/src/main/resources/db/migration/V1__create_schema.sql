@@ -0,0 +1,27 @@
+-- Products and categories, as mapped by the Category and Product entities.
+-- The sequences are incremented by the allocation size of their generators. Columns the entities require are
+-- NOT NULL, and versions start at 0 for rows inserted by native statements.
+
+CREATE SEQUENCE categories_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE categories
+(
+    id      bigint       NOT NULL,
+    name    varchar(255) NOT NULL,
+    version bigint       NOT NULL DEFAULT 0,
+    CONSTRAINT categories_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE products
+(
+    id          bigint           NOT NULL,
+    name        varchar(255)     NOT NULL,
+    description varchar(255)     NOT NULL,
+    price       double precision NOT NULL,
+    category_id bigint           NOT NULL,
+    version     bigint           NOT NULL DEFAULT 0,
+    CONSTRAINT products_pkey PRIMARY KEY (id),
+    CONSTRAINT products_category_id_fkey FOREIGN KEY (category_id) REFERENCES categories (id)
+);
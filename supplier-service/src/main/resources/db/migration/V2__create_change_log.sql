@@ -0,0 +1,160 @@
+-- Change log (outbox) of products and categories, see the ChangeLogEntry entity.
+--
+-- Every insert, update and delete of a product or category row appends an entry in the same transaction,
+-- whether it is written through the persistence context, a native statement or a bulk statement.
+-- Deletes append a tombstone.
+--
+-- Sequence numbers must be assigned in commit order, or a reader could move past a number whose transaction
+-- commits later. The changes of a transaction are therefore first staged in change_log_pending, by statement-level
+-- triggers writing all rows of a statement in one pass, and only moved to change_log, with their sequence numbers,
+-- by a deferred trigger running when the transaction commits. That last step takes a transaction-level advisory
+-- lock, so writing transactions are only serialized from the move of their changes until they commit, not from
+-- their first change.
+
+CREATE SEQUENCE change_log_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE change_log
+(
+    seq         bigint                   NOT NULL,
+    entity_type varchar(255)             NOT NULL CHECK (entity_type IN ('PRODUCT', 'CATEGORY')),
+    entity_id   bigint                   NOT NULL,
+    deleted     boolean                  NOT NULL,
+    payload     text,
+    changed_at  timestamp(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT change_log_pkey PRIMARY KEY (seq)
+);
+
+-- The changes of the transactions still in progress, in the order they were made. Rows never outlive their
+-- transaction, so the tables are not WAL-logged.
+CREATE UNLOGGED TABLE change_log_pending
+(
+    id          bigint GENERATED ALWAYS AS IDENTITY,
+    xid         xid8                     NOT NULL DEFAULT pg_current_xact_id(),
+    entity_type varchar(255)             NOT NULL,
+    entity_id   bigint                   NOT NULL,
+    deleted     boolean                  NOT NULL,
+    payload     text,
+    changed_at  timestamp(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT change_log_pending_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX change_log_pending_xid_idx ON change_log_pending (xid);
+
+-- One row per transaction with pending changes, firing the deferred trigger once when it commits.
+CREATE UNLOGGED TABLE change_log_commit
+(
+    xid xid8 NOT NULL,
+    CONSTRAINT change_log_commit_pkey PRIMARY KEY (xid)
+);
+
+CREATE OR REPLACE FUNCTION record_product_changes() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO change_log_pending (entity_type, entity_id, deleted, payload, changed_at)
+        SELECT 'PRODUCT', id, true, NULL, now()
+        FROM old_rows
+        ORDER BY id;
+    ELSE
+        INSERT INTO change_log_pending (entity_type, entity_id, deleted, payload, changed_at)
+        SELECT 'PRODUCT', id, false,
+               jsonb_build_object('id', id, 'name', name, 'description', description, 'price', price,
+                                  'categoryId', category_id, 'version', version)::text,
+               now()
+        FROM new_rows
+        ORDER BY id;
+    END IF;
+    IF FOUND THEN
+        INSERT INTO change_log_commit (xid) VALUES (pg_current_xact_id()) ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_category_changes() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO change_log_pending (entity_type, entity_id, deleted, payload, changed_at)
+        SELECT 'CATEGORY', id, true, NULL, now()
+        FROM old_rows
+        ORDER BY id;
+    ELSE
+        INSERT INTO change_log_pending (entity_type, entity_id, deleted, payload, changed_at)
+        SELECT 'CATEGORY', id, false, jsonb_build_object('id', id, 'name', name, 'version', version)::text, now()
+        FROM new_rows
+        ORDER BY id;
+    END IF;
+    IF FOUND THEN
+        INSERT INTO change_log_commit (xid) VALUES (pg_current_xact_id()) ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Moves the pending changes of the committing transaction to the change log, numbering them in the order they
+-- were made. The lock is held until the commit completes, so no other transaction draws a number before the
+-- changes numbered here are visible.
+CREATE OR REPLACE FUNCTION publish_changes() RETURNS trigger AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('change_log'));
+    INSERT INTO change_log (seq, entity_type, entity_id, deleted, payload, changed_at)
+    SELECT nextval('change_log_seq'), pending.entity_type, pending.entity_id, pending.deleted, pending.payload,
+           pending.changed_at
+    FROM (SELECT * FROM change_log_pending WHERE xid = NEW.xid ORDER BY id) pending;
+    DELETE FROM change_log_pending WHERE xid = NEW.xid;
+    DELETE FROM change_log_commit WHERE xid = NEW.xid;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Transition tables are only allowed on triggers for a single event, hence one trigger per event.
+CREATE TRIGGER products_change_log_insert
+    AFTER INSERT
+    ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_product_changes();
+
+CREATE TRIGGER products_change_log_update
+    AFTER UPDATE
+    ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_product_changes();
+
+CREATE TRIGGER products_change_log_delete
+    AFTER DELETE
+    ON products
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_product_changes();
+
+CREATE TRIGGER categories_change_log_insert
+    AFTER INSERT
+    ON categories
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_category_changes();
+
+CREATE TRIGGER categories_change_log_update
+    AFTER UPDATE
+    ON categories
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_category_changes();
+
+CREATE TRIGGER categories_change_log_delete
+    AFTER DELETE
+    ON categories
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+EXECUTE FUNCTION record_category_changes();
+
+CREATE CONSTRAINT TRIGGER change_log_publish
+    AFTER INSERT
+    ON change_log_commit
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW
+EXECUTE FUNCTION publish_changes();
@@ -0,0 +1,17 @@
+-- Indexes for the query paths of ProductRepository.
+--
+-- Pages are ordered by the ID, or by the price then the ID, so the B-tree indexes end with the ID: a page of a
+-- category, or of a price range, is read in order from the index instead of sorted.
+
+CREATE INDEX products_price_id_idx ON products (price, id);
+
+CREATE INDEX products_category_id_id_idx ON products (category_id, id);
+
+-- Case-insensitive "contains" searches (LOWER(column) LIKE '%keyword%') cannot use a B-tree index;
+-- trigram GIN indexes on the lower-cased columns serve them.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX products_lower_name_trgm_idx ON products USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX products_lower_description_trgm_idx ON products USING gin (lower(description) gin_trgm_ops);
@@ -0,0 +1,129 @@
+package com.stepup.supplierservice.cache;
+
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.index.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for caching and invalidating query results with ProductQueryCache.
+ */
+class ProductQueryCacheTest {
+
+    @Test
+    void of_NormalizesEquivalentQueries() {
+        // Given
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setIds(List.of(3L, 1L, 3L));
+        filter.setNameContains("Shoe");
+        ProductFilterDto equivalent = new ProductFilterDto();
+        equivalent.setIds(List.of(1L, 3L));
+        equivalent.setNameContains("sHOE");
+
+        // When & Then
+        assertEquals(ProductQueryKey.of("query", filter, PageRequest.of(0, 10)),
+                ProductQueryKey.of("query", equivalent, PageRequest.of(0, 10)));
+        assertFalse(ProductQueryKey.of("query", filter, PageRequest.of(0, 10))
+                .equals(ProductQueryKey.of("query", filter, PageRequest.of(1, 10))));
+        assertFalse(ProductQueryKey.of("query", filter, PageRequest.of(0, 10))
+                .equals(ProductQueryKey.of("query", filter, PageRequest.of(0, 10, Sort.by("price")))));
+    }
+
+    @Test
+    void mayMatch_ChecksIdCategoryAndPriceRestrictions() {
+        // Given
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(10L));
+        filter.setMinPrice(5.0);
+        filter.setMinPriceExclusive(true);
+        filter.setMaxPrice(20.0);
+        ProductQueryKey key = ProductQueryKey.of("query", filter, PageRequest.of(0, 10));
+
+        // When & Then
+        assertTrue(key.mayMatch(1L, 10L, 20.0));
+        assertFalse(key.mayMatch(1L, 10L, 5.0));
+        assertFalse(key.mayMatch(1L, 10L, 20.01));
+        assertFalse(key.mayMatch(1L, 11L, 10.0));
+        assertFalse(key.mayMatch(1L, null, 10.0));
+    }
+
+    @Test
+    void onProductChanged_DropsOnlyAffectedPages() {
+        // Given
+        ProductQueryCache cache = new ProductQueryCache(1000, Duration.ofMinutes(10));
+        ProductFilterDto cheap = new ProductFilterDto();
+        cheap.setMaxPrice(10.0);
+        ProductFilterDto expensive = new ProductFilterDto();
+        expensive.setMinPrice(100.0);
+        ProductQueryKey cheapKey = ProductQueryKey.of("query", cheap, PageRequest.of(0, 10));
+        ProductQueryKey expensiveKey = ProductQueryKey.of("query", expensive, PageRequest.of(0, 10));
+        AtomicInteger queries = new AtomicInteger();
+        cache.get(cheapKey, () -> page(queries));
+        cache.get(expensiveKey, () -> page(queries));
+
+        // When
+        cache.onProductChanged(new ProductChangedEvent(1L, "Shoe", "Red", 8.0, 10L, 10L, 9.0, false));
+        cache.get(cheapKey, () -> page(queries));
+        cache.get(expensiveKey, () -> page(queries));
+
+        // Then
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void onProductChanged_DropsPagesMatchingPreviousState() {
+        // Given
+        ProductQueryCache cache = new ProductQueryCache(1000, Duration.ofMinutes(10));
+        ProductFilterDto category = new ProductFilterDto();
+        category.setCategoryIds(List.of(10L));
+        ProductQueryKey key = ProductQueryKey.of("category", category, PageRequest.of(0, 10));
+        AtomicInteger queries = new AtomicInteger();
+        cache.get(key, () -> page(queries));
+
+        // When
+        cache.onProductChanged(new ProductChangedEvent(1L, "Shoe", "Red", 8.0, 20L, 10L, 8.0, false));
+        cache.get(key, () -> page(queries));
+
+        // Then
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void get_DoesNotKeepResultOfQueryOverlappingInvalidation() {
+        // Given
+        ProductQueryCache cache = new ProductQueryCache(1000, Duration.ofMinutes(10));
+        ProductQueryKey key = ProductQueryKey.of("all", new ProductFilterDto(), PageRequest.of(0, 10));
+        AtomicInteger queries = new AtomicInteger();
+
+        // When
+        cache.get(key, () -> {
+            cache.invalidateAll();
+            return page(queries);
+        });
+        cache.get(key, () -> page(queries));
+
+        // Then
+        assertEquals(2, queries.get());
+    }
+
+    /**
+     * Utility method to run a counted query.
+     *
+     * @param queries the counter of the queries run
+     * @return a page with one product
+     */
+    private static List<ProductDto> page(AtomicInteger queries) {
+        queries.incrementAndGet();
+        return List.of(new ProductDto(1L, "Shoe", "Red", 8.0, 10L));
+    }
+}
@@ -0,0 +1,184 @@
+package com.stepup.supplierservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for routing connections between the primary and the replicas with ReplicaRoutingDataSource.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource replica1 = mock(DataSource.class);
+
+    private final DataSource replica2 = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replica1Connection = mock(Connection.class);
+
+    private final Connection replica2Connection = mock(Connection.class);
+
+    private final Map<DataSource, Duration> lags = new HashMap<>();
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        lags.put(replica1, Duration.ZERO);
+        lags.put(replica2, Duration.ZERO);
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), Duration.ofSeconds(5)) {
+            @Override
+            protected Duration measureLag(DataSource replica) throws SQLException {
+                Duration lag = lags.get(replica);
+                if (lag == null) {
+                    throw new SQLException("Connection refused");
+                }
+                return lag;
+            }
+        };
+        routing.afterPropertiesSet();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unbindClient();
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplicasRoundRobin() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(replica1Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_SkipsLaggingAndUnreachableReplicas() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        lags.put(replica1, Duration.ofSeconds(30));
+        routing.checkReplicas();
+
+        // When & Then
+        assertSame(replica2Connection, routing.getConnection());
+        assertSame(replica2Connection, routing.getConnection());
+
+        // Given
+        lags.remove(replica2);
+        routing.checkReplicas();
+
+        // When & Then
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_UsesPrimaryAfterWriteOfSameClient() throws SQLException {
+        // Given
+        List<Long> reported = new ArrayList<>();
+        ReplicaRoutingDataSource.bindClient(0, reported::add);
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(1, reported.size());
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplicaAfterWriteOfOtherClient() throws SQLException {
+        // Given
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_UsesPrimaryWhileClientWroteWithinMaximumLag() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.bindClient(System.currentTimeMillis() - 1000, lastWrite -> {});
+
+        // When & Then
+        assertSame(primaryConnection, routing.getConnection());
+
+        // Given
+        ReplicaRoutingDataSource.bindClient(System.currentTimeMillis() - 60_000, lastWrite -> {});
+
+        // When & Then
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void sharedCacheFill_UsesPrimaryAfterWriteOfInstance() throws SQLException {
+        // Given
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        assertSame(primaryConnection, ReplicaRoutingDataSource.fillSharedCache(() ->
+                assertDoesNotThrow(() -> routing.getConnection())));
+        assertSame(replica1Connection, routing.getConnection());
+    }
+
+    @Test
+    void sharedCacheFill_UsesReplicaThatReplayedWriteOfInstance() throws SQLException, InterruptedException {
+        // Given
+        assertSame(primaryConnection, routing.getConnection());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Thread.sleep(5);
+        lags.put(replica1, Duration.ofSeconds(1));
+        routing.checkReplicas();
+
+        // When & Then
+        assertSame(replica2Connection, ReplicaRoutingDataSource.fillSharedCache(() ->
+                assertDoesNotThrow(() -> routing.getConnection())));
+        assertSame(replica2Connection, ReplicaRoutingDataSource.fillSharedCache(() ->
+                assertDoesNotThrow(() -> routing.getConnection())));
+    }
+
+    @Test
+    void readOnlyTransaction_UsesPrimaryWhenRequired() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When & Then
+        ReplicaRoutingDataSource.runOnPrimary(() ->
+                assertSame(primaryConnection, assertDoesNotThrow(() -> routing.getConnection())));
+        assertSame(replica1Connection, routing.getConnection());
+    }
+}
@@ -0,0 +1,130 @@
+package com.stepup.supplierservice.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JMH benchmark comparing the time to write and read a list of {@link ProductDto} in the formats the services
+ * exchange: JSON or Smile, each plain or gzip-compressed as Tomcat compresses responses. The size of every
+ * payload is printed when the benchmark starts.
+ * <p>
+ * Run after {@code mvn -Pdev test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:<dependencies> com.stepup.supplierservice.dto.ProductListSerializationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductListSerializationBenchmark {
+
+    private static final TypeReference<List<ProductDto>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10000"})
+    private int products;
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+
+    private List<ProductDto> productDtos;
+
+    private byte[] payload;
+
+    /**
+     * Creates the products and their payload in the benchmarked format, printing its size.
+     *
+     * @throws IOException if the products cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = "smile".equals(format) ? builder.factory(new SmileFactory()).build() : builder.build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        productDtos = new ArrayList<>(products);
+        for (int i = 1; i <= products; i++) {
+            productDtos.add(new ProductDto((long) i, "Product " + i, "Description of product " + i,
+                    Math.round(random.nextDouble(10_000) * 100) / 100.0, (long) (i % 4 + 1), 0L));
+        }
+        payload = write();
+        System.out.printf("%n%d products as %s%s: %d bytes%n", products, format, gzip ? " (gzip)" : "",
+                payload.length);
+    }
+
+    /**
+     * Writes the products.
+     *
+     * @return the payload
+     * @throws IOException if the products cannot be written
+     */
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload == null ? 1 << 20 : payload.length);
+        try (OutputStream output = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(output, productDtos);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the products.
+     *
+     * @return the products
+     * @throws IOException if the products cannot be read
+     */
+    @Benchmark
+    public List<ProductDto> read() throws IOException {
+        InputStream bytes = new ByteArrayInputStream(payload);
+        try (InputStream input = gzip ? new GZIPInputStream(bytes) : bytes) {
+            return objectMapper.readValue(input, PRODUCT_LIST);
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the command-line arguments (unused)
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductListSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.stepup.supplierservice.index;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for category and price bitmaps with BitmapIndex.
+ */
+class BitmapIndexTest {
+
+    @Test
+    void inCategories_UnitesCategoryBitmaps() {
+        // Given
+        BitmapIndex index = new BitmapIndex();
+        index.put(1L, 10L, 1.00);
+        index.put(2L, 20L, 2.00);
+        index.put(3L, 30L, 3.00);
+        index.put(4L, null, 4.00);
+
+        // When & Then
+        assertArrayEquals(new long[]{1L, 3L}, index.inCategories(List.of(10L, 30L)).toArray());
+        assertArrayEquals(new long[]{}, index.inCategories(List.of(40L)).toArray());
+        assertArrayEquals(new long[]{1L, 2L, 3L, 4L}, index.all().toArray());
+    }
+
+    @Test
+    void priceBetween_RefinesOnlyBoundaryBuckets() {
+        // Given
+        BitmapIndex index = new BitmapIndex();
+        index.put(1L, 10L, 0.00);
+        index.put(2L, 10L, 9.99);
+        index.put(3L, 10L, 10.00);
+        index.put(4L, 10L, 500.00);
+        index.put(5L, 10L, 1000.01);
+        Roaring64Bitmap refined = new Roaring64Bitmap();
+
+        // When
+        Roaring64Bitmap matching = index.priceBetween(10.00, true, 1000.00, true, boundaries -> {
+            refined.or(boundaries);
+            return Roaring64Bitmap.bitmapOf(3L);
+        });
+
+        // Then
+        assertArrayEquals(new long[]{3L, 4L}, matching.toArray());
+        assertArrayEquals(new long[]{3L, 5L}, refined.toArray());
+    }
+
+    @Test
+    void putAndRemove_KeepIndexConsistent() {
+        // Given
+        BitmapIndex index = new BitmapIndex();
+        index.put(1L, 10L, 1.00);
+        index.put(2L, 10L, 2.00);
+
+        // When
+        index.put(1L, 20L, 200.00);
+        index.remove(2L);
+
+        // Then
+        assertEquals(1, index.size());
+        assertArrayEquals(new long[]{}, index.inCategories(List.of(10L)).toArray());
+        assertArrayEquals(new long[]{1L}, index.inCategories(List.of(20L)).toArray());
+        assertArrayEquals(new long[]{1L}, index.priceBetween(100.00, true, 300.00, true, boundaries -> boundaries)
+                .toArray());
+    }
+}
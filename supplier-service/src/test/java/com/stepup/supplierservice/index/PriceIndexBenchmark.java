@@ -0,0 +1,211 @@
+package com.stepup.supplierservice.index;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing a page of a price range query answered by {@link PriceIndex} with the
+ * same page read from Postgres the way {@code ProductRepository.findByPriceBetween} does.
+ * <p>
+ * The index benchmark always runs. The database benchmarks run when {@code benchmark.jdbc.url}
+ * (and optionally {@code benchmark.jdbc.user} / {@code benchmark.jdbc.password}) point to a Postgres
+ * database, in which a {@code products_benchmark} table with the same columns as {@code products} is
+ * created and dropped. Run after {@code mvn -Pdev test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:<dependencies> com.stepup.supplierservice.index.PriceIndexBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PriceIndexBenchmark {
+
+    private static final String JDBC_URL = "benchmark.jdbc.url";
+
+    private static final double MAX_PRICE = 10_000;
+
+    private static final double RANGE_WIDTH = 100;
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000000", "10000000"})
+    private int products;
+
+    private PriceIndex index;
+
+    private Connection connection;
+
+    private PreparedStatement repositoryQuery;
+
+    private PreparedStatement hydrationQuery;
+
+    private SplittableRandom random;
+
+    /**
+     * Builds the index and, if configured, the benchmark table with the same number of products.
+     *
+     * @throws SQLException if the benchmark table cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        random = new SplittableRandom(42);
+        long[] ids = new long[products];
+        double[] prices = new double[products];
+        for (int i = 0; i < products; i++) {
+            ids[i] = i + 1;
+            prices[i] = Math.round(random.nextDouble(MAX_PRICE) * 100) / 100.0;
+        }
+        index = new PriceIndex();
+        index.load(ids, prices, products);
+
+        String url = System.getProperty(JDBC_URL);
+        if (url == null) {
+            return;
+        }
+        connection = DriverManager.getConnection(url,
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products_benchmark");
+            statement.execute("CREATE TABLE products_benchmark (id bigint PRIMARY KEY, name varchar(255), "
+                              + "description varchar(255), price double precision NOT NULL, category_id bigint)");
+            statement.execute("INSERT INTO products_benchmark "
+                              + "SELECT g, 'product ' || g, 'description ' || g, "
+                              + "round((random() * " + MAX_PRICE + ")::numeric, 2), g % 4 + 1 "
+                              + "FROM generate_series(1, " + products + ") g");
+            statement.execute("ANALYZE products_benchmark");
+        }
+        repositoryQuery = connection.prepareStatement("SELECT id, name, description, price, category_id "
+                                                      + "FROM products_benchmark WHERE price BETWEEN ? AND ? "
+                                                      + "ORDER BY price, id OFFSET 0 ROWS FETCH FIRST ? ROWS ONLY");
+        hydrationQuery = connection.prepareStatement("SELECT id, name, description, price, category_id "
+                                                     + "FROM products_benchmark WHERE id = ANY (?)");
+    }
+
+    /**
+     * Drops the benchmark table, if it was created.
+     *
+     * @throws SQLException if the table cannot be dropped
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products_benchmark");
+        }
+        connection.close();
+    }
+
+    /**
+     * Finds the IDs of a page of products in a random price range with the index.
+     *
+     * @return the IDs of the page
+     */
+    @Benchmark
+    public long[] indexRange() {
+        double min = random.nextDouble(MAX_PRICE - RANGE_WIDTH);
+        return index.range(min, true, min + RANGE_WIDTH, true, 0, PAGE_SIZE);
+    }
+
+    /**
+     * Finds a page of products in a random price range with the index, then loads them by primary key.
+     *
+     * @return the loaded rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public List<Object[]> indexRangeAndHydrate() throws SQLException {
+        long[] ids = indexRange();
+        Long[] boxedIds = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxedIds[i] = ids[i];
+        }
+        Array array = connection.createArrayOf("bigint", boxedIds);
+        hydrationQuery.setArray(1, array);
+        return readRows(hydrationQuery);
+    }
+
+    /**
+     * Reads a page of products in a random price range from the database.
+     *
+     * @return the loaded rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public List<Object[]> repositoryRange() throws SQLException {
+        double min = random.nextDouble(MAX_PRICE - RANGE_WIDTH);
+        repositoryQuery.setDouble(1, min);
+        repositoryQuery.setDouble(2, min + RANGE_WIDTH);
+        repositoryQuery.setInt(3, PAGE_SIZE);
+        return readRows(repositoryQuery);
+    }
+
+    /**
+     * Utility method to execute a query and read all columns of its rows.
+     *
+     * @param query the query to execute
+     * @return the rows
+     * @throws SQLException if the query fails
+     */
+    private static List<Object[]> readRows(PreparedStatement query) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                rows.add(new Object[]{resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                        resultSet.getDouble(4), resultSet.getLong(5)});
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Runs the benchmark, including the database benchmarks only if a database is configured.
+     *
+     * @param args the command-line arguments (unused)
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String url = System.getProperty(JDBC_URL);
+        OptionsBuilder options = new OptionsBuilder();
+        if (url == null) {
+            options.include(PriceIndexBenchmark.class.getSimpleName() + ".indexRange$");
+        } else {
+            options.include(PriceIndexBenchmark.class.getSimpleName())
+                    .jvmArgsAppend("-D" + JDBC_URL + "=" + url,
+                            "-Dbenchmark.jdbc.user=" + System.getProperty("benchmark.jdbc.user", "postgres"),
+                            "-Dbenchmark.jdbc.password=" + System.getProperty("benchmark.jdbc.password", "postgres"));
+        }
+        Options built = options.build();
+        new Runner(built).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.stepup.supplierservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for price range queries with PriceIndex.
+ */
+class PriceIndexTest {
+
+    @Test
+    void range_ReturnsIdsInPriceOrder() {
+        // Given
+        PriceIndex index = new PriceIndex();
+        index.put(1L, 999.99);
+        index.put(2L, 14.99);
+        index.put(3L, 19.99);
+        index.put(4L, 14.99);
+
+        // When & Then
+        assertArrayEquals(new long[]{2L, 4L, 3L}, index.range(14.99, true, 19.99, true, 0, 10));
+        assertArrayEquals(new long[]{3L, 1L}, index.range(14.99, false, Double.POSITIVE_INFINITY, true, 0, 10));
+        assertArrayEquals(new long[]{2L, 4L}, index.range(Double.NEGATIVE_INFINITY, true, 19.99, false, 0, 10));
+    }
+
+    @Test
+    void range_ReturnsRequestedPage() {
+        // Given
+        PriceIndex index = new PriceIndex();
+        LongStream.rangeClosed(1, 10).forEach(id -> index.put(id, id * 10.0));
+
+        // When & Then
+        assertArrayEquals(new long[]{4L, 5L}, index.range(0, true, 100, true, 3, 2));
+        assertArrayEquals(new long[]{10L}, index.range(0, true, 100, true, 9, 2));
+        assertArrayEquals(new long[]{}, index.range(0, true, 100, true, 10, 2));
+    }
+
+    @Test
+    void putAndRemove_MoveEntries() {
+        // Given
+        PriceIndex index = new PriceIndex();
+        index.put(1L, 1.00);
+        index.put(2L, 2.00);
+        index.put(3L, 3.00);
+
+        // When
+        index.put(1L, 5.00);
+        index.remove(2L);
+
+        // Then
+        assertEquals(2, index.size());
+        assertArrayEquals(new long[]{3L, 1L}, index.range(0, true, 10, true, 0, 10));
+    }
+
+    @Test
+    void load_MatchesIncrementalPuts() {
+        // Given
+        Random random = new Random(42);
+        int count = 10_000;
+        long[] ids = new long[count];
+        double[] prices = new double[count];
+        PriceIndex incremental = new PriceIndex();
+        for (int i = 0; i < count; i++) {
+            ids[i] = i * 2L + 1;
+            prices[i] = random.nextInt(2000) / 4.0 - 100;
+            incremental.put(ids[i], prices[i]);
+        }
+
+        // When
+        PriceIndex loaded = new PriceIndex();
+        loaded.load(ids, prices, count);
+
+        // Then
+        assertArrayEquals(incremental.range(-50, true, 200, false, 0, count),
+                loaded.range(-50, true, 200, false, 0, count));
+        assertArrayEquals(incremental.range(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true, 0, count),
+                loaded.range(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true, 0, count));
+    }
+
+    @Test
+    void putAll_MatchesIncrementalPuts() {
+        // Given
+        Random random = new Random(7);
+        int count = 1_000;
+        PriceIndex incremental = new PriceIndex();
+        PriceIndex batched = new PriceIndex();
+        for (long id = 1; id <= count; id++) {
+            double price = random.nextInt(2000) / 4.0;
+            incremental.put(id, price);
+            batched.put(id, price);
+        }
+
+        // When
+        int updates = 200;
+        long[] ids = new long[updates];
+        double[] prices = new double[updates];
+        for (int i = 0; i < updates; i++) {
+            ids[i] = i * 6L + 1;
+            prices[i] = random.nextInt(2000) / 4.0;
+            incremental.put(ids[i], prices[i]);
+        }
+        batched.putAll(ids, prices, updates);
+
+        // Then
+        assertEquals(incremental.size(), batched.size());
+        assertArrayEquals(incremental.range(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true, 0, 2000),
+                batched.range(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true, 0, 2000));
+    }
+
+    @Test
+    void putAll_MatchesIncrementalPuts_WhenMergingFewUpdates() {
+        // Given
+        Random random = new Random(11);
+        int count = 10_000;
+        PriceIndex incremental = new PriceIndex();
+        PriceIndex batched = new PriceIndex();
+        for (long id = 1; id <= count; id++) {
+            double price = random.nextInt(2000) / 4.0;
+            incremental.put(id, price);
+            batched.put(id, price);
+        }
+
+        // When (fewer than 1% of the prices, with repeated, unchanged and new products)
+        int updates = 60;
+        long[] ids = new long[updates];
+        double[] prices = new double[updates];
+        for (int i = 0; i < updates; i++) {
+            ids[i] = i % 20 == 19 ? count + i : random.nextInt(count / 100) + 1;
+            prices[i] = i % 10 == 0 ? incremental.priceOf(ids[i]) : random.nextInt(2000) / 4.0;
+            incremental.put(ids[i], prices[i]);
+        }
+        batched.putAll(ids, prices, updates);
+
+        // Then
+        assertEquals(incremental.size(), batched.size());
+        assertArrayEquals(incremental.range(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true, 0,
+                        incremental.size()),
+                batched.range(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true, 0, batched.size()));
+        for (long id : ids) {
+            assertEquals(incremental.priceOf(id), batched.priceOf(id));
+        }
+    }
+
+    @Test
+    void load_ThrowsOnUnsortedIds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PriceIndex().load(new long[]{2L, 1L}, new double[]{1.00, 2.00}, 2));
+    }
+}
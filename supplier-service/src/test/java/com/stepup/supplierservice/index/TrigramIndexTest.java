@@ -0,0 +1,66 @@
+package com.stepup.supplierservice.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for substring search with TrigramIndex.
+ */
+class TrigramIndexTest {
+
+    @Test
+    void search_FindsSubstringsIgnoringCase() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(3L, "Big T-shirt");
+        index.put(1L, "Top smartphone");
+        index.put(2L, "Top laptop");
+
+        // When & Then
+        assertArrayEquals(new long[]{1L, 2L}, index.search("TOP"));
+        assertArrayEquals(new long[]{3L}, index.search("t-sh"));
+        assertArrayEquals(new long[]{}, index.search("tablet"));
+    }
+
+    @Test
+    void search_VerifiesCandidatesAgainstText() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "abcab");
+
+        // When & Then
+        assertArrayEquals(new long[]{}, index.search("bcabc"));
+        assertArrayEquals(new long[]{1L}, index.search("bca"));
+    }
+
+    @Test
+    void search_ScansForShortKeywords() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(2L, "Milk");
+        index.put(1L, "Apple");
+
+        // When & Then
+        assertArrayEquals(new long[]{1L}, index.search("ap"));
+        assertArrayEquals(new long[]{1L, 2L}, index.search(""));
+    }
+
+    @Test
+    void putAndRemove_KeepIndexConsistent() {
+        // Given
+        TrigramIndex index = new TrigramIndex();
+        index.put(1L, "Laptop");
+        index.put(2L, "Laptop bag");
+
+        // When
+        index.put(1L, "Desktop");
+        index.remove(2L);
+
+        // Then
+        assertEquals(1, index.size());
+        assertArrayEquals(new long[]{}, index.search("lap"));
+        assertArrayEquals(new long[]{1L}, index.search("top"));
+    }
+}
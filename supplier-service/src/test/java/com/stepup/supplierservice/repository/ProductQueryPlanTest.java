@@ -0,0 +1,322 @@
+package com.stepup.supplierservice.repository;
+
+import com.stepup.supplierservice.ConfigEnvironmentTest;
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Integration test class for the indexes created by the schema migrations, asserting that no ProductRepository
+ * query reads the products table sequentially once it holds many rows.
+ * <p>
+ * Every statement a query issues is explained by PostgreSQL with the same parameters before it runs, so the
+ * plans are those of the actual SQL and values. The export ({@code streamAllBy}) is left out: it reads every
+ * row, which a sequential scan does best.
+ * Extends from ConfigEnvironmentTest.
+ */
+@ActiveProfiles("dev")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductQueryPlanTest extends ConfigEnvironmentTest {
+
+    private static final int PRODUCTS = 100_000;
+
+    private static final int CATEGORIES = 100;
+
+    // Seeded rows get IDs far above those allocated by the sequences, and are deleted after each test
+    private static final long SEED_ID_OFFSET = 1_000_000_000L;
+
+    private static final Pattern SEQUENTIAL_SCAN_OF_PRODUCTS = Pattern.compile("Seq Scan on products\\b");
+
+    private static final String PRICE_INDEX = "products_price_id_idx";
+
+    private static final String CATEGORY_INDEX = "products_category_id_id_idx";
+
+    private static final String NAME_INDEX = "products_lower_name_trgm_idx";
+
+    private static final String DESCRIPTION_INDEX = "products_lower_description_trgm_idx";
+
+    private static final List<String> PLANS = new CopyOnWriteArrayList<>();
+
+    private static volatile Thread explainedThread;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final long categoryId = SEED_ID_OFFSET + 1;
+
+    private final long productId = SEED_ID_OFFSET + PRODUCTS / 2;
+
+    @BeforeEach
+    void seedProducts() {
+        // Seed without recording every row in the change log
+        withoutChangeLog(() -> {
+            jdbcTemplate.update("INSERT INTO categories (id, name, version)"
+                                + " SELECT ? + g, 'Category ' || g, 0 FROM generate_series(1, ?) g",
+                    SEED_ID_OFFSET, CATEGORIES);
+            jdbcTemplate.update("INSERT INTO products (id, name, description, price, category_id, version)"
+                                + " SELECT ? + g, 'Product ' || g, 'Description of product ' || g,"
+                                + " round((random() * 10000)::numeric, 2), ? + 1 + g % ?, 0"
+                                + " FROM generate_series(1, ?) g",
+                    SEED_ID_OFFSET, SEED_ID_OFFSET, CATEGORIES, PRODUCTS);
+        });
+        jdbcTemplate.execute("ANALYZE products");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void deleteProducts() {
+        withoutChangeLog(() -> {
+            jdbcTemplate.update("DELETE FROM products WHERE id > ?", SEED_ID_OFFSET);
+            jdbcTemplate.update("DELETE FROM categories WHERE id > ?", SEED_ID_OFFSET);
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void lookups_UseIndexes() {
+        // When & Then
+        assertNoSequentialScan("findById", () -> productRepository.findById(productId));
+        assertNoSequentialScan("findByIdIn",
+                () -> productRepository.findByIdIn(List.of(productId, productId + 1, productId + 2)));
+        assertNoSequentialScan("updateVersioned", () -> transactionTemplate.executeWithoutResult(status -> {
+            productRepository.updateVersioned(productId, "name", "description", 1.00, null);
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void pagedFinders_UseIndexes() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        Pageable byPrice = PageRequest.of(0, 10, Sort.by("price", "id"));
+
+        // When & Then
+        assertNoSequentialScan("findAllBy", () -> productRepository.findAllBy(pageable));
+        assertUsesIndex("findByPriceBetween", PRICE_INDEX,
+                () -> productRepository.findByPriceBetween(100.00, 101.00, byPrice));
+        assertUsesIndex("findByPriceGreaterThan", PRICE_INDEX,
+                () -> productRepository.findByPriceGreaterThan(9_990.00, byPrice));
+        assertUsesIndex("findByPriceIsLessThan", PRICE_INDEX,
+                () -> productRepository.findByPriceIsLessThan(10.00, byPrice));
+        assertUsesIndex("findByCategoryId", CATEGORY_INDEX,
+                () -> productRepository.findByCategoryId(categoryId, pageable));
+        assertUsesIndex("findByNameContainingIgnoreCase", NAME_INDEX,
+                () -> productRepository.findByNameContainingIgnoreCase("PRODUCT 4242", pageable));
+        assertNoSequentialScan("findByNameNotContainingIgnoreCase",
+                () -> productRepository.findByNameNotContainingIgnoreCase("product 4242", pageable));
+        assertUsesIndex("searchByDescriptionContaining", DESCRIPTION_INDEX,
+                () -> productRepository.searchByDescriptionContaining("of product 4242", pageable));
+    }
+
+    @Test
+    void keysetFinders_UseIndexes() {
+        // Given
+        Limit limit = Limit.of(10);
+
+        // When & Then
+        assertNoSequentialScan("findByOrderByIdAsc", () -> productRepository.findByOrderByIdAsc(limit));
+        assertNoSequentialScan("findByIdGreaterThanOrderByIdAsc",
+                () -> productRepository.findByIdGreaterThanOrderByIdAsc(productId, limit));
+        assertUsesIndex("findByOrderByPriceAscIdAsc", PRICE_INDEX,
+                () -> productRepository.findByOrderByPriceAscIdAsc(limit));
+        assertUsesIndex("findAfterPriceAndId", PRICE_INDEX,
+                () -> productRepository.findAfterPriceAndId(5_000.00, productId, limit));
+    }
+
+    @Test
+    void filterStatements_UseIndexes() {
+        // Given
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(categoryId));
+        filter.setMinPrice(100.00);
+        filter.setMaxPrice(200.00);
+
+        ProductBulkUpdateDto changes = new ProductBulkUpdateDto();
+        changes.setFilter(filter);
+        changes.setPriceMultiplier(1.10);
+
+        // When & Then
+        assertNoSequentialScan("findMatching",
+                () -> productRepository.findMatching(filter, PageRequest.of(0, 10, Sort.by("id"))));
+        assertNoSequentialScan("updateMatching", () -> transactionTemplate.executeWithoutResult(status -> {
+            productRepository.updateMatching(filter, changes, 0L, 1_000);
+            status.setRollbackOnly();
+        }));
+        assertNoSequentialScan("deleteMatching", () -> transactionTemplate.executeWithoutResult(status -> {
+            productRepository.deleteMatching(filter, 0L, 1_000);
+            status.setRollbackOnly();
+        }));
+    }
+
+    /**
+     * Utility method to run a query and assert that none of its statements reads the products table sequentially.
+     *
+     * @param name  the name of the query, for the failure message
+     * @param query the action running the query
+     * @return the plans of the statements of the query
+     */
+    private List<String> assertNoSequentialScan(String name, Runnable query) {
+        PLANS.clear();
+        explainedThread = Thread.currentThread();
+        try {
+            query.run();
+        } finally {
+            explainedThread = null;
+        }
+
+        List<String> plans = List.copyOf(PLANS);
+        Assertions.assertFalse(plans.isEmpty(), name + " issued no statement");
+        for (String plan : plans) {
+            Assertions.assertFalse(SEQUENTIAL_SCAN_OF_PRODUCTS.matcher(plan).find(),
+                    name + " reads the products table sequentially:\n" + plan);
+        }
+        return plans;
+    }
+
+    /**
+     * Utility method to run a query and assert that it reads the products table through the given index.
+     * A scan of the whole primary key index is no sequential scan, but reads as many rows as one.
+     *
+     * @param name  the name of the query, for the failure message
+     * @param index the name of the index
+     * @param query the action running the query
+     */
+    private void assertUsesIndex(String name, String index, Runnable query) {
+        List<String> plans = assertNoSequentialScan(name, query);
+        Assertions.assertTrue(plans.stream().anyMatch(plan -> plan.contains(" " + index + " ")),
+                name + " does not use " + index + ":\n" + String.join("\n", plans));
+    }
+
+    /**
+     * Utility method to write rows in one transaction without the change log triggers.
+     *
+     * @param writes the writes
+     */
+    private void withoutChangeLog(Runnable writes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE products DISABLE TRIGGER USER");
+            jdbcTemplate.execute("ALTER TABLE categories DISABLE TRIGGER USER");
+            writes.run();
+            jdbcTemplate.execute("ALTER TABLE products ENABLE TRIGGER USER");
+            jdbcTemplate.execute("ALTER TABLE categories ENABLE TRIGGER USER");
+        });
+    }
+
+    /**
+     * Test configuration wrapping the DataSource, so that every statement prepared on the thread of an
+     * {@link #assertNoSequentialScan(String, Runnable)} is explained before it runs.
+     */
+    @TestConfiguration
+    static class ExplainingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor explainingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? explaining(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource explaining(DataSource dataSource) {
+            return proxy(DataSource.class, (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? explaining(connection) : result;
+            });
+        }
+
+        private static Connection explaining(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && explainedThread == Thread.currentThread()) {
+                    return explaining((PreparedStatement) result, connection, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement explaining(PreparedStatement statement, Connection connection, String sql) {
+            List<Object[]> parameters = new ArrayList<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.add(new Object[]{method, args});
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    PLANS.add(explain(connection, sql, parameters));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static String explain(Connection connection, String sql, List<Object[]> parameters)
+                throws SQLException, ReflectiveOperationException {
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Object[] parameter : parameters) {
+                    ((Method) parameter[0]).invoke(explain, (Object[]) parameter[1]);
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            }
+            return plan.toString();
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+}
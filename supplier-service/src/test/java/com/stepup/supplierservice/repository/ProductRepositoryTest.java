@@ -0,0 +1,203 @@
+package com.stepup.supplierservice.repository;
+
+import com.stepup.supplierservice.ConfigEnvironmentTest;
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.entity.Category;
+import com.stepup.supplierservice.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Integration test class for ProductRepository asserting the number of SQL statements
+ * issued by each query method, so that N+1 selects or eager joins cannot creep back in.
+ * Extends from ConfigEnvironmentTest.
+ */
+@ActiveProfiles("dev")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductRepositoryTest extends ConfigEnvironmentTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Category category1;
+
+    private Product product1;
+
+    @BeforeEach
+    void createProducts() {
+        category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2));
+
+        product1 = new Product("product1", "description1", 1.00, category1);
+        productRepository.saveAll(List.of(product1,
+                new Product("product2", "description2", 2.00, category1),
+                new Product("product3", "description3", 3.00, category2),
+                new Product("product4", "description4", 4.00, category2)));
+        // Start every test from the database, not from the second-level cache filled by the inserts
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_DoesNotLoadCategory() {
+        // When & Then
+        assertStatementCount(1, () -> {
+            Product product = productRepository.findById(product1.getId()).orElseThrow();
+            Assertions.assertEquals(category1.getId(), product.getCategoryId());
+        });
+    }
+
+    @Test
+    void findById_IsServedFromSecondLevelCache() {
+        // Given
+        productRepository.findById(product1.getId());
+        categoryRepository.findById(category1.getId());
+
+        // When & Then
+        assertStatementCount(0, () -> {
+            Product product = productRepository.findById(product1.getId()).orElseThrow();
+            Category category = categoryRepository.findById(product.getCategoryId()).orElseThrow();
+            Assertions.assertEquals("Category 1", category.getName());
+        });
+    }
+
+    @Test
+    void writes_KeepSecondLevelCacheCoherent() {
+        // Given
+        productRepository.findById(product1.getId());
+        categoryRepository.findById(category1.getId());
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setIds(List.of(product1.getId()));
+
+        // When
+        category1.setName("Renamed category");
+        categoryRepository.save(category1);
+        productRepository.updateMatching(filter, new ProductBulkUpdateDto(filter, 10.00, null, null), 0L, 1);
+
+        // Then
+        Assertions.assertEquals("Renamed category",
+                categoryRepository.findById(category1.getId()).orElseThrow().getName());
+        Assertions.assertEquals(10.00, productRepository.findById(product1.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    void updateVersioned_IssuesOneStatement() {
+        // Given
+        Long version = product1.getVersion();
+
+        // When & Then
+        assertStatementCount(1, () -> {
+            ProductRepository.UpdatedProduct updated = productRepository
+                    .updateVersioned(product1.getId(), "renamed", "description1", 5.00, version)
+                    .orElseThrow();
+            Assertions.assertEquals(version + 1, updated.getVersion());
+            Assertions.assertEquals(5.00, updated.getPrice());
+            Assertions.assertEquals(1.00, updated.getPreviousPrice());
+        });
+        assertStatementCount(1, () -> Assertions.assertTrue(productRepository
+                .updateVersioned(product1.getId(), "stale", "description1", 6.00, version)
+                .isEmpty()));
+    }
+
+    @Test
+    void findAll_DoesNotLoadCategories() {
+        // When & Then
+        assertStatementCount(1, () -> {
+            List<Product> products = productRepository.findAll();
+            products.forEach(product -> Assertions.assertNotNull(product.getCategoryId()));
+        });
+    }
+
+    @Test
+    void pagedFinders_IssueOneStatementEach() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 10);
+
+        // When & Then
+        assertStatementCount(1, () -> productRepository.findAllBy(pageable));
+        assertStatementCount(1, () -> productRepository.findByPriceBetween(1.00, 3.00, pageable));
+        assertStatementCount(1, () -> productRepository.findByPriceGreaterThan(1.00, pageable));
+        assertStatementCount(1, () -> productRepository.findByPriceIsLessThan(3.00, pageable));
+        assertStatementCount(1, () -> productRepository.findByCategoryId(category1.getId(), pageable));
+        assertStatementCount(1, () -> productRepository.findByNameContainingIgnoreCase("PRODUCT", pageable));
+        assertStatementCount(1, () -> productRepository.findByNameNotContainingIgnoreCase("1", pageable));
+        assertStatementCount(1, () -> productRepository.searchByDescriptionContaining("description", pageable));
+    }
+
+    @Test
+    void keysetFinders_IssueOneStatementEach() {
+        // Given
+        Limit limit = Limit.of(10);
+
+        // When & Then
+        assertStatementCount(1, () -> productRepository.findByOrderByIdAsc(limit));
+        assertStatementCount(1, () -> productRepository.findByIdGreaterThanOrderByIdAsc(product1.getId(), limit));
+        assertStatementCount(1, () -> productRepository.findByOrderByPriceAscIdAsc(limit));
+        assertStatementCount(1, () -> productRepository.findAfterPriceAndId(1.00, product1.getId(), limit));
+    }
+
+    @Test
+    void findMatching_IssuesOneStatement() {
+        // Given
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(category1.getId()));
+        filter.setMaxPrice(2.00);
+        filter.setNameNotContains("3");
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price"));
+
+        // When & Then
+        assertStatementCount(1, () -> {
+            List<ProductDto> products = productRepository.findMatching(filter, pageable);
+            Assertions.assertEquals(List.of(2.00, 1.00), products.stream().map(ProductDto::getPrice).toList());
+        });
+    }
+
+    @Test
+    void streamAllBy_IssuesOneStatement() {
+        // When & Then
+        assertStatementCount(1, () -> transactionTemplate.executeWithoutResult(status -> {
+            try (var products = productRepository.streamAllBy()) {
+                Assertions.assertEquals(4, products.count());
+            }
+        }));
+    }
+
+    /**
+     * Utility method to assert the number of JDBC statements prepared while running an action.
+     *
+     * @param expected the expected number of statements
+     * @param action   the repository calls to measure
+     */
+    private void assertStatementCount(long expected, Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        Assertions.assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+}
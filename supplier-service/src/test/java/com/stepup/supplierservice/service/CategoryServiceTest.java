@@ -90,6 +90,58 @@ public class CategoryServiceTest extends ConfigEnvironmentTest {
                 .body("name", equalTo(category.getName()));
     }
 
+    @Test
+    void getCategoryById_ReturnsNotModified_WhenETagMatches() {
+        // Given
+        Category category = new Category(null, "Category 1", new ArrayList<>());
+        category = categoryRepository.save(category);
+        Long categoryId = category.getId();
+
+        String eTag = given()
+                .port(port)
+                .when()
+                .get("/categories/" + categoryId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+
+        // When & Then
+        given()
+                .port(port)
+                .header("If-None-Match", eTag)
+                .when()
+                .get("/categories/" + categoryId)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        String listETag = given()
+                .port(port)
+                .when()
+                .get("/categories")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+        given()
+                .port(port)
+                .header("If-None-Match", listETag)
+                .when()
+                .get("/categories")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        categoryRepository.save(new Category(null, "Category 2", new ArrayList<>()));
+        given()
+                .port(port)
+                .header("If-None-Match", listETag)
+                .when()
+                .get("/categories")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(".", hasSize(2));
+    }
+
     @Test
     void updateCategory() {
         // Given
@@ -113,6 +165,41 @@ public class CategoryServiceTest extends ConfigEnvironmentTest {
                 .body("name", equalTo(updatedCategoryDto.getName())); // Ensure the name is updated correctly
     }
 
+    @Test
+    void updateCategory_ReturnsConflict_WhenVersionIsStale() {
+        // Given
+        Category category = new Category(null, "Original Category", new ArrayList<>());
+        category = categoryRepository.save(category);
+        Long categoryId = category.getId();
+
+        CategoryDto updatedCategoryDto = new CategoryDto();
+        updatedCategoryDto.setName("Updated Category Name");
+        updatedCategoryDto.setVersion(category.getVersion());
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(updatedCategoryDto)
+                .when()
+                .put("/categories/{id}", categoryId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("version", equalTo(category.getVersion().intValue() + 1));
+
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(updatedCategoryDto)
+                .when()
+                .put("/categories/{id}", categoryId)
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+
+        Assertions.assertEquals("Updated Category Name",
+                categoryRepository.findById(categoryId).orElseThrow().getName());
+    }
+
     @Test
     void deleteCategory() {
         // Given
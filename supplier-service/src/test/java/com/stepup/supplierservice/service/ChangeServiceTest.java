@@ -0,0 +1,174 @@
+package com.stepup.supplierservice.service;
+
+import com.stepup.supplierservice.ConfigEnvironmentTest;
+import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.entity.Category;
+import com.stepup.supplierservice.entity.Product;
+import com.stepup.supplierservice.repository.CategoryRepository;
+import com.stepup.supplierservice.repository.ChangeLogRepository;
+import com.stepup.supplierservice.repository.ProductRepository;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Integration test class for ChangeService.
+ * Extends from ConfigEnvironmentTest.
+ */
+@ActiveProfiles("dev")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChangeServiceTest extends ConfigEnvironmentTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Test
+    void getChanges_RecordsWritesInOrderWithTombstones() {
+        // Given
+        long since = changeLogRepository.findLastSeq();
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "description1", 1.00, category1);
+        product1 = productRepository.save(product1);
+        Long productId = product1.getId();
+
+        ProductDto productDetails = new ProductDto(productId, "new name product1", "description1", 2.50,
+                category1.getId(), product1.getVersion());
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(productDetails)
+                .when()
+                .put("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        productRepository.deleteById(productId);
+
+        // When & Then
+        given()
+                .port(port)
+                .when()
+                .get("/changes?since={since}", since)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("changes", hasSize(4))
+                .body("changes.entityType", contains("CATEGORY", "PRODUCT", "PRODUCT", "PRODUCT"))
+                .body("changes.deleted", contains(false, false, false, true))
+                .body("changes[0].payload.name", equalTo("Category 1"))
+                .body("changes[2].payload.name", equalTo("new name product1"))
+                .body("changes[2].payload.price", equalTo(2.50f))
+                .body("changes[2].payload.version", equalTo(product1.getVersion().intValue() + 1))
+                .body("changes[3].entityId", equalTo(productId.intValue()))
+                .body("changes[3].payload", nullValue())
+                .body("hasMore", equalTo(false));
+    }
+
+    @Test
+    void getChanges_ResumesFromNext() {
+        // Given
+        long since = changeLogRepository.findLastSeq();
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        Category category3 = new Category(null, "Category 3", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2, category3));
+
+        // When
+        long next = given()
+                .port(port)
+                .when()
+                .get("/changes?since={since}&limit=2", since)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("changes.payload.name", contains("Category 1", "Category 2"))
+                .body("hasMore", equalTo(true))
+                .extract()
+                .jsonPath()
+                .getLong("next");
+
+        // Then
+        given()
+                .port(port)
+                .when()
+                .get("/changes?since={since}&limit=2", next)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("changes.payload.name", contains("Category 3"))
+                .body("hasMore", equalTo(false));
+    }
+
+    @Test
+    void streamChanges_ReplaysMissedChangesThenPushesNewOnes() {
+        // Given
+        long since = changeLogRepository.findLastSeq();
+        categoryRepository.save(new Category(null, "Category 1", new ArrayList<>()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/changes/stream"))
+                .header("Last-Event-ID", String.valueOf(since))
+                .build();
+
+        // When & Then
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofLines());
+            try (Stream<String> body = response.body()) {
+                Iterator<String> lines = body.iterator();
+                assertEquals("id:" + (since + 1), lines.next());
+                assertEquals("event:change", lines.next());
+                assertTrue(lines.next().contains("Category 1"));
+                assertEquals("event:live", nextEvent(lines));
+                assertEquals("data:" + (since + 1), lines.next());
+
+                categoryRepository.save(new Category(null, "Category 2", new ArrayList<>()));
+                assertEquals("id:" + (since + 2), nextEvent(lines));
+                assertEquals("event:change", lines.next());
+                assertTrue(lines.next().contains("Category 2"));
+            }
+        });
+    }
+
+    /**
+     * Utility method to skip to the first line of the next event, past blank lines and comments.
+     *
+     * @param lines the lines of the stream
+     * @return the first line of the next event
+     */
+    private static String nextEvent(Iterator<String> lines) {
+        String line = lines.next();
+        while (line.isEmpty() || line.startsWith(":")) {
+            line = lines.next();
+        }
+        return line;
+    }
+}
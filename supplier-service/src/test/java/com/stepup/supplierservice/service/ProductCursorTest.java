@@ -0,0 +1,45 @@
+package com.stepup.supplierservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for encoding and decoding of ProductCursor tokens.
+ */
+class ProductCursorTest {
+
+    @Test
+    void encodeAndDecode_IdCursor() {
+        // Given
+        ProductCursor cursor = new ProductCursor(ProductCursor.Order.ID, 0, 42L);
+
+        // When
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(ProductCursor.Order.ID, decoded.getOrder());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void encodeAndDecode_PriceCursor() {
+        // Given
+        ProductCursor cursor = new ProductCursor(ProductCursor.Order.PRICE, 19.99, 7L);
+
+        // When
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(ProductCursor.Order.PRICE, decoded.getOrder());
+        assertEquals(19.99, decoded.getPrice());
+        assertEquals(7L, decoded.getId());
+    }
+
+    @Test
+    void decode_ThrowsOnInvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.decode("SUQ6"));
+    }
+}
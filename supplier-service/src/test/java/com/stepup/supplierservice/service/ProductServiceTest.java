@@ -1,7 +1,13 @@
 package com.stepup.supplierservice.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.stepup.supplierservice.ConfigEnvironmentTest;
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
 import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.dto.ProductQueryDto;
 import com.stepup.supplierservice.entity.Category;
 import com.stepup.supplierservice.entity.Product;
 import com.stepup.supplierservice.repository.CategoryRepository;
@@ -15,12 +21,18 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsStringIgnoringCase;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * Integration test class for ProductService.
@@ -48,6 +60,7 @@ class ProductServiceTest extends ConfigEnvironmentTest {
 
         ProductDto productDto = new ProductDto();
         productDto.setName("product1");
+        productDto.setDescription("product1 description");
         productDto.setCategoryId(categoryId);
 
         // When and Then
@@ -62,6 +75,33 @@ class ProductServiceTest extends ConfigEnvironmentTest {
                 .body("name", equalTo(productDto.getName()));
     }
 
+    @Test
+    void createProducts() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2));
+
+        List<ProductDto> productDtos = List.of(
+                new ProductDto(null, "product1", "description1", 1.00, category1.getId()),
+                new ProductDto(null, "product2", "description2", 2.00, category2.getId()));
+
+        // When and Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(productDtos)
+                .when()
+                .post("/products/batch")
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .body(".", hasSize(2))
+                .body("[1].categoryId", equalTo(category2.getId().intValue()))
+                .body("version", everyItem(notNullValue()));
+
+        Assertions.assertEquals(2, productRepository.count());
+    }
+
     @Test
     void getAllProducts() {
         // Given
@@ -69,8 +109,8 @@ class ProductServiceTest extends ConfigEnvironmentTest {
         Category category2 = new Category(null, "Category 2", new ArrayList<>());
         categoryRepository.saveAll(List.of(category1, category2));
 
-        Product product1 = new Product("product1", null, 1.00, category1);
-        Product product2 = new Product("product2", null, 1.00, category2);
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 1.00, category2);
         productRepository.saveAll(List.of(product1, product2));
 
         // When & Then
@@ -84,13 +124,133 @@ class ProductServiceTest extends ConfigEnvironmentTest {
                 .body(".", hasSize(2));
     }
 
+    @Test
+    void getAllProductsPaged() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 1.00, category1);
+        Product product3 = new Product("product3", "product3 description", 1.00, category1);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("page", 1)
+                .queryParam("size", 2)
+                .when()
+                .get("/products")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(".", hasSize(1))
+                .body("[0].name", equalTo(product3.getName()));
+    }
+
+    @Test
+    void getProductsAfter() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "product1 description", 3.00, category1);
+        Product product2 = new Product("product2", "product2 description", 1.00, category1);
+        Product product3 = new Product("product3", "product3 description", 2.00, category1);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        // When
+        String nextCursor = given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("limit", 2)
+                .queryParam("sort", "price")
+                .when()
+                .get("/products/cursor")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items", hasSize(2))
+                .body("items[0].name", equalTo(product2.getName()))
+                .body("items[1].name", equalTo(product3.getName()))
+                .extract()
+                .path("nextCursor");
+
+        // Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("after", nextCursor)
+                .queryParam("limit", 2)
+                .when()
+                .get("/products/cursor")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items", hasSize(1))
+                .body("items[0].name", equalTo(product1.getName()))
+                .body("nextCursor", equalTo(null));
+    }
+
+    @Test
+    void getProductsAfter_ReturnsBadRequest_WhenArgumentsInvalid() {
+        // When & Then
+        for (int limit : new int[]{0, -1}) {
+            given()
+                    .port(port)
+                    .queryParam("limit", limit)
+                    .when()
+                    .get("/products/cursor")
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+        given()
+                .port(port)
+                .queryParam("sort", "name")
+                .when()
+                .get("/products/cursor")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+        given()
+                .port(port)
+                .queryParam("after", "not-a-cursor")
+                .when()
+                .get("/products/cursor")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    void streamAllProducts() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 1.00, category1);
+        productRepository.saveAll(List.of(product1, product2));
+
+        // When
+        String body = given()
+                .port(port)
+                .when()
+                .get("/products/stream")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/x-ndjson")
+                .extract()
+                .asString();
+
+        // Then
+        Assertions.assertEquals(2, body.lines().count());
+    }
+
     @Test
     void getProductById() {
         // Given
         Category category1 = new Category(null, "Category 1", new ArrayList<>());
         categoryRepository.save(category1);
 
-        Product product1 = new Product("product1", null, 1.00, category1);
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
         product1 = productRepository.save(product1);
         Long productId = product1.getId();
 
@@ -106,18 +266,149 @@ class ProductServiceTest extends ConfigEnvironmentTest {
                 .body("name", equalTo(product1.getName()));
     }
 
+    @Test
+    void getProductById_ChangesETag_WhenCategoryChanges() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "description1", 1.00, category1);
+        product1 = productRepository.save(product1);
+        Long productId = product1.getId();
+
+        String eTag = given()
+                .port(port)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+
+        category1.setName("Renamed category");
+        categoryRepository.save(category1);
+
+        // When & Then
+        given()
+                .port(port)
+                .header("If-None-Match", eTag)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(eTag)))
+                .body("category.name", equalTo("Renamed category"));
+    }
+
+    @Test
+    void getProductById_ReturnsNotModified_WhenETagMatches() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "description1", 1.00, category1);
+        product1 = productRepository.save(product1);
+        Long productId = product1.getId();
+
+        String eTag = given()
+                .port(port)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+
+        // When & Then
+        given()
+                .port(port)
+                .header("If-None-Match", eTag)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        given()
+                .port(port)
+                .header("If-None-Match", eTag)
+                .when()
+                .get("/products/search/category/{id}", category1.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        ProductDto productDetails = new ProductDto(productId, "new name product1", "description1", 2.00,
+                category1.getId(), null);
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(productDetails)
+                .when()
+                .put("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+
+        given()
+                .port(port)
+                .header("If-None-Match", eTag)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", not(equalTo(eTag)))
+                .body("name", equalTo("new name product1"));
+    }
+
+    @Test
+    void getProductById_ReturnsSmile_WhenAccepted() throws IOException {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "description1", 1.00, category1);
+        product1 = productRepository.save(product1);
+        Long productId = product1.getId();
+
+        // When
+        byte[] body = given()
+                .port(port)
+                .accept("application/x-jackson-smile")
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/x-jackson-smile")
+                .header("Vary", containsStringIgnoringCase("Accept"))
+                .extract()
+                .asByteArray();
+
+        // Then
+        JsonNode product = new ObjectMapper(new SmileFactory()).readTree(body);
+        Assertions.assertEquals(productId, product.get("id").asLong());
+        Assertions.assertEquals("product1", product.get("name").asText());
+
+        given()
+                .port(port)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(ContentType.JSON)
+                .body("name", equalTo("product1"));
+    }
+
     @Test
     void updateProduct() {
         // Given
         Category category1 = new Category(null, "Category 1", new ArrayList<>());
         categoryRepository.save(category1);
 
-        Product product1 = new Product("product1", null, 1.00, category1);
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
         product1 = productRepository.save(product1);
         Long productId = product1.getId();
 
         ProductDto productDetails = new ProductDto();
         productDetails.setName("new name product1");
+        productDetails.setDescription(product1.getDescription());
 
         // When & Then
         given()
@@ -132,13 +423,75 @@ class ProductServiceTest extends ConfigEnvironmentTest {
                 .body("name", equalTo(productDetails.getName()));
     }
 
+    @Test
+    void updateProduct_ReturnsNotFound_WhenProductDoesNotExist() {
+        // Given
+        ProductDto productDetails = new ProductDto();
+        productDetails.setName("new name product1");
+        productDetails.setDescription("description1");
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(productDetails)
+                .when()
+                .put("/products/{id}", Long.MAX_VALUE)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .body(equalTo("Failed to updateProduct: Product not found: " + Long.MAX_VALUE));
+    }
+
+    @Test
+    void updateProduct_ReturnsConflict_WhenVersionIsStale() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "description1", 1.00, category1);
+        product1 = productRepository.save(product1);
+        Long productId = product1.getId();
+
+        ProductDto productDetails = new ProductDto(productId, "new name product1", "description1", 2.00,
+                category1.getId(), product1.getVersion());
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(productDetails)
+                .when()
+                .put("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("version", equalTo(product1.getVersion().intValue() + 1));
+
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(productDetails)
+                .when()
+                .put("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+
+        given()
+                .port(port)
+                .when()
+                .get("/products/{id}", productId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo(productDetails.getName()))
+                .body("price", equalTo(2.00f));
+    }
+
     @Test
     void deleteProduct() {
         // Given
         Category category1 = new Category(null, "Category 1", new ArrayList<>());
         categoryRepository.save(category1);
 
-        Product product1 = new Product("product1", null, 1.00, category1);
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
         product1 = productRepository.save(product1);
         Long productId = product1.getId();
 
@@ -154,6 +507,188 @@ class ProductServiceTest extends ConfigEnvironmentTest {
         Assertions.assertFalse(productRepository.existsById(productId));
     }
 
+    @Test
+    void updateProducts() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2));
+
+        Product product1 = new Product("product1", "product1 description", 10.00, category1);
+        Product product2 = new Product("product2", "product2 description", 20.00, category1);
+        Product product3 = new Product("product3", "product3 description", 30.00, category2);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(category1.getId()));
+        filter.setMaxPrice(15.00);
+        ProductBulkUpdateDto bulkUpdate = new ProductBulkUpdateDto(filter, null, 2.0, category2.getId());
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(bulkUpdate)
+                .when()
+                .post("/products/bulk/update")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("affectedRows", equalTo(1));
+
+        Product updated = productRepository.findById(product1.getId()).orElseThrow();
+        Assertions.assertEquals(20.00, updated.getPrice());
+        Assertions.assertEquals(category2.getId(), updated.getCategory().getId());
+        Assertions.assertEquals(20.00, productRepository.findById(product2.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    void updateProducts_UpdatesEachMatchingProductOnce_AcrossChunks() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        int count = ProductService.BULK_CHUNK_SIZE * 2 + 1;
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product("product" + i, "description" + i, 1.00, category1));
+        }
+        productRepository.saveAll(products);
+
+        // The updated products still match the filter, so they must not be updated again by a later chunk
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(category1.getId()));
+        ProductBulkUpdateDto bulkUpdate = new ProductBulkUpdateDto(filter, null, 2.0, null);
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(bulkUpdate)
+                .when()
+                .post("/products/bulk/update")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("affectedRows", equalTo(count))
+                .body("complete", equalTo(true));
+
+        Assertions.assertTrue(productRepository.findAll().stream().allMatch(product -> product.getPrice() == 2.00));
+    }
+
+    @Test
+    void updateProductsAppliesThemToIndexes() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2));
+
+        Product product1 = new Product("product1", "product1 description", 10.00, category1);
+        Product product2 = new Product("product2", "product2 description", 20.00, category1);
+        Product product3 = new Product("product3", "product3 description", 30.00, category2);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(category1.getId()));
+        ProductBulkUpdateDto bulkUpdate = new ProductBulkUpdateDto(filter, null, 2.0, category2.getId());
+
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(bulkUpdate)
+                .when()
+                .post("/products/bulk/update")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("affectedRows", equalTo(2));
+
+        // When & Then
+        given()
+                .port(port)
+                .queryParam("min", 15.00)
+                .queryParam("max", 45.00)
+                .when()
+                .get("/products/price/range/")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", equalTo(List.of(product1.getId().intValue(), product3.getId().intValue(),
+                        product2.getId().intValue())));
+
+        given()
+                .port(port)
+                .when()
+                .get("/products/search/category/{id}", category2.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(".", hasSize(3));
+    }
+
+    @Test
+    void deleteProducts() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 2.00, category1);
+        Product product3 = new Product("product3", "product3 description", 3.00, category1);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setIds(List.of(product1.getId(), product3.getId()));
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(filter)
+                .when()
+                .post("/products/bulk/delete")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("affectedRows", equalTo(2));
+
+        Assertions.assertEquals(List.of(product2.getId()),
+                productRepository.findAll().stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void deleteProductsRemovesThemFromIndexes() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product1", "product1 description", 7001.00, category1);
+        Product product2 = new Product("product2", "product2 description", 7002.00, category1);
+        Product product3 = new Product("product3", "product3 description", 7003.00, category1);
+        Product product4 = new Product("product4", "product4 description", 7004.00, category1);
+        productRepository.saveAll(List.of(product1, product2, product3, product4));
+
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setMinPrice(7000.00);
+        filter.setMaxPrice(7002.50);
+
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(filter)
+                .when()
+                .post("/products/bulk/delete")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("affectedRows", equalTo(2));
+
+        // When & Then
+        given()
+                .port(port)
+                .queryParam("min", 7000.00)
+                .queryParam("max", 7100.00)
+                .queryParam("size", 2)
+                .when()
+                .get("/products/price/range/")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", equalTo(List.of(product3.getId().intValue(), product4.getId().intValue())));
+    }
+
     @Test
     void searchProductsByDescription() {
         // Given
@@ -312,4 +847,110 @@ class ProductServiceTest extends ConfigEnvironmentTest {
                 .statusCode(HttpStatus.OK.value())
                 .body(".", hasSize(1));
     }
+
+    @Test
+    void searchProductsByNameNotContaining_MatchesWildcardsLiterally() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        categoryRepository.save(category1);
+
+        Product product1 = new Product("product_1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 2.00, category1);
+        Product product3 = new Product("product\\3", "product3 description", 3.00, category1);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("keyword", "_")
+                .when()
+                .get("/products/search/name/not-containing/")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", containsInAnyOrder("product2", "product\\3"));
+
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("keyword", "\\")
+                .when()
+                .get("/products/search/name/not-containing/")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", containsInAnyOrder("product_1", "product2"));
+
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("nameNotContains", "_")
+                .when()
+                .get("/products/filter")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", containsInAnyOrder("product2", "product\\3"));
+    }
+
+    @Test
+    void filterProducts() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2));
+
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 2.00, category1);
+        Product product3 = new Product("product3", "product3 description", 3.00, category1);
+        Product product4 = new Product("product4", "product4 description", 4.00, category2);
+        productRepository.saveAll(List.of(product1, product2, product3, product4));
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .queryParam("categoryIds", category1.getId())
+                .queryParam("minPrice", 1.50)
+                .queryParam("nameContains", "PRODUCT")
+                .queryParam("nameNotContains", "3")
+                .when()
+                .get("/products/filter")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(".", hasSize(1))
+                .body("[0].id", equalTo(product2.getId().intValue()));
+    }
+
+    @Test
+    void queryProducts() {
+        // Given
+        Category category1 = new Category(null, "Category 1", new ArrayList<>());
+        Category category2 = new Category(null, "Category 2", new ArrayList<>());
+        categoryRepository.saveAll(List.of(category1, category2));
+
+        Product product1 = new Product("product1", "product1 description", 1.00, category1);
+        Product product2 = new Product("product2", "product2 description", 2.00, category1);
+        Product product3 = new Product("product3", "product3 description", 3.00, category2);
+        Product product4 = new Product("other4", "product4 description", 4.00, category2);
+        productRepository.saveAll(List.of(product1, product2, product3, product4));
+
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setCategoryIds(List.of(category1.getId(), category2.getId()));
+        filter.setMinPrice(1.00);
+        filter.setMinPriceExclusive(true);
+        filter.setNameContains("product");
+        ProductQueryDto query = new ProductQueryDto(filter, List.of("price,desc"), 0, 10);
+
+        // When & Then
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(query)
+                .when()
+                .post("/products/query")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body(".", hasSize(2))
+                .body("[0].id", equalTo(product3.getId().intValue()))
+                .body("[1].id", equalTo(product2.getId().intValue()));
+    }
 }
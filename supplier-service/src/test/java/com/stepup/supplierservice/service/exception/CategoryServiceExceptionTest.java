@@ -14,7 +14,9 @@ import org.springframework.test.context.ActiveProfiles;
 import java.util.ArrayList;
 
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 /**
@@ -78,9 +80,9 @@ public class CategoryServiceExceptionTest {
         CategoryDto updatedCategoryDto = new CategoryDto();
         updatedCategoryDto.setName("Updated Category Name");
 
-        // Mock behavior of categoryRepository.findById() to throw an exception
-        when(categoryRepository.findById(anyLong()))
-                .thenThrow(new CategoryServiceException("Error fetching category"));
+        // Mock behavior of categoryRepository.updateVersioned() to throw an exception
+        when(categoryRepository.updateVersioned(anyLong(), anyString(), any()))
+                .thenThrow(new CategoryServiceException("Error updating category"));
 
         // Perform the test and verify the exception
         assertThrows(CategoryServiceException.class, () -> {
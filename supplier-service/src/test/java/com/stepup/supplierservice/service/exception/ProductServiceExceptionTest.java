@@ -1,21 +1,38 @@
 package com.stepup.supplierservice.service.exception;
 
+import com.stepup.supplierservice.cache.ProductQueryCache;
+import com.stepup.supplierservice.dto.ProductBulkUpdateDto;
 import com.stepup.supplierservice.dto.ProductDto;
+import com.stepup.supplierservice.dto.ProductFilterDto;
+import com.stepup.supplierservice.dto.ProductQueryDto;
 import com.stepup.supplierservice.exception.ProductServiceException;
+import com.stepup.supplierservice.index.ProductFilterEvaluator;
+import com.stepup.supplierservice.index.ProductFilterIndex;
+import com.stepup.supplierservice.index.ProductPriceIndex;
+import com.stepup.supplierservice.index.ProductSearchIndex;
 import com.stepup.supplierservice.repository.CategoryRepository;
 import com.stepup.supplierservice.repository.ProductRepository;
 import com.stepup.supplierservice.service.ProductService;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -33,6 +50,24 @@ public class ProductServiceExceptionTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductPriceIndex productPriceIndex;
+
+    @Mock
+    private ProductFilterIndex productFilterIndex;
+
+    @Mock
+    private ProductFilterEvaluator productFilterEvaluator;
+
+    @Spy
+    private ProductQueryCache productQueryCache = new ProductQueryCache(1000, Duration.ofMinutes(10));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -55,15 +90,30 @@ public class ProductServiceExceptionTest {
         });
     }
 
+    @Test
+    void createProducts_CatchesError_WhenCategoryNotFound() {
+        // Given
+        ProductDto productDto = new ProductDto(null, "Test Product", "Description", 10.0, 1L);
+
+        // Mock behavior of categoryRepository.findAllById() to find no categories
+        when(categoryRepository.findAllById(anySet()))
+                .thenReturn(List.of());
+
+        // Perform the test and verify the exception
+        assertThrows(ProductServiceException.class, () -> {
+            productService.createProducts(List.of(productDto));
+        });
+    }
+
     @Test
     void getAllProducts_CatchesError() {
         // Mock behavior of productRepository.findAll() to throw an exception
-        when(productRepository.findAll())
+        when(productRepository.findAllBy(any(Pageable.class)))
                 .thenThrow(new ProductServiceException("Error fetching products"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.getAllProducts();
+            productService.getAllProducts(0, 10);
         });
     }
 
@@ -80,19 +130,21 @@ public class ProductServiceExceptionTest {
     }
 
     @Test
-    void updateProduct_CatchesError_WhenProductNotFound() {
+    void updateProduct_ThrowsNotFound_WhenProductNotFound() {
         // Given
         ProductDto productDetails = new ProductDto();
         productDetails.setName("Updated Product");
         productDetails.setDescription("Updated Description");
         productDetails.setPrice(20.0);
 
-        // Mock behavior of getProductById() to return null
-        when(productRepository.findById(anyLong()))
+        // Mock behavior of productRepository.updateVersioned() to update no product, which does not exist
+        when(productRepository.updateVersioned(anyLong(), anyString(), anyString(), anyDouble(), any()))
                 .thenReturn(Optional.empty());
+        when(productRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         // Perform the test and verify the exception
-        assertThrows(ProductServiceException.class, () -> {
+        assertThrows(EntityNotFoundException.class, () -> {
             productService.updateProduct(1L, productDetails);
         });
     }
@@ -109,87 +161,148 @@ public class ProductServiceExceptionTest {
         });
     }
 
+    @Test
+    void deleteProducts_CatchesError_WhenFilterEmpty() {
+        // Perform the test and verify the exception
+        assertThrows(ProductServiceException.class, () -> {
+            productService.deleteProducts(new ProductFilterDto());
+        });
+    }
+
+    @Test
+    void updateProducts_CatchesError_WhenCategoryNotFound() {
+        // Given
+        ProductFilterDto filter = new ProductFilterDto();
+        filter.setIds(List.of(1L));
+        ProductBulkUpdateDto bulkUpdate = new ProductBulkUpdateDto(filter, null, null, 1L);
+
+        // Mock behavior of categoryRepository.existsById() to find no category
+        when(categoryRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        // Perform the test and verify the exception
+        assertThrows(ProductServiceException.class, () -> {
+            productService.updateProducts(bulkUpdate);
+        });
+    }
+
     @Test
     void searchProductsByDescription_CatchesError() {
         // Mock behavior of productRepository.searchByDescriptionContaining() to throw an exception
-        when(productRepository.searchByDescriptionContaining(anyString()))
+        when(productRepository.searchByDescriptionContaining(anyString(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error searching products by description"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.searchProductsByDescription("keyword");
+            productService.searchProductsByDescription("keyword", 0, 10);
         });
     }
 
     @Test
     void searchProductsByName_CatchesError() {
         // Mock behavior of productRepository.findByNameContainingIgnoreCase() to throw an exception
-        when(productRepository.findByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findByNameContainingIgnoreCase(anyString(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error searching products by name"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.searchProductsByName("keyword");
+            productService.searchProductsByName("keyword", 0, 10);
+        });
+    }
+
+    @Test
+    void searchProductsByName_CatchesError_WhenHydratingFromIndex() {
+        // Mock behavior of the ready index to find a product that fails to load
+        when(productSearchIndex.isReady())
+                .thenReturn(true);
+        when(productSearchIndex.searchByName(anyString()))
+                .thenReturn(new long[]{1L});
+        when(productRepository.findByIdIn(anyCollection()))
+                .thenThrow(new RuntimeException("Error loading products by ID"));
+
+        // Perform the test and verify the exception
+        assertThrows(ProductServiceException.class, () -> {
+            productService.searchProductsByName("keyword", 0, 10);
         });
     }
 
     @Test
     void searchProductsByCategoryId_CatchesError() {
         // Mock behavior of productRepository.findByCategoryId() to throw an exception
-        when(productRepository.findByCategoryId(anyLong()))
+        when(productRepository.findByCategoryId(anyLong(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error searching products by category ID"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.searchProductsByCategoryId(1L);
+            productService.searchProductsByCategoryId(1L, 0, 10);
         });
     }
 
     @Test
     void filterProductsByPriceRange_CatchesError() {
         // Mock behavior of productRepository.findByPriceBetween() to throw an exception
-        when(productRepository.findByPriceBetween(anyDouble(), anyDouble()))
+        when(productRepository.findByPriceBetween(anyDouble(), anyDouble(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error filtering products by price range"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.filterProductsByPriceRange(10.0, 20.0);
+            productService.filterProductsByPriceRange(10.0, 20.0, 0, 10);
         });
     }
 
     @Test
     void filterProductsByPriceGreater_CatchesError() {
         // Mock behavior of productRepository.findByPriceGreaterThan() to throw an exception
-        when(productRepository.findByPriceGreaterThan(anyDouble()))
+        when(productRepository.findByPriceGreaterThan(anyDouble(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error filtering products by price greater"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.filterProductsByPriceGreater(10.0);
+            productService.filterProductsByPriceGreater(10.0, 0, 10);
         });
     }
 
     @Test
     void filterProductsByPriceLess_CatchesError() {
         // Mock behavior of productRepository.findByPriceIsLessThan() to throw an exception
-        when(productRepository.findByPriceIsLessThan(anyDouble()))
+        when(productRepository.findByPriceIsLessThan(anyDouble(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error filtering products by price less"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.filterProductsByPriceLess(10.0);
+            productService.filterProductsByPriceLess(10.0, 0, 10);
         });
     }
 
     @Test
     void searchProductsByNameNotContaining_CatchesError() {
         // Mock behavior of productRepository.findByNameNotContainingIgnoreCase() to throw an exception
-        when(productRepository.findByNameNotContainingIgnoreCase(anyString()))
+        when(productRepository.findByNameNotContainingIgnoreCase(anyString(), any(Pageable.class)))
                 .thenThrow(new RuntimeException("Error searching products by name not containing"));
 
         // Perform the test and verify the exception
         assertThrows(ProductServiceException.class, () -> {
-            productService.searchProductsByNameNotContaining("keyword");
+            productService.searchProductsByNameNotContaining("keyword", 0, 10);
+        });
+    }
+
+    @Test
+    void filterProducts_CatchesError() {
+        // Mock behavior of productRepository.findMatching() to throw an exception
+        when(productRepository.findMatching(any(ProductFilterDto.class), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Error filtering products"));
+
+        // Perform the test and verify the exception
+        assertThrows(ProductServiceException.class, () -> {
+            productService.filterProducts(new ProductFilterDto(), 0, 10);
+        });
+    }
+
+    @Test
+    void queryProducts_CatchesError_WhenSortPropertyUnknown() {
+        // Perform the test and verify the exception
+        assertThrows(ProductServiceException.class, () -> {
+            productService.queryProducts(new ProductQueryDto(null, List.of("category.name"), 0, 10));
         });
     }
-}
\ No newline at end of file
+}